@@ -24,6 +24,7 @@
 package com.cloudbees.jenkins.plugins.bitbucket;
 
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketCommit;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.util.StringInterner;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.Date;
 import java.util.Objects;
@@ -50,10 +51,24 @@ public class BitbucketGitSCMRevision extends SCMRevisionImpl {
      * @param commit head
      */
     public BitbucketGitSCMRevision(@NonNull SCMHead head, @NonNull BitbucketCommit commit) {
-        super(head, commit.getHash());
-        this.message = commit.getMessage();
-        this.author = commit.getAuthor();
-        this.date = commit.getCommitterDate();
+        this(head, commit.getHash(), commit.getMessage(), commit.getAuthor(), commit.getCommitterDate());
+    }
+
+    /**
+     * Construct a Bitbucket revision from its values.
+     *
+     * @param head the {@link SCMHead} that represent this revision
+     * @param hash the commit hash
+     * @param message the commit message
+     * @param author the commit author in GIT format
+     * @param date the commit date
+     */
+    protected BitbucketGitSCMRevision(@NonNull SCMHead head, @NonNull String hash, String message, String author, Date date) {
+        // the same hash is shared between the target revision of many pull requests
+        super(head, StringInterner.intern(hash));
+        this.message = message;
+        this.author = StringInterner.intern(author);
+        this.date = date;
     }
 
     /**
@@ -80,7 +95,17 @@ public class BitbucketGitSCMRevision extends SCMRevisionImpl {
      * @return date for this revision
      */
     public Date getDate() {
-        return (Date) date.clone();
+        return date != null ? (Date) date.clone() : null;
+    }
+
+    /**
+     * Shares the hash and the author with the other revisions when the
+     * revision is loaded from disk.
+     *
+     * @return a copy of this revision that uses the interned identifiers.
+     */
+    private Object readResolve() {
+        return new BitbucketGitSCMRevision(getHead(), getHash(), message, author, date);
     }
 
     @Override
@@ -34,20 +34,28 @@ import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketMirroredRepository;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketMirroredRepositoryDescriptor;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketProject;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequest;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequestDestination;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequestSource;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRepository;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRequestException;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketTeam;
 import com.cloudbees.jenkins.plugins.bitbucket.api.HasBranches;
 import com.cloudbees.jenkins.plugins.bitbucket.api.HasPullRequests;
 import com.cloudbees.jenkins.plugins.bitbucket.api.HasTags;
+import com.cloudbees.jenkins.plugins.bitbucket.api.HasTrustedPayload;
 import com.cloudbees.jenkins.plugins.bitbucket.api.PullRequestBranchType;
 import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpointProvider;
+import com.cloudbees.jenkins.plugins.bitbucket.api.tracing.BitbucketSpan;
 import com.cloudbees.jenkins.plugins.bitbucket.client.repository.UserRoleInRepository;
 import com.cloudbees.jenkins.plugins.bitbucket.endpoints.BitbucketEndpointConfiguration;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.avatars.BitbucketRepoAvatarMetadataAction;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketHeadReplica;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketWorkloadClass;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.endpoint.BitbucketCloudEndpoint;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.extension.BitbucketEnvVarExtension;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.extension.GitClientAuthenticatorExtension;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.jfr.BitbucketScanPhaseEvent;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.tracing.BitbucketTracing;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.util.BitbucketApiUtils;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.util.BitbucketApiUtils.BitbucketSupplier;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.util.DateUtils;
@@ -76,27 +84,40 @@ import hudson.model.Item;
 import hudson.model.TaskListener;
 import hudson.plugins.git.GitSCM;
 import hudson.scm.SCM;
+import hudson.util.DaemonThreadFactory;
 import hudson.util.FormFillFailure;
 import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
+import hudson.util.NamingThreadFactory;
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Date;
+import java.util.Deque;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 import jenkins.authentication.tokens.api.AuthenticationTokens;
 import jenkins.model.Jenkins;
 import jenkins.plugins.git.GitTagSCMHead;
@@ -130,6 +151,7 @@ import jenkins.scm.impl.trait.Discovery;
 import jenkins.scm.impl.trait.Selection;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
+import org.apache.commons.lang3.mutable.MutableInt;
 import org.eclipse.jgit.lib.Constants;
 import org.jenkinsci.Symbol;
 import org.kohsuke.accmod.Restricted;
@@ -161,6 +183,19 @@ public class BitbucketSCMSource extends SCMSource {
             Math.max(
                 0, Integer.getInteger(BitbucketSCMSource.class.getName() + ".eventDelaySeconds", 5)));
 
+    /** A full SHA-1 commit hash. */
+    private static final Pattern FULL_HASH = Pattern.compile("[0-9a-fA-F]{40}");
+
+    /** A name that could be an abbreviated or full commit hash. */
+    private static final Pattern COMMIT_HASH = Pattern.compile("[0-9a-fA-F]{7,40}");
+
+    /** The number of names looked up as a tag or a commit concurrently, while they are looked up as a branch. */
+    private static final int LOOKUP_PARALLELISM = Math.max(1,
+            Integer.getInteger(BitbucketSCMSource.class.getName() + ".lookupParallelism", 4));
+
+    /** Runs the lookups of names as tags and commits. */
+    private static final ExecutorService LOOKUP_EXECUTOR = lookupExecutor();
+
     /**
      * Bitbucket URL.
      */
@@ -200,25 +235,29 @@ public class BitbucketSCMSource extends SCMSource {
     private List<SCMSourceTrait> traits;
 
     /**
-     * The cache of pull request titles for each open PR.
+     * The cache of the primary clone links.
      */
     @CheckForNull
-    private transient /*effectively final*/ Map<String, String> pullRequestTitleCache;
+    private transient List<BitbucketHref> primaryCloneLinks = null;
     /**
-     * The cache of pull request contributors for each open PR.
+     * The cache of the mirror clone links.
      */
     @CheckForNull
-    private transient /*effectively final*/ Map<String, ContributorMetadataAction> pullRequestContributorCache;
+    private transient List<BitbucketHref> mirrorCloneLinks = null;
     /**
-     * The cache of the primary clone links.
+     * The cache of the key of the project of the repository.
      */
     @CheckForNull
-    private transient List<BitbucketHref> primaryCloneLinks = null;
+    private transient volatile String projectKey;
     /**
-     * The cache of the mirror clone links.
+     * Whether {@link #projectKey} has been looked up.
+     */
+    private transient volatile boolean projectKeyKnown;
+    /**
+     * The state kept between scans, loaded on first use.
      */
     @CheckForNull
-    private transient List<BitbucketHref> mirrorCloneLinks = null;
+    private transient BitbucketSCMSourceState state;
 
     /**
      * Constructor.
@@ -270,6 +309,7 @@ public class BitbucketSCMSource extends SCMSource {
     @DataBoundSetter
     public void setMirrorId(String mirrorId) {
         this.mirrorId = Util.fixEmpty(mirrorId);
+        this.mirrorCloneLinks = null;
     }
 
     @NonNull
@@ -332,21 +372,38 @@ public class BitbucketSCMSource extends SCMSource {
     }
 
     private void gatherPrimaryCloneLinks(@NonNull BitbucketApi apiClient) throws IOException {
-        BitbucketRepository r = apiClient.getRepository();
+        gatherRepositoryInfo(apiClient.getRepository());
+    }
+
+    /**
+     * Caches what builds need to know about the repository, so that they do not have to fetch it.
+     *
+     * @param r the repository.
+     */
+    private void gatherRepositoryInfo(@NonNull BitbucketRepository r) {
         Map<String, List<BitbucketHref>> links = r.getLinks();
         if (links != null && links.containsKey("clone")) {
             setPrimaryCloneLinks(links.get("clone"));
         }
+        setProjectKey(r);
     }
 
     @Override
     protected void retrieve(@CheckForNull SCMSourceCriteria criteria, @NonNull SCMHeadObserver observer,
                             @CheckForNull SCMHeadEvent<?> event, @NonNull TaskListener listener)
             throws IOException, InterruptedException {
-        try (BitbucketApi client = buildBitbucketClient();
+        BitbucketWorkloadClass workloadClass = event == null ? BitbucketWorkloadClass.SCAN : BitbucketWorkloadClass.EVENT;
+        SCMSourceOwner owner = getOwner();
+        BitbucketSpan parentSpan = BitbucketTracing.linked(event);
+        try (BitbucketTracing.Scope span = BitbucketTracing.startSpan("bitbucket.retrieve",
+                    parentSpan != null ? parentSpan : BitbucketTracing.current());
+                BitbucketWorkloadClass.Scope workload = workloadClass.enter(owner == null ? null : owner.getFullName());
+                BitbucketApi client = buildBitbucketClient();
                 BitbucketSCMSourceRequest request = new BitbucketSCMSourceContext(criteria, observer)
                     .withTraits(traits)
                     .newRequest(this, listener)) {
+            span.setAttribute("bitbucket.repository", repoOwner + "/" + repository);
+            span.setAttribute("bitbucket.event", event == null ? null : event.getType());
             StandardCredentials scanCredentials = credentials();
             if (scanCredentials == null) {
                 listener.getLogger().format("Connecting to %s with no credentials, anonymous access%n", getServerUrl());
@@ -355,43 +412,131 @@ public class BitbucketSCMSource extends SCMSource {
                 listener.getLogger().format("Connecting to %s using %s%n", getServerUrl(),
                         CredentialsNameProvider.name(scanCredentials));
             }
-            gatherPrimaryCloneLinks(buildBitbucketClient());
+            gatherPrimaryCloneLinks(client);
+
+            BitbucketHeadReplica replica = BitbucketHeadReplica.of(getServerUrl(), getCredentialsId(),
+                    repoOwner + "/" + repository, getId());
 
             // now serve the request
             if (request.isFetchPRs() && !request.isComplete()) {
                 if (event instanceof HasPullRequests) {
                     // extract PRs from event
-                    request.setPullRequests(getBitbucketPullRequestsFromEvent(client, event, listener));
+                    Iterable<BitbucketPullRequest> pullRequests = getBitbucketPullRequestsFromEvent(client, event, listener);
+                    request.setPullRequests(pullRequests);
                 }
                 // Search pull requests
-                retrievePullRequests(request);
+                try (BitbucketTracing.Scope phaseSpan = BitbucketTracing.startSpan("bitbucket.retrieve.pullRequests")) {
+                    BitbucketScanPhaseEvent phase = BitbucketScanPhaseEvent.start();
+                    int heads = retrievePullRequests(request, event);
+                    phaseSpan.setAttribute("bitbucket.heads", heads);
+                    phase.finish(repoOwner + "/" + repository, "pull requests", event != null, heads);
+                }
             }
             if (request.isFetchBranches() && !request.isComplete()) {
                 if (event instanceof HasBranches) {
-                    request.setBranches(getBitbucketBranchesFromEvent(client, event, listener));
+                    Iterable<BitbucketBranch> branches = getBitbucketBranchesFromEvent(client, event, listener,
+                            replica == null ? null : replica.branches());
+                    request.setBranches(branches);
+                    if (replica != null) {
+                        replica.branches().update(branches, event.getType() == Type.REMOVED);
+                    }
+                } else if (replica != null) {
+                    Set<String> requested = request.getRequestedOriginBranchNames();
+                    List<BitbucketBranch> branches = fromReplica(replica.branches(), event == null, requested, client::getBranches);
+                    if (requested != null && branches != null) {
+                        // the branches that were not requested are looked up on use
+                        request.setRequestedBranches(branches);
+                    } else {
+                        request.setBranches(branches);
+                    }
                 }
                 // Search branches
-                retrieveBranches(request);
+                try (BitbucketTracing.Scope phaseSpan = BitbucketTracing.startSpan("bitbucket.retrieve.branches")) {
+                    BitbucketScanPhaseEvent phase = BitbucketScanPhaseEvent.start();
+                    int heads = retrieveBranches(request);
+                    phaseSpan.setAttribute("bitbucket.heads", heads);
+                    phase.finish(repoOwner + "/" + repository, "branches", event != null, heads);
+                }
             }
             if (request.isFetchTags() && !request.isComplete()) {
                 if (event instanceof HasTags) {
                     // extract tags from event
-                    request.setTags(getBitbucketTagsFromEvent(client, event, listener));
+                    Iterable<BitbucketBranch> tags = getBitbucketTagsFromEvent(client, event, listener,
+                            replica == null ? null : replica.tags());
+                    request.setTags(tags);
+                    if (replica != null) {
+                        replica.tags().update(tags, event.getType() == Type.REMOVED);
+                    }
+                } else if (replica != null) {
+                    request.setTags(fromReplica(replica.tags(), event == null, request.getRequestedTagNames(), client::getTags));
                 }
                 // Search tags
-                retrieveTags(request);
+                try (BitbucketTracing.Scope phaseSpan = BitbucketTracing.startSpan("bitbucket.retrieve.tags")) {
+                    BitbucketScanPhaseEvent phase = BitbucketScanPhaseEvent.start();
+                    int heads = retrieveTags(request);
+                    phaseSpan.setAttribute("bitbucket.heads", heads);
+                    phase.finish(repoOwner + "/" + repository, "tags", event != null, heads);
+                }
             }
+            // heads missing from the request are known to be gone only when all heads were listed
+            request.saveState(event == null && request.getRequestedPullRequestNumbers() == null && !request.isComplete());
         }
     }
 
+    /**
+     * Returns the heads of a kind from the replica of the repository, a full
+     * scan lists them from Bitbucket when the replica is out of date.
+     *
+     * @param listing the replica of the heads.
+     * @param scan whether the request is a scan rather than an event.
+     * @param requested the names of the requested heads or {@code null} if
+     *                  the request is not scoped.
+     * @param lister the remote call that lists all the heads.
+     * @return the requested heads or {@code null} to let the request retrieve
+     *         them.
+     */
+    @CheckForNull
+    private static List<BitbucketBranch> fromReplica(@NonNull BitbucketHeadReplica.Listing listing,
+                                                     boolean scan,
+                                                     @CheckForNull Set<String> requested,
+                                                     @NonNull HeadLister lister) throws IOException, InterruptedException {
+        List<BitbucketBranch> heads = listing.get();
+        if (heads == null && scan && requested == null) {
+            heads = new ArrayList<>(lister.list());
+            listing.reconcile(heads);
+        }
+        if (heads != null && requested != null) {
+            heads.removeIf(head -> !requested.contains(head.getName()));
+        }
+        return heads;
+    }
+
+    /**
+     * A remote call that lists all the branches or all the tags.
+     */
+    @FunctionalInterface
+    private interface HeadLister {
+        List<? extends BitbucketBranch> list() throws IOException, InterruptedException;
+    }
+
+    /**
+     * A remote call that looks up one branch or one tag by name.
+     */
+    @FunctionalInterface
+    private interface HeadLookup {
+        BitbucketBranch get(@NonNull String name) throws IOException;
+    }
+
     private Iterable<BitbucketBranch> getBitbucketTagsFromEvent(@NonNull BitbucketApi client,
                                                                 @NonNull SCMHeadEvent<?> event,
-                                                                @NonNull TaskListener listener) throws IOException {
+                                                                @NonNull TaskListener listener,
+                                                                @CheckForNull BitbucketHeadReplica.Listing replica) throws IOException {
         Collection<BitbucketBranch> initializedTags = new HashSet<>();
         if (event instanceof HasTags incomingTagEvent) {
             Iterable<BitbucketBranch> tags = incomingTagEvent.getTags(BitbucketSCMSource.this);
             for (BitbucketBranch tag : tags) {
-                initializedTags.add(event.getType() == Type.REMOVED ? tag : client.getTag(tag.getName()));
+                initializedTags.add(event.getType() == Type.REMOVED || isTrusted(event, tag) ? tag
+                        : lookupHead(replica, tag, client::getTag));
                 listener.getLogger().format("Initialized Tag: %s%n", tag.getName());
             }
         }
@@ -405,6 +550,11 @@ public class BitbucketSCMSource extends SCMSource {
         if (event instanceof HasPullRequests prEvent) {
             Iterable<BitbucketPullRequest> pullRequests = prEvent.getPullRequests(BitbucketSCMSource.this);
             for (BitbucketPullRequest pr : pullRequests) {
+                if (isTrusted(event, pr)) {
+                    initializedPRs.add(pr);
+                    listener.getLogger().format("Initialized PR: %s%n", pr.getLink());
+                    continue;
+                }
                 // ensure that the PR is properly initialised via /changes API
                 // see BitbucketServerAPIClient.setupPullRequest()
                 // PRs can not be deleted only closed/declined
@@ -417,30 +567,67 @@ public class BitbucketSCMSource extends SCMSource {
 
     private Iterable<BitbucketBranch> getBitbucketBranchesFromEvent(@NonNull BitbucketApi client,
                                                                     @NonNull SCMHeadEvent<?> event,
-                                                                    @NonNull TaskListener listener) throws IOException {
+                                                                    @NonNull TaskListener listener,
+                                                                    @CheckForNull BitbucketHeadReplica.Listing replica) throws IOException {
         Collection<BitbucketBranch> initializedBranches = new HashSet<>();
         if (event instanceof HasBranches branchEvent) {
             Iterable<BitbucketBranch> branches = branchEvent.getBranches(BitbucketSCMSource.this);
             for (BitbucketBranch branch : branches) {
-                initializedBranches.add(event.getType() == Type.REMOVED ? branch : client.getBranch(branch.getName()));
+                initializedBranches.add(event.getType() == Type.REMOVED || isTrusted(event, branch) ? branch
+                        : lookupHead(replica, branch, client::getBranch));
                 listener.getLogger().format("Initialized branch: %s%n", branch.getName());
             }
         }
         return initializedBranches;
     }
 
-    private void retrievePullRequests(final BitbucketSCMSourceRequest request) throws IOException, InterruptedException {
+    /**
+     * Returns the current state of a branch or a tag of an event, the copy held by the replica when it is already
+     * at the commit reported by the event, otherwise the one looked up from Bitbucket.
+     */
+    @CheckForNull
+    private static BitbucketBranch lookupHead(@CheckForNull BitbucketHeadReplica.Listing replica,
+                                              @NonNull BitbucketBranch ref,
+                                              @NonNull HeadLookup lookup) throws IOException {
+        BitbucketBranch known = replica == null || ref.getName() == null ? null : replica.get(ref.getName(), ref.getRawNode());
+        return known != null ? known : lookup.get(ref.getName());
+    }
+
+    /**
+     * Returns whether a branch or a tag of an event can be used without looking it up. Payloads may carry
+     * abbreviated hashes, only a full commit hash is trusted.
+     */
+    private static boolean isTrusted(@NonNull SCMHeadEvent<?> event, @NonNull BitbucketBranch ref) {
+        return event instanceof HasTrustedPayload trusted && trusted.isPayloadTrusted()
+                && ref.getName() != null && ref.getRawNode() != null && FULL_HASH.matcher(ref.getRawNode()).matches();
+    }
+
+    /**
+     * Returns whether a pull request of an event can be used without looking it up.
+     */
+    private static boolean isTrusted(@NonNull SCMHeadEvent<?> event, @NonNull BitbucketPullRequest pr) {
+        if (!(event instanceof HasTrustedPayload trusted && trusted.isPayloadTrusted())) {
+            return false;
+        }
+        BitbucketPullRequestSource source = pr.getSource();
+        BitbucketPullRequestDestination destination = pr.getDestination();
+        return pr.getId() != null && pr.getTitle() != null
+                && source != null && source.getRepository() != null
+                && source.getBranch() != null && isTrusted(event, source.getBranch())
+                && destination != null
+                && destination.getBranch() != null && isTrusted(event, destination.getBranch());
+    }
+
+    private int retrievePullRequests(final BitbucketSCMSourceRequest request, @CheckForNull SCMHeadEvent<?> event) throws IOException, InterruptedException {
         final String fullName = repoOwner + "/" + repository;
 
         @SuppressWarnings("serial")
         class Skip extends IOException {
         }
 
-        try (final BitbucketApi originClient = buildBitbucketClient()) {
-            if (request.isSkipPublicPRs() && !originClient.isPrivate()) {
-                request.listener().getLogger().printf("Skipping pull requests for %s (public repository)%n", fullName);
-                return;
-            }
+        if (request.isSkipPublicPRs() && !request.isRepositoryPrivate()) {
+            request.listener().getLogger().printf("Skipping pull requests for %s (public repository)%n", fullName);
+            return 0;
         }
         if (request.isSkipDraftPRs()) {
             request.listener().getLogger().printf("Skipping draft pull requests%n");
@@ -448,35 +635,31 @@ public class BitbucketSCMSource extends SCMSource {
 
         request.listener().getLogger().printf("Looking up %s for pull requests%n", fullName);
         final Set<String> livePRs = new HashSet<>();
-        int count = 0;
+        final MutableInt count = new MutableInt();
         Map<Boolean, Set<ChangeRequestCheckoutStrategy>> strategies = request.getPRStrategies();
-        for (final BitbucketPullRequest pull : request.getPullRequests()) {
-            String originalBranchName = pull.getSource().getBranch().getName();
-            request.listener().getLogger().printf(
-                    "Checking PR-%s from %s and %s %s%n",
-                    pull.getId(),
-                    pull.getSource().getRepository().getFullName(),
-                    pull.getSource().getBranchType() == PullRequestBranchType.TAG ? "tag" : "branch",
-                    originalBranchName
-            );
-            boolean fork = !Strings.CI.equals(fullName, pull.getSource().getRepository().getFullName());
-            String pullRepoOwner = pull.getSource().getRepository().getOwnerName();
-            String pullRepository = pull.getSource().getRepository().getRepositoryName();
-            final BitbucketApi forkClient = fork && BitbucketApiUtils.isCloud(getServerUrl())
-                    ? BitbucketApiFactory.newInstance(
-                        getServerUrl(),
-                        authenticator(),
-                        pullRepoOwner,
-                        null,
-                        pullRepository)
-                    : null;
-            count++;
-            livePRs.add(pull.getId());
-            getPullRequestTitleCache().put(pull.getId(), StringUtils.defaultString(pull.getTitle()));
-            getPullRequestContributorCache().put(pull.getId(),
-                    new ContributorMetadataAction(pull.getAuthorIdentifier(), pull.getAuthorLogin(), pull.getAuthorEmail()));
-            try {
-                // We store resolved hashes here so to avoid resolving the commits multiple times
+        try (HeadQueue queue = new HeadQueue(request.getProbeLookahead())) {
+            boolean completed = false;
+            for (final BitbucketPullRequest pull : request.getPullRequests()) {
+                String originalBranchName = pull.getSource().getBranch().getName();
+                boolean fork = !Strings.CI.equals(fullName, pull.getSource().getRepository().getFullName());
+                String pullRepoOwner = pull.getSource().getRepository().getOwnerName();
+                String pullRepository = pull.getSource().getRepository().getRepositoryName();
+                // the clients of the forks are shared by their pull requests and closed with the request
+                final BitbucketApi forkClient = fork && BitbucketApiUtils.isCloud(getServerUrl())
+                        ? request.getForkClient(pullRepoOwner, pullRepository)
+                        : null;
+                livePRs.add(pull.getId());
+                if (event != null && event.getType() == Type.REMOVED) {
+                    getState().removePullRequest(pull.getId());
+                } else {
+                    getState().putPullRequest(pull.getId(), new BitbucketSCMSourceState.PullRequestState(
+                            StringUtils.defaultString(pull.getTitle()),
+                            pull.getAuthorIdentifier(), pull.getAuthorLogin(), pull.getAuthorEmail()));
+                }
+
+                // use branch instead of commit to postpone closure initialisation
+                final IntermediateLambda<BitbucketCommit> intermediateFactory = () -> new BranchHeadCommit(pull.getSource().getBranch());
+                final Map<PullRequestSCMHead, ProbeLambda<SCMHead, BitbucketCommit>> heads = new LinkedHashMap<>();
                 for (final ChangeRequestCheckoutStrategy strategy : strategies.get(fork)) {
                     String branchName = "PR-" + pull.getId();
                     if (strategies.get(fork).size() > 1) {
@@ -491,96 +674,195 @@ public class BitbucketSCMSource extends SCMSource {
                         originOf(pullRepoOwner, pullRepository), //
                         strategy
                     );
-
-                    // use branch instead of commit to postpone closure initialisation
-                    IntermediateLambda<BitbucketCommit> intermediateFactory = () -> new BranchHeadCommit(pull.getSource().getBranch());
                     ProbeLambda<SCMHead, BitbucketCommit> probeFactory = forkClient != null
                             ? request.buildProbeLamda(forkClient)
                             : request.defaultProbeLamda();
-                    BitbucketRevisionFactory<BitbucketCommit> revisionFactory = new BitbucketRevisionFactory<BitbucketCommit>(null) {
-                        @Override
-                        public SCMRevision create(SCMHead head, BitbucketCommit sourceCommit) throws IOException, InterruptedException {
-                            try {
-                                // use branch instead of commit to postpone closure initialisation
-                                BranchHeadCommit targetCommit = new BranchHeadCommit(pull.getDestination().getBranch());
-                                return super.create(head, sourceCommit, targetCommit);
-                            } catch (BitbucketRequestException e) {
-                                if (BitbucketApiUtils.isCloud(getServerUrl()) && e.getHttpCode() == 403) {
-                                    request.listener().getLogger().printf( //
-                                            "Skipping %s because of %s%n", //
-                                            pull.getId(), //
-                                            HyperlinkNote.encodeTo("https://bitbucket.org/site/master" //
-                                                    + "/issues/5814/reify-pull-requests-by-making-them-a-ref", //
-                                                    "a permission issue accessing pull requests from forks"));
-                                    throw new Skip();
+                    heads.put(head, request.prefetchProbe(head, intermediateFactory, probeFactory));
+                }
+
+                completed = queue.offer(new HeadTask() {
+                    @Override
+                    public boolean process() throws IOException, InterruptedException {
+                        request.listener().getLogger().printf(
+                                "Checking PR-%s from %s and %s %s%n",
+                                pull.getId(),
+                                pull.getSource().getRepository().getFullName(),
+                                pull.getSource().getBranchType() == PullRequestBranchType.TAG ? "tag" : "branch",
+                                originalBranchName
+                        );
+                        count.increment();
+                        BitbucketRevisionFactory<BitbucketCommit> revisionFactory = new BitbucketRevisionFactory<BitbucketCommit>(null) {
+                            @Override
+                            public SCMRevision create(SCMHead head, BitbucketCommit sourceCommit) throws IOException, InterruptedException {
+                                try {
+                                    // use branch instead of commit to postpone closure initialisation
+                                    BranchHeadCommit targetCommit = new BranchHeadCommit(pull.getDestination().getBranch());
+                                    return super.create(head, sourceCommit, targetCommit);
+                                } catch (BitbucketRequestException e) {
+                                    if (BitbucketApiUtils.isCloud(getServerUrl()) && e.getHttpCode() == 403) {
+                                        request.listener().getLogger().printf( //
+                                                "Skipping %s because of %s%n", //
+                                                pull.getId(), //
+                                                HyperlinkNote.encodeTo("https://bitbucket.org/site/master" //
+                                                        + "/issues/5814/reify-pull-requests-by-making-them-a-ref", //
+                                                        "a permission issue accessing pull requests from forks"));
+                                        throw new Skip();
+                                    }
+                                    // https://bitbucket.org/site/master/issues/5814/reify-pull-requests-by-making-them-a-ref
+                                    e.printStackTrace(request.listener().getLogger());
+                                    if (e.getHttpCode() == 403) {
+                                        // the credentials do not have permission, so we should not observe the
+                                        // PR ever the PR is dead to us, so this is the one case where we can
+                                        // squash the exception.
+                                        throw new Skip();
+                                    }
+                                    throw e;
                                 }
-                                // https://bitbucket.org/site/master/issues/5814/reify-pull-requests-by-making-them-a-ref
-                                e.printStackTrace(request.listener().getLogger());
-                                if (e.getHttpCode() == 403) {
-                                    // the credentials do not have permission, so we should not observe the
-                                    // PR ever the PR is dead to us, so this is the one case where we can
-                                    // squash the exception.
-                                    throw new Skip();
+                            }
+                        };
+                        try {
+                            for (Map.Entry<PullRequestSCMHead, ProbeLambda<SCMHead, BitbucketCommit>> entry : heads.entrySet()) {
+                                if (request.process(entry.getKey(), intermediateFactory, entry.getValue(), revisionFactory, request.defaultWitness())) {
+                                    return true;
                                 }
-                                throw e;
                             }
+                        } catch (Skip e) {
+                            request.listener().getLogger().println(
+                                    "Do not have permission to view PR from " + pull.getSource().getRepository()
+                                            .getFullName()
+                                            + " and branch "
+                                            + originalBranchName);
                         }
-                    };
-                    if (request.process(head, intermediateFactory, probeFactory, revisionFactory, request.defaultWitness())) {
-                        request.listener().getLogger().format("%n  %d pull requests were processed (query completed)%n", count);
-                        return;
+                        return false;
                     }
-                }
-            } catch (Skip e) {
-                request.listener().getLogger().println(
-                        "Do not have permission to view PR from " + pull.getSource().getRepository()
-                                .getFullName()
-                                + " and branch "
-                                + originalBranchName);
-                continue;
-            } finally {
-                if (forkClient != null) {
-                    forkClient.close();
+                });
+                if (completed) {
+                    break;
                 }
             }
+            if (completed || queue.drain()) {
+                request.listener().getLogger().format("%n  %d pull requests were processed (query completed)%n", count.intValue());
+                return count.intValue();
+            }
+        }
+        request.listener().getLogger().format("%n  %d pull requests were processed%n", count.intValue());
+        if (event == null && request.getRequestedPullRequestNumbers() == null) {
+            // only a full listing tells which pull requests are closed
+            getState().retainPullRequests(livePRs);
         }
-        request.listener().getLogger().format("%n  %d pull requests were processed%n", count);
-        getPullRequestTitleCache().keySet().retainAll(livePRs);
-        getPullRequestContributorCache().keySet().retainAll(livePRs);
+        return count.intValue();
     }
 
-    private void retrieveBranches(final BitbucketSCMSourceRequest request) throws IOException, InterruptedException {
+    private int retrieveBranches(final BitbucketSCMSourceRequest request) throws IOException, InterruptedException {
         String fullName = repoOwner + "/" + repository;
         request.listener().getLogger().println("Looking up " + fullName + " for branches");
 
-        int count = 0;
-        for (final BitbucketBranch branch : request.getBranches()) {
-            request.listener().getLogger().println("Checking branch " + branch.getName() + " from " + fullName);
-            count++;
-            BranchSCMHead head = new BranchSCMHead(branch.getName());
-            if (request.process(head, (IntermediateLambda<BitbucketCommit>) () -> new BranchHeadCommit(branch))) {
-                request.listener().getLogger().format("%n  %d branches were processed (query completed)%n", count);
-                return;
+        MutableInt count = new MutableInt();
+        try (HeadQueue queue = new HeadQueue(request.getProbeLookahead())) {
+            boolean completed = false;
+            for (final BitbucketBranch branch : request.getBranches()) {
+                BranchSCMHead head = new BranchSCMHead(branch.getName());
+                IntermediateLambda<BitbucketCommit> intermediateFactory = () -> new BranchHeadCommit(branch);
+                ProbeLambda<SCMHead, BitbucketCommit> probeFactory = request.prefetchProbe(head, intermediateFactory, request.defaultProbeLamda());
+                completed = queue.offer(() -> {
+                    request.listener().getLogger().println("Checking branch " + branch.getName() + " from " + fullName);
+                    count.increment();
+                    return request.process(head, intermediateFactory, probeFactory);
+                });
+                if (completed) {
+                    break;
+                }
+            }
+            if (completed || queue.drain()) {
+                request.listener().getLogger().format("%n  %d branches were processed (query completed)%n", count.intValue());
+                return count.intValue();
             }
         }
-        request.listener().getLogger().format("%n  %d branches were processed%n", count);
+        request.listener().getLogger().format("%n  %d branches were processed%n", count.intValue());
+        return count.intValue();
     }
 
-    private void retrieveTags(final BitbucketSCMSourceRequest request) throws IOException, InterruptedException {
+    private int retrieveTags(final BitbucketSCMSourceRequest request) throws IOException, InterruptedException {
         String fullName = repoOwner + "/" + repository;
         request.listener().getLogger().println("Looking up " + fullName + " for tags");
 
-        int count = 0;
-        for (final BitbucketBranch tag : request.getTags()) {
-            request.listener().getLogger().println("Checking tag " + tag.getName() + " from " + fullName);
-            count++;
-            BitbucketTagSCMHead head = new BitbucketTagSCMHead(tag.getName(), tag.getDateMillis());
-            if (request.process(head, tag::getRawNode)) {
-                request.listener().getLogger().format("%n  %d tags were processed (query completed)%n", count);
-                return;
+        MutableInt count = new MutableInt();
+        try (HeadQueue queue = new HeadQueue(request.getProbeLookahead())) {
+            boolean completed = false;
+            for (final BitbucketBranch tag : request.getTags()) {
+                BitbucketTagSCMHead head = new BitbucketTagSCMHead(tag.getName(), tag.getDateMillis());
+                IntermediateLambda<String> intermediateFactory = tag::getRawNode;
+                ProbeLambda<SCMHead, String> probeFactory = request.prefetchProbe(head, intermediateFactory, request.defaultProbeLamda());
+                completed = queue.offer(() -> {
+                    request.listener().getLogger().println("Checking tag " + tag.getName() + " from " + fullName);
+                    count.increment();
+                    return request.process(head, intermediateFactory, probeFactory);
+                });
+                if (completed) {
+                    break;
+                }
             }
+            if (completed || queue.drain()) {
+                request.listener().getLogger().format("%n  %d tags were processed (query completed)%n", count.intValue());
+                return count.intValue();
+            }
+        }
+        request.listener().getLogger().format("%n  %d tags were processed%n", count.intValue());
+        return count.intValue();
+    }
+
+    /**
+     * A head waiting to be processed.
+     */
+    private interface HeadTask {
+        /**
+         * Processes the head.
+         *
+         * @return {@code true} if the request has completed observing.
+         * @throws IOException if there was an I/O error.
+         * @throws InterruptedException if the processing was interrupted.
+         */
+        boolean process() throws IOException, InterruptedException;
+
+        /**
+         * Releases any resource of a head that will not be processed.
+         */
+        default void discard() {
+        }
+    }
+
+    /**
+     * Processes heads in the order they are offered. When parallel probing is
+     * enabled some heads are kept in the queue, so that their criteria are
+     * probed in background while the older ones are processed.
+     */
+    private static final class HeadQueue implements AutoCloseable {
+        private final Deque<HeadTask> pending = new ArrayDeque<>();
+        private final int lookahead;
+
+        HeadQueue(int lookahead) {
+            this.lookahead = lookahead;
+        }
+
+        boolean offer(@NonNull HeadTask task) throws IOException, InterruptedException {
+            pending.add(task);
+            return pending.size() > lookahead && pending.remove().process();
+        }
+
+        boolean drain() throws IOException, InterruptedException {
+            while (!pending.isEmpty()) {
+                if (pending.remove().process()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void close() {
+            pending.forEach(HeadTask::discard);
+            pending.clear();
         }
-        request.listener().getLogger().format("%n  %d tags were processed%n", count);
     }
 
     @Override
@@ -708,32 +990,113 @@ public class BitbucketSCMSource extends SCMSource {
     protected SCMRevision retrieve(@NonNull String thingName, @NonNull TaskListener listener, @CheckForNull Item context)
             throws IOException, InterruptedException {
         try (BitbucketApi client = buildBitbucketClient()) {
-            // Try to resolve as a branch first
-            BitbucketBranch branch = client.getBranch(thingName);
-            if (branch != null) {
-                BitbucketCommit revision = findCommit(branch, listener);
-                if (revision != null) {
-                    return new BitbucketGitSCMRevision(new BranchSCMHead(thingName), revision);
+            // the name is looked up as a branch, as a tag and, when it looks like a hash, as a commit at the same time,
+            // the branch wins over the tag that wins over the commit
+            Future<BitbucketBranch> tagLookup = submitLookup(thingName, () -> client.getTag(thingName));
+            Future<BitbucketCommit> commitLookup = COMMIT_HASH.matcher(thingName).matches()
+                    ? submitLookup(thingName, () -> client.resolveCommit(thingName))
+                    : null;
+            try {
+                // Try to resolve as a branch first
+                BitbucketBranch branch = client.getBranch(thingName);
+                if (branch != null) {
+                    BitbucketCommit revision = findCommit(branch, listener);
+                    if (revision != null) {
+                        return new BitbucketGitSCMRevision(new BranchSCMHead(thingName), revision);
+                    }
                 }
-            }
 
-            // Try to resolve as a tag
-            BitbucketBranch tag = client.getTag(thingName);
-            if (tag != null) {
-                BitbucketCommit revision = findCommit(tag, listener);
-                if (revision != null) {
-                    BitbucketTagSCMHead tagHead = new BitbucketTagSCMHead(thingName, tag.getDateMillis());
-                    return new BitbucketTagSCMRevision(tagHead, revision);
+                // Try to resolve as a tag
+                BitbucketBranch tag = lookup(tagLookup);
+                if (tag != null) {
+                    BitbucketCommit revision = findCommit(tag, listener);
+                    if (revision != null) {
+                        BitbucketTagSCMHead tagHead = new BitbucketTagSCMHead(thingName, tag.getDateMillis());
+                        return new BitbucketTagSCMRevision(tagHead, revision);
+                    }
+                }
+
+                // Try to resolve as a commit hash
+                BitbucketCommit commit = commitLookup != null ? lookup(commitLookup) : client.resolveCommit(thingName);
+                if (commit != null) {
+                    return new BitbucketGitSCMRevision(new BranchSCMHead(thingName), commit);
+                }
+
+                return null;
+            } finally {
+                // the client is closed once the lookups are over
+                awaitLookup(tagLookup);
+                if (commitLookup != null) {
+                    awaitLookup(commitLookup);
                 }
             }
+        }
+    }
 
-            // Try to resolve as a commit hash
-            BitbucketCommit commit = client.resolveCommit(thingName);
-            if (commit != null) {
-                return new BitbucketGitSCMRevision(new BranchSCMHead(thingName), commit);
+    /**
+     * Runs a lookup on behalf of the current thread, with its workload class and tracing span.
+     *
+     * @param thingName the looked up name.
+     * @param lookup the remote call.
+     * @param <T> the type of the result.
+     * @return the pending lookup.
+     */
+    @NonNull
+    private static <T> Future<T> submitLookup(@NonNull String thingName, @NonNull Callable<T> lookup) {
+        final BitbucketWorkloadClass workload = BitbucketWorkloadClass.current();
+        final String owner = BitbucketWorkloadClass.currentOwner();
+        final BitbucketSpan parent = BitbucketTracing.current();
+        return LOOKUP_EXECUTOR.submit(() -> {
+            try (BitbucketWorkloadClass.Scope scope = workload.enter(owner);
+                    BitbucketTracing.Scope span = BitbucketTracing.startSpan("bitbucket.lookup", parent)) {
+                span.setAttribute("bitbucket.ref", thingName);
+                return lookup.call();
             }
+        });
+    }
 
-            return null;
+    @NonNull
+    private static ExecutorService lookupExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(LOOKUP_PARALLELISM, LOOKUP_PARALLELISM, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new NamingThreadFactory(new DaemonThreadFactory(), BitbucketSCMSource.class.getName() + ".lookup"));
+        // idle threads are not kept
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Waits for a lookup whose result is not needed, so that its client is not closed while in use.
+     *
+     * @param lookup the pending lookup.
+     */
+    private static void awaitLookup(@NonNull Future<?> lookup) {
+        try {
+            lookup.get();
+        } catch (ExecutionException | CancellationException e) {
+            // the result is not needed
+        } catch (InterruptedException e) {
+            lookup.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @CheckForNull
+    private static <T> T lookup(@NonNull Future<T> lookup) throws IOException, InterruptedException {
+        try {
+            return lookup.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioe) {
+                throw ioe;
+            }
+            if (cause instanceof InterruptedException ie) {
+                throw ie;
+            }
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IOException(cause);
         }
     }
 
@@ -816,18 +1179,23 @@ public class BitbucketSCMSource extends SCMSource {
     @CheckForNull
     @Restricted(ProtectedExternally.class)
     protected String getProjectKey() {
-        String projectKey = null;
-        try {
-            BitbucketProject project = buildBitbucketClient().getRepository().getProject();
-            if (project != null) {
-                projectKey = project.getKey();
+        if (!projectKeyKnown) {
+            // normally known from the last scan, fetched only by the first build after a restart
+            try (BitbucketApi client = buildBitbucketClient()) {
+                setProjectKey(client.getRepository());
+            } catch (IOException e) {
+                LOGGER.severe("Failure getting the project key of repository " + getRepository() + " : " + e.getMessage());
             }
-        } catch (IOException e) {
-            LOGGER.severe("Failure getting the project key of repository " + getRepository() + " : " + e.getMessage());
         }
         return projectKey;
     }
 
+    private void setProjectKey(@NonNull BitbucketRepository r) {
+        BitbucketProject project = r.getProject();
+        projectKey = project != null ? project.getKey() : null;
+        projectKeyKnown = true;
+    }
+
     private void setPrimaryCloneLinks(List<BitbucketHref> links) {
         links.forEach(link -> {
             if (StringUtils.startsWithIgnoreCase(link.getName(), "http")) {
@@ -890,8 +1258,12 @@ public class BitbucketSCMSource extends SCMSource {
         // TODO when we have support for trusted events, use the details from event if event was from trusted source
         List<Action> result = new ArrayList<>();
         try (BitbucketApi client = buildBitbucketClient()) {
-            gatherPrimaryCloneLinks(client);
             BitbucketRepository repo = client.getRepository();
+            gatherRepositoryInfo(repo);
+            if (mirrorId != null && client instanceof BitbucketServerAPIClient serverClient) {
+                // refresh the mirror topology with the other repository details
+                initMirrorCloneLinks(serverClient, mirrorId);
+            }
             result.add(new BitbucketRepoAvatarMetadataAction(showAvatar() ? repo : null));
             String defaultBranch = client.getDefaultBranch();
             if (StringUtils.isNotBlank(defaultBranch)) {
@@ -961,10 +1333,13 @@ public class BitbucketSCMSource extends SCMSource {
             }
         }
         if (head instanceof PullRequestSCMHead prHead) {
-            title = getPullRequestTitleCache().get(prHead.getId());
-            ContributorMetadataAction contributor = getPullRequestContributorCache().get(prHead.getId());
-            if (contributor != null) {
-                result.add(contributor);
+            BitbucketSCMSourceState.PullRequestState pullRequest = getState().getPullRequest(prHead.getId());
+            if (pullRequest != null) {
+                title = pullRequest.getTitle();
+                ContributorMetadataAction contributor = pullRequest.getContributor();
+                if (contributor != null) {
+                    result.add(contributor);
+                }
             }
         }
         String url = template.expand();
@@ -984,20 +1359,22 @@ public class BitbucketSCMSource extends SCMSource {
         return result;
     }
 
+    /**
+     * Returns the state kept between the scans of this source.
+     *
+     * @return the state of this source.
+     */
     @NonNull
-    private synchronized Map<String, String> getPullRequestTitleCache() {
-        if (pullRequestTitleCache == null) {
-            pullRequestTitleCache = new ConcurrentHashMap<>();
-        }
-        return pullRequestTitleCache;
-    }
-
-    @NonNull
-    private synchronized Map<String, ContributorMetadataAction> getPullRequestContributorCache() {
-        if (pullRequestContributorCache == null) {
-            pullRequestContributorCache = new ConcurrentHashMap<>();
+    synchronized BitbucketSCMSourceState getState() {
+        if (state == null) {
+            File file = null;
+            SCMSourceOwner owner = getOwner();
+            if (owner != null && owner.getRootDir() != null) {
+                file = new File(owner.getRootDir(), "bitbucket-state" + File.separator + Util.rawEncode(getId()) + ".xml");
+            }
+            state = BitbucketSCMSourceState.load(file);
         }
-        return pullRequestContributorCache;
+        return state;
     }
 
     @NonNull
@@ -1033,17 +1410,19 @@ public class BitbucketSCMSource extends SCMSource {
     }
 
     private void initCloneLinks() {
-        if (primaryCloneLinks == null) {
-            BitbucketApi bitbucket = buildBitbucketClient();
-            initPrimaryCloneLinks(bitbucket);
-            if (mirrorId != null && mirrorCloneLinks == null) {
-                initMirrorCloneLinks((BitbucketServerAPIClient) bitbucket, mirrorId);
+        // normally gathered by the scans, fetched only by the first build after a restart
+        if (primaryCloneLinks == null || mirrorId != null && mirrorCloneLinks == null) {
+            try (BitbucketApi bitbucket = buildBitbucketClient()) {
+                if (primaryCloneLinks == null) {
+                    initPrimaryCloneLinks(bitbucket);
+                }
+                if (mirrorId != null && mirrorCloneLinks == null) {
+                    initMirrorCloneLinks((BitbucketServerAPIClient) bitbucket, mirrorId);
+                }
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Failed to close the client of " + getRepoOwner() + "/" + getRepository(), e);
             }
         }
-        if (mirrorId != null && mirrorCloneLinks == null) {
-            BitbucketApi bitbucket = buildBitbucketClient();
-            initMirrorCloneLinks((BitbucketServerAPIClient) bitbucket, mirrorId);
-        }
     }
 
     private void initMirrorCloneLinks(BitbucketServerAPIClient bitbucket, String mirrorIdLocal) {
@@ -1098,6 +1477,7 @@ public class BitbucketSCMSource extends SCMSource {
                 throw new IllegalStateException("There is no clone links");
             }
             setPrimaryCloneLinks(cloneLinks);
+            setProjectKey(r);
         } catch (IOException e) {
             throw new IllegalStateException(
                 "Could not determine clone links of " + getRepoOwner() + "/" + getRepository()
@@ -1267,7 +1647,7 @@ public class BitbucketSCMSource extends SCMSource {
 
         @Override
         public String getDate() {
-            return DateUtils.formatToISO(new Date(branch.getDateMillis()));
+            return DateUtils.formatToISO(branch.getDateMillis());
         }
 
         @Override
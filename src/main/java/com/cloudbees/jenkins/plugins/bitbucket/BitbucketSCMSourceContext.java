@@ -105,6 +105,11 @@ public class BitbucketSCMSourceContext extends SCMSourceContext<BitbucketSCMSour
      */
     private boolean useReadableNotificationIds;
 
+    /**
+     * The number of heads whose criteria are probed concurrently.
+     */
+    private int probeParallelism = 1;
+
     /**
      * Constructor.
      *
@@ -179,6 +184,15 @@ public class BitbucketSCMSourceContext extends SCMSourceContext<BitbucketSCMSour
         return skipDraftPRs;
     }
 
+    /**
+     * Returns the number of heads whose criteria are probed concurrently.
+     *
+     * @return the number of concurrent probes, {@code 1} if heads are probed one at a time.
+     */
+    public final int probeParallelism() {
+        return probeParallelism;
+    }
+
     /**
      * Returns the set of {@link ChangeRequestCheckoutStrategy} to create for each origin pull request.
      *
@@ -323,6 +337,17 @@ public class BitbucketSCMSourceContext extends SCMSourceContext<BitbucketSCMSour
         return this;
     }
 
+    /**
+     * Defines how many heads could be probed concurrently.
+     *
+     * @param parallelism the number of concurrent probes, values lower than {@code 1} are ignored.
+     * @return {@code this} for method chaining.
+     */
+    public final BitbucketSCMSourceContext withProbeParallelism(int parallelism) {
+        this.probeParallelism = Math.max(probeParallelism, parallelism);
+        return this;
+    }
+
     /**
      * Defines the {@link ChangeRequestCheckoutStrategy} instances to create for each origin pull request.
      *
@@ -27,24 +27,45 @@ import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketApi;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketBranch;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketCommit;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequest;
+import com.cloudbees.jenkins.plugins.bitbucket.api.tracing.BitbucketSpan;
 import com.cloudbees.jenkins.plugins.bitbucket.filesystem.BitbucketSCMFile;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketProbeCache;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketWorkloadClass;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.tracing.BitbucketTracing;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import hudson.Util;
 import hudson.model.TaskListener;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import java.io.Closeable;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
+import jenkins.scm.api.SCMFile;
 import jenkins.scm.api.SCMFile.Type;
 import jenkins.scm.api.SCMHead;
 import jenkins.scm.api.SCMHeadObserver;
@@ -52,6 +73,7 @@ import jenkins.scm.api.SCMHeadOrigin;
 import jenkins.scm.api.SCMProbe;
 import jenkins.scm.api.SCMProbeStat;
 import jenkins.scm.api.SCMRevision;
+import jenkins.scm.api.SCMSourceCriteria;
 import jenkins.scm.api.SCMSourceCriteria.Probe;
 import jenkins.scm.api.mixin.ChangeRequestCheckoutStrategy;
 import jenkins.scm.api.trait.SCMSourceRequest;
@@ -62,6 +84,16 @@ import jenkins.scm.api.trait.SCMSourceRequest;
  * @since 2.2.0
  */
 public class BitbucketSCMSourceRequest extends SCMSourceRequest {
+    private static final Logger LOGGER = Logger.getLogger(BitbucketSCMSourceRequest.class.getName());
+    /**
+     * The largest number of requested heads of a kind that are looked up one by one rather than listed.
+     */
+    private static final int TARGETED_FETCH_LIMIT = Integer.getInteger(
+            BitbucketSCMSourceRequest.class.getName() + ".targetedFetchLimit", 10);
+    /**
+     * How long, in seconds, closing a request waits for the background probes to terminate.
+     */
+    private static final long PROBE_TERMINATION_TIMEOUT = 30;
 
     private class BitbucketProbeFactory<I> implements SCMSourceRequest.ProbeLambda<SCMHead, I> {
         private transient final BitbucketApi client;
@@ -79,6 +111,20 @@ public class BitbucketSCMSourceRequest extends SCMSourceRequest {
                     ? bbRevision.getHash() //
                     : (String) revisionInfo;
 
+            final BitbucketSCMSourceState.HeadState known = hash != null ? state.getHead(head.getName(), hash) : null;
+            final BitbucketSCMSourceState.HeadState observed = known != null
+                    ? known.copy()
+                    : hash != null ? new BitbucketSCMSourceState.HeadState(hash) : null;
+            if (observed != null) {
+                observedHeads.put(head.getName(), observed);
+            }
+            if (known != null) {
+                unchangedHeads.add(head.getName());
+            }
+
+            // the content of the directories listed by this probe, keyed by directory path
+            final Map<String, Map<String, Type>> listings = new ConcurrentHashMap<>();
+
             return new SCMProbe() {
 
                 @Override
@@ -93,6 +139,9 @@ public class BitbucketSCMSourceRequest extends SCMSourceRequest {
 
                 @Override
                 public long lastModified() {
+                    if (observed != null && observed.getLastModified() > 0) {
+                        return observed.getLastModified();
+                    }
                     try {
                         BitbucketCommit commit = null;
                         if (hash != null) {
@@ -106,7 +155,11 @@ public class BitbucketSCMSourceRequest extends SCMSourceRequest {
                                     hash, client.getOwner(), client.getRepositoryName());
                             return 0;
                         }
-                        return Optional.ofNullable(commit.getCommitterDate()).map(Date::getTime).orElse(0L);
+                        long value = Optional.ofNullable(commit.getCommitterDate()).map(Date::getTime).orElse(0L);
+                        if (observed != null && value > 0) {
+                            observed.setLastModified(value);
+                        }
+                        return value;
                     } catch (IOException e) {
                         listener().getLogger().format("Can not resolve commit by hash [%s] on repository %s/%s%n", //
                                 hash, client.getOwner(), client.getRepositoryName());
@@ -119,9 +172,17 @@ public class BitbucketSCMSourceRequest extends SCMSourceRequest {
                     if (hash == null) {
                         return SCMProbeStat.fromType(Type.NONEXISTENT);
                     }
+                    // the content of a commit never changes, an answer given for the same commit still holds
+                    Type pathType = observed.getStat(path);
+                    if (pathType != null) {
+                        return SCMProbeStat.fromType(pathType);
+                    }
 
                     try {
-                        Type pathType = new BitbucketSCMFile(client, name(), hash).child(path).getType();
+                        pathType = BitbucketProbeCache.getType(source.getServerUrl(), source.getCredentialsId(),
+                                client.getOwner() + "/" + client.getRepositoryName(), hash, path,
+                                () -> probeType(name(), hash, path, listings));
+                        observed.putStat(path, pathType);
                         return SCMProbeStat.fromType(pathType);
                     } catch (InterruptedException e) {
                         throw new IOException("Interrupted", e);
@@ -129,6 +190,61 @@ public class BitbucketSCMSourceRequest extends SCMSourceRequest {
                 }
             };
         }
+
+        /**
+         * Returns the type of a path in a commit.
+         * <p>
+         * A single path is looked up directly. Once a second path of the same
+         * directory has been asked, by this probe or by the probe of another
+         * head, the directory is listed instead and all the paths asked in it
+         * are answered from the listing.
+         */
+        @NonNull
+        private Type probeType(@NonNull String ref,
+                               @NonNull String hash,
+                               @NonNull String path,
+                               @NonNull Map<String, Map<String, Type>> listings) throws IOException, InterruptedException {
+            BitbucketSCMFile root = new BitbucketSCMFile(client, ref, hash);
+            int index = path.lastIndexOf('/');
+            String directory = index < 0 ? "" : path.substring(0, index);
+            String name = path.substring(index + 1);
+            if (!name.isEmpty() && !directory.startsWith("/") && !path.contains("./")) {
+                Set<String> names = probedNames.computeIfAbsent(directory, key -> ConcurrentHashMap.newKeySet());
+                names.add(name);
+                if (names.size() > 1 || listings.containsKey(directory)) {
+                    Map<String, Type> listing = listings.computeIfAbsent(directory, key -> listDirectory(root, key));
+                    if (!listing.isEmpty()) {
+                        return listing.getOrDefault(name, Type.NONEXISTENT);
+                    }
+                }
+            }
+            return root.child(path).getType();
+        }
+
+        /**
+         * Lists the content of a directory.
+         *
+         * @return the type of each child keyed by name, empty if the directory
+         *         is empty or could not be listed.
+         */
+        @NonNull
+        private Map<String, Type> listDirectory(@NonNull BitbucketSCMFile root, @NonNull String directory) {
+            BitbucketSCMFile parent = directory.isEmpty() ? root : root.child(directory, Type.DIRECTORY);
+            Map<String, Type> listing = new HashMap<>();
+            try {
+                for (SCMFile child : client.getDirectoryContent(parent)) {
+                    listing.put(child.getName(), child.getType());
+                }
+            } catch (IOException e) {
+                // each path is then looked up on its own, as it would without listing
+                LOGGER.log(Level.FINE, "Could not list " + directory + " at " + root.getHash(), e);
+                return Map.of();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Map.of();
+            }
+            return listing;
+        }
     }
 
     public static class BitbucketRevisionFactory<I> implements SCMSourceRequest.LazyRevisionLambda<SCMHead, SCMRevision, I> {
@@ -176,6 +292,55 @@ public class BitbucketSCMSourceRequest extends SCMSourceRequest {
         }
     }
 
+    /**
+     * A probe that remembers the answers of another probe, so that the
+     * criteria evaluated in background could be evaluated again while the
+     * head is processed without any other remote call.
+     */
+    @SuppressFBWarnings("SE_BAD_FIELD")
+    private static class MemoizedProbe extends SCMProbe {
+        private static final long serialVersionUID = 1L;
+
+        private final SCMProbe delegate;
+        private final Map<String, SCMProbeStat> stats = new ConcurrentHashMap<>();
+        private volatile Long lastModified;
+
+        MemoizedProbe(@NonNull SCMProbe delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String name() {
+            return delegate.name();
+        }
+
+        @Override
+        public long lastModified() {
+            Long value = lastModified;
+            if (value == null) {
+                value = delegate.lastModified();
+                lastModified = value;
+            }
+            return value;
+        }
+
+        @NonNull
+        @Override
+        public SCMProbeStat stat(@NonNull String path) throws IOException {
+            SCMProbeStat stat = stats.get(path);
+            if (stat == null) {
+                stat = delegate.stat(path);
+                stats.put(path, stat);
+            }
+            return stat;
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+
     @SuppressWarnings("rawtypes")
     private class CriteriaWitness implements SCMSourceRequest.Witness {
         @Override
@@ -257,11 +422,29 @@ public class BitbucketSCMSourceRequest extends SCMSourceRequest {
      */
     @CheckForNull
     private Iterable<BitbucketPullRequest> pullRequests;
+    /**
+     * The names of the origin branches of {@link #pullRequests}, computed on first use.
+     */
+    @CheckForNull
+    private Set<String> originPullRequestBranchNames;
+    /**
+     * Whether {@link #pullRequests} holds only the {@link #requestedPullRequestNumbers}.
+     */
+    private boolean pullRequestsTargeted;
     /**
      * The branch details or {@code null} if not {@link #isFetchBranches()}.
      */
     @CheckForNull
     private Iterable<BitbucketBranch> branches;
+    /**
+     * The {@link #branches} by name, computed on first use.
+     */
+    @CheckForNull
+    private Map<String, BitbucketBranch> branchesByName;
+    /**
+     * Whether {@link #branches} holds only the {@link #requestedOriginBranchNames}.
+     */
+    private boolean branchesTargeted;
     /**
      * The BitbucketApi that is used for the request.
      */
@@ -279,6 +462,48 @@ public class BitbucketSCMSourceRequest extends SCMSourceRequest {
      */
     @CheckForNull
     private Iterable<BitbucketBranch> tags;
+    /**
+     * The criteria of this request or {@code null} if all heads match.
+     */
+    @CheckForNull
+    private final SCMSourceCriteria criteria;
+    /**
+     * The number of heads whose criteria are probed concurrently.
+     */
+    private final int probeParallelism;
+    /**
+     * The executor of the background probes, created on first use.
+     */
+    @CheckForNull
+    private ExecutorService probeExecutor;
+    /**
+     * The clients of the fork repositories of the pull requests, keyed by
+     * repository full name, closed with the request once the background
+     * probes have terminated.
+     */
+    private final Map<String, BitbucketApi> forkClients = new HashMap<>();
+    /**
+     * Whether the repository is private, looked up on first use.
+     */
+    @CheckForNull
+    private Boolean repositoryPrivate;
+    /**
+     * The state of the source left by the previous scans.
+     */
+    @NonNull
+    private final BitbucketSCMSourceState state;
+    /**
+     * The state of the heads probed by this request keyed by head name.
+     */
+    private final Map<String, BitbucketSCMSourceState.HeadState> observedHeads = new ConcurrentHashMap<>();
+    /**
+     * The names of the heads that still point to the commit they pointed to in the previous scan.
+     */
+    private final Set<String> unchangedHeads = ConcurrentHashMap.newKeySet();
+    /**
+     * The names of the paths asked by the probes of this request keyed by directory path.
+     */
+    private final Map<String, Set<String>> probedNames = new ConcurrentHashMap<>();
 
     /**
      * Constructor.
@@ -335,6 +560,9 @@ public class BitbucketSCMSourceRequest extends SCMSourceRequest {
         repoOwner = source.getRepoOwner();
         repository = source.getRepository();
         pullRequestData = new HashMap<>();
+        criteria = context.criteria();
+        probeParallelism = context.probeParallelism();
+        state = source.getState();
     }
 
     /**
@@ -506,11 +734,16 @@ public class BitbucketSCMSourceRequest extends SCMSourceRequest {
      */
     public final void setPullRequests(@CheckForNull Iterable<BitbucketPullRequest> pullRequests) {
         this.pullRequests = pullRequests;
+        synchronized (this) {
+            this.pullRequestsTargeted = false;
+            this.originPullRequestBranchNames = null;
+        }
     }
 
     /**
      * Returns the pull request details or an empty list if either the request did not specify to {@link #isFetchPRs()}
      * or if the pull request details have not been provided by {@link #setPullRequests(Iterable)} yet.
+     * When the request is scoped to a few pull requests, only those are retrieved.
      *
      * @return the pull request details (may be empty)
      * @throws IOException If the request to retrieve the full details encounters an issue.
@@ -519,13 +752,70 @@ public class BitbucketSCMSourceRequest extends SCMSourceRequest {
     @NonNull
     public final Iterable<BitbucketPullRequest> getPullRequests() throws IOException, InterruptedException {
         if (pullRequests == null) {
-            pullRequests = (Iterable<BitbucketPullRequest>) getBitbucketApiClient().getPullRequests();
+            if (isTargeted(requestedPullRequestNumbers)) {
+                pullRequests = lookupPullRequests(requestedPullRequestNumbers);
+                pullRequestsTargeted = true;
+            } else {
+                pullRequests = (Iterable<BitbucketPullRequest>) getBitbucketApiClient().getPullRequests();
+            }
         }
+        return withoutSkippedDrafts(pullRequests);
+    }
+
+    @NonNull
+    private List<BitbucketPullRequest> withoutSkippedDrafts(@CheckForNull Iterable<? extends BitbucketPullRequest> pullRequests) {
         return StreamSupport.stream(Util.fixNull(pullRequests).spliterator(), false)
                 .filter(pr -> !skipDraftPRs || (skipDraftPRs && !pr.isDraft()))
                 .collect(Collectors.toList()); // NOSONAR
     }
 
+    @NonNull
+    private List<BitbucketPullRequest> lookupPullRequests(@NonNull Set<String> numbers) throws IOException {
+        List<BitbucketPullRequest> result = new ArrayList<>(numbers.size());
+        for (String number : numbers) {
+            try {
+                BitbucketPullRequest pullRequest = getPullRequestById(Integer.valueOf(number));
+                // the listing only returns open pull requests with both ends available
+                if (pullRequest != null && pullRequest.isOpen()
+                        && pullRequest.getSource().getRepository() != null
+                        && pullRequest.getSource().getBranch() != null
+                        && pullRequest.getDestination().getBranch() != null) {
+                    result.add(pullRequest);
+                }
+            } catch (NumberFormatException | FileNotFoundException e) {
+                LOGGER.log(Level.FINE, "No pull request {0} in {1}/{2}", new Object[] {number, repoOwner, repository});
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the names of the branches of this repository that are the source of a pull request, so that branch
+     * heads can be matched with their pull requests without going through all the pull requests for each branch.
+     *
+     * @return the names of the origin branches of the pull requests returned by {@link #getPullRequests()}.
+     * @throws IOException If the request to retrieve the pull requests encounters an issue.
+     * @throws InterruptedException If the request to retrieve the pull requests is interrupted.
+     */
+    @NonNull
+    public final synchronized Set<String> getOriginPullRequestBranchNames() throws IOException, InterruptedException {
+        if (originPullRequestBranchNames == null) {
+            String fullName = repoOwner + "/" + repository;
+            Set<String> names = new HashSet<>();
+            // a branch may be the origin of a pull request that was not requested
+            Iterable<BitbucketPullRequest> all = pullRequestsTargeted
+                    ? withoutSkippedDrafts(getBitbucketApiClient().getPullRequests())
+                    : getPullRequests();
+            for (BitbucketPullRequest pullRequest : all) {
+                if (fullName.equalsIgnoreCase(pullRequest.getSource().getRepository().getFullName())) {
+                    names.add(pullRequest.getSource().getBranch().getName());
+                }
+            }
+            originPullRequestBranchNames = Collections.unmodifiableSet(names);
+        }
+        return originPullRequestBranchNames;
+    }
+
     /**
      * Retrieves the full details of a pull request.
      * @param id The id of the pull request to retrieve the details about.
@@ -540,6 +830,34 @@ public class BitbucketSCMSourceRequest extends SCMSourceRequest {
         return pullRequestData.get(id);
     }
 
+    /**
+     * Returns the client of the fork repository of a pull request, shared by
+     * all the pull requests from that fork until the request is closed.
+     *
+     * @param owner the owner of the fork repository.
+     * @param repository the name of the fork repository.
+     * @return the client of the fork repository.
+     */
+    @NonNull
+    final synchronized BitbucketApi getForkClient(@NonNull String owner, @NonNull String repository) {
+        // repository names are case insensitive on both Bitbucket Cloud and Data Center
+        return forkClients.computeIfAbsent((owner + "/" + repository).toLowerCase(Locale.ENGLISH),
+                key -> source.buildBitbucketClient(owner, repository));
+    }
+
+    /**
+     * Returns whether the repository of the source is private.
+     *
+     * @return {@code true} if the repository is private.
+     * @throws IOException if there was a network communications error.
+     */
+    public final synchronized boolean isRepositoryPrivate() throws IOException {
+        if (repositoryPrivate == null) {
+            repositoryPrivate = getBitbucketApiClient().isPrivate();
+        }
+        return repositoryPrivate;
+    }
+
     private final BitbucketApi getBitbucketApiClient() {
         if (api == null) {
             api = source.buildBitbucketClient();
@@ -553,13 +871,27 @@ public class BitbucketSCMSourceRequest extends SCMSourceRequest {
      *
      * @param branches the branch details.
      */
-    public final void setBranches(@CheckForNull Iterable<BitbucketBranch> branches) {
+    public final synchronized void setBranches(@CheckForNull Iterable<BitbucketBranch> branches) {
         this.branches = branches;
+        this.branchesTargeted = false;
+        this.branchesByName = null;
+    }
+
+    /**
+     * Provides the requests with the details of the {@link #getRequestedOriginBranchNames() requested branches}
+     * only, the other branches are looked up when they are needed.
+     *
+     * @param branches the details of the requested branches.
+     */
+    final synchronized void setRequestedBranches(@NonNull Iterable<BitbucketBranch> branches) {
+        setBranches(branches);
+        this.branchesTargeted = true;
     }
 
     /**
      * Returns the branch details or an empty list if either the request did not specify to {@link #isFetchBranches()}
      * or if the branch details have not been provided by {@link #setBranches(Iterable)} yet.
+     * When the request is scoped to a few branches, only those are retrieved.
      *
      * @return the branch details (may be empty)
      * @throws IOException if there was a network communications error.
@@ -567,13 +899,44 @@ public class BitbucketSCMSourceRequest extends SCMSourceRequest {
      */
     @SuppressWarnings("unchecked")
     @NonNull
-    public final Iterable<BitbucketBranch> getBranches() throws IOException, InterruptedException {
+    public final synchronized Iterable<BitbucketBranch> getBranches() throws IOException, InterruptedException {
         if (branches == null) {
-            branches = (Iterable<BitbucketBranch>) getBitbucketApiClient().getBranches();
+            if (isTargeted(requestedOriginBranchNames)) {
+                branches = lookup(requestedOriginBranchNames, getBitbucketApiClient()::getBranch);
+                branchesTargeted = true;
+            } else {
+                branches = (Iterable<BitbucketBranch>) getBitbucketApiClient().getBranches();
+            }
         }
         return Util.fixNull(branches);
     }
 
+    /**
+     * Returns the details of the branch with the given name, looked up in the branch details returned by
+     * {@link #getBranches()} without going through all of them for each head.
+     *
+     * @param name the branch name.
+     * @return the branch details or {@code null} if there is no such branch.
+     * @throws IOException if there was a network communications error.
+     * @throws InterruptedException if interrupted while waiting on remote communications.
+     */
+    @CheckForNull
+    public final synchronized BitbucketBranch getBranchByName(@NonNull String name) throws IOException, InterruptedException {
+        if (branchesByName == null) {
+            Map<String, BitbucketBranch> index = new HashMap<>();
+            for (BitbucketBranch branch : getBranches()) {
+                index.putIfAbsent(branch.getName(), branch);
+            }
+            branchesByName = index;
+        }
+        if (branchesTargeted && !branchesByName.containsKey(name)) {
+            // not one of the requested branches, look it up on its own
+            List<BitbucketBranch> branch = lookup(Set.of(name), getBitbucketApiClient()::getBranch);
+            branchesByName.put(name, branch.isEmpty() ? null : branch.get(0));
+        }
+        return branchesByName.get(name);
+    }
+
     /**
      * Provides the requests with the tag details.
      *
@@ -586,6 +949,7 @@ public class BitbucketSCMSourceRequest extends SCMSourceRequest {
     /**
      * Returns the branch details or an empty list if either the request did not specify to {@link #isFetchTags()}
      * or if the tag details have not been provided by {@link #setTags(Iterable)} yet.
+     * When the request is scoped to a few tags, only those are retrieved.
      *
      * @return the tag details (may be empty)
      * @throws IOException if there was a network communications error.
@@ -595,22 +959,176 @@ public class BitbucketSCMSourceRequest extends SCMSourceRequest {
     @NonNull
     public final Iterable<BitbucketBranch> getTags() throws IOException, InterruptedException {
         if (tags == null) {
-            tags = (Iterable<BitbucketBranch>) getBitbucketApiClient().getTags();
+            if (isTargeted(requestedTagNames)) {
+                tags = lookup(requestedTagNames, getBitbucketApiClient()::getTag);
+            } else {
+                tags = (Iterable<BitbucketBranch>) getBitbucketApiClient().getTags();
+            }
         }
         return Util.fixNull(tags);
     }
 
+    /**
+     * Returns whether the requested heads of a kind are few enough to be looked up one by one.
+     *
+     * @param requested the requested head names or {@code null} if the request is not scoped.
+     * @return {@code true} to look up the heads rather than listing them.
+     */
+    private static boolean isTargeted(@CheckForNull Set<String> requested) {
+        return requested != null && requested.size() <= TARGETED_FETCH_LIMIT;
+    }
+
+    @NonNull
+    private List<BitbucketBranch> lookup(@NonNull Set<String> names, @NonNull RefLookup lookup) throws IOException {
+        List<BitbucketBranch> result = new ArrayList<>(names.size());
+        for (String name : names) {
+            try {
+                BitbucketBranch ref = lookup.get(name);
+                if (ref != null) {
+                    result.add(ref);
+                }
+            } catch (FileNotFoundException e) {
+                LOGGER.log(Level.FINE, "No ref {0} in {1}/{2}", new Object[] {name, repoOwner, repository});
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A remote call that looks up a branch or a tag by name.
+     */
+    @FunctionalInterface
+    private interface RefLookup {
+        @CheckForNull
+        BitbucketBranch get(@NonNull String name) throws IOException;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void close() throws IOException {
+        if (probeExecutor != null) {
+            probeExecutor.shutdownNow();
+            // probes still running use the clients closed below
+            try {
+                if (!probeExecutor.awaitTermination(PROBE_TERMINATION_TIMEOUT, TimeUnit.SECONDS)) {
+                    LOGGER.log(Level.WARNING, "Background probes of {0}/{1} did not terminate in {2} seconds",
+                            new Object[] {repoOwner, repository, PROBE_TERMINATION_TIMEOUT});
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            for (Map.Entry<String, BitbucketApi> forkClient : forkClients.entrySet()) {
+                try {
+                    forkClient.getValue().close();
+                } catch (IOException e) {
+                    LOGGER.log(Level.FINE, "Failed to close the client of " + forkClient.getKey(), e);
+                }
+            }
+            forkClients.clear();
+        }
         if (api != null) {
             api.close();
         }
         super.close();
     }
 
+    /**
+     * Records the heads probed by this request in the state of the source so
+     * that the next scans do not probe again the heads that did not change,
+     * then stores the state if it has changed.
+     *
+     * @param complete {@code true} if the request processed all the heads of
+     *        the repository, {@code false} if it was limited to some of them.
+     */
+    final void saveState(boolean complete) {
+        if (!unchangedHeads.isEmpty()) {
+            listener().getLogger().format("%n  %d heads did not change since the last scan%n", unchangedHeads.size());
+        }
+        state.updateHeads(observedHeads, complete);
+        state.saveIfChanged();
+    }
+
+    /**
+     * Returns how many heads could be looked ahead of the one being processed
+     * to probe them in background.
+     *
+     * @return the number of heads to look ahead, {@code 0} if heads are probed
+     *         while they are processed.
+     */
+    final int getProbeLookahead() {
+        return criteria != null && probeParallelism > 1 ? probeParallelism * 2 : 0;
+    }
+
+    /**
+     * Starts to evaluate the criteria of the given head in background, when
+     * parallel probing is enabled.
+     * <p>
+     * The returned factory gives a probe that replays the answers collected in
+     * background, the criteria is then evaluated again by
+     * {@link #process(SCMHead, IntermediateLambda, ProbeLambda, LazyRevisionLambda, Witness)}
+     * so the head is observed, logged and witnessed in order as usual.
+     *
+     * @param head the head that will be processed.
+     * @param intermediateFactory the factory of the seed information of the probe.
+     * @param probeFactory the factory of the probes of the head.
+     * @param <I> the type of the intermediary operation result.
+     * @return the probe factory to use to process the head.
+     */
+    @NonNull
+    <I> ProbeLambda<SCMHead, I> prefetchProbe(@NonNull SCMHead head,
+                                              @CheckForNull IntermediateLambda<I> intermediateFactory,
+                                              @NonNull ProbeLambda<SCMHead, I> probeFactory) {
+        if (getProbeLookahead() == 0 || isExcluded(head)) {
+            return probeFactory;
+        }
+        final SCMSourceCriteria headCriteria = criteria;
+        final BitbucketWorkloadClass workload = BitbucketWorkloadClass.current();
+        final String owner = BitbucketWorkloadClass.currentOwner();
+        final BitbucketSpan parent = BitbucketTracing.current();
+        final Future<Probe> prefetch = probeExecutor().submit(() -> {
+            try (BitbucketWorkloadClass.Scope scope = workload.enter(owner);
+                    BitbucketTracing.Scope span = BitbucketTracing.startSpan("bitbucket.probe", parent)) {
+                span.setAttribute("bitbucket.head", head.getName());
+                I intermediate = intermediateFactory != null ? intermediateFactory.create() : null;
+                Probe probe = probeFactory.create(head, intermediate);
+                if (probe instanceof SCMProbe scmProbe) {
+                    probe = new MemoizedProbe(scmProbe);
+                }
+                try {
+                    // output is discarded, it is written when the head is processed
+                    headCriteria.isHead(probe, TaskListener.NULL);
+                } catch (IOException | InterruptedException | RuntimeException e) {
+                    // the head is probed again while processed
+                    if (probe instanceof Closeable closeable) {
+                        closeable.close();
+                    }
+                    throw e;
+                }
+                return probe;
+            }
+        });
+        return (h, intermediate) -> {
+            try {
+                return prefetch.get();
+            } catch (ExecutionException | CancellationException e) {
+                // probe again, any failure is reported while processing the head
+                return probeFactory.create(h, intermediate);
+            }
+        };
+    }
+
+    private synchronized ExecutorService probeExecutor() {
+        if (probeExecutor == null) {
+            probeExecutor = Executors.newFixedThreadPool(probeParallelism,
+                    new NamingThreadFactory(new DaemonThreadFactory(), "Bitbucket probe " + repoOwner + "/" + repository));
+        }
+        return probeExecutor;
+    }
+
     /**
      * Processes a head in the context of the current request where an intermediary operation is required before
      * the {@link SCMRevision} can be instantiated.
@@ -629,9 +1147,31 @@ public class BitbucketSCMSourceRequest extends SCMSourceRequest {
     public final <H extends SCMHead, I, R extends SCMRevision> boolean process(@NonNull H head,
                                                                                @CheckForNull IntermediateLambda<I> intermediateFactory)
                                                                                throws IOException, InterruptedException {
+        return process(head, intermediateFactory, defaultProbeLamda());
+    }
+
+    /**
+     * Processes a head with the given probe factory, typically the one returned by
+     * {@link #prefetchProbe(SCMHead, IntermediateLambda, ProbeLambda)}.
+     *
+     * @param head                the {@link SCMHead} to process.
+     * @param intermediateFactory factory method that provides the seed information for both the {@link ProbeLambda}
+     *                            and the {@link LazyRevisionLambda}.
+     * @param probeFactory        factory method that creates the probe of the head.
+     * @param <H>                 the type of {@link SCMHead}.
+     * @param <I>                 the type of the intermediary operation result.
+     * @return {@code true} if the {@link SCMHeadObserver} for this request has completed observing, {@code false} to
+     * continue processing.
+     * @throws IOException          if there was an I/O error.
+     * @throws InterruptedException if the processing was interrupted.
+     */
+    final <H extends SCMHead, I> boolean process(@NonNull H head,
+                                                 @CheckForNull IntermediateLambda<I> intermediateFactory,
+                                                 @NonNull ProbeLambda<SCMHead, I> probeFactory)
+                                                 throws IOException, InterruptedException {
         return super.process(head, //
                        intermediateFactory, //
-                       defaultProbeLamda(), //
+                       probeFactory, //
                        defaultRevisionLamda(), //
                        new CriteriaWitness());
     }
@@ -0,0 +1,380 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.XmlFile;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jenkins.scm.api.SCMFile.Type;
+import jenkins.scm.api.metadata.ContributorMetadataAction;
+
+/**
+ * The state of a {@link BitbucketSCMSource} kept between two scans.
+ * <p>
+ * It remembers, for each head observed by the last scan, the commit the head
+ * pointed to and what the probes answered about that commit. A commit never
+ * changes, so when a head still points to the same commit on the next scan
+ * the criteria is evaluated against the recorded answers instead of the
+ * Bitbucket API.
+ * <p>
+ * It also remembers the title and the author of the open pull requests, so
+ * that their metadata can be given without listing the pull requests again.
+ * <p>
+ * The state is stored in the folder of the owner of the source, when there is
+ * one, so that it survives restarts.
+ */
+final class BitbucketSCMSourceState {
+    private static final Logger LOGGER = Logger.getLogger(BitbucketSCMSourceState.class.getName());
+    /**
+     * The maximum number of pull requests remembered, unless the last full
+     * listing found more open pull requests. The least recently updated are
+     * forgotten first. It can be changed with the system property
+     * {@code bitbucket.state.maxPullRequests}.
+     */
+    private static final int MAX_PULL_REQUESTS = Integer.getInteger("bitbucket.state.maxPullRequests", 1000);
+
+    /**
+     * The state of the heads observed by the last scans, keyed by head name.
+     */
+    private Map<String, HeadState> heads = new HashMap<>();
+    /**
+     * The metadata of the open pull requests keyed by id, the least recently
+     * updated first.
+     */
+    private LinkedHashMap<String, PullRequestState> pullRequests = new LinkedHashMap<>();
+    /**
+     * The number of pull requests found open by the last full listing.
+     */
+    private int openPullRequests;
+    /**
+     * Whether the state has changed since it was loaded or saved.
+     */
+    private transient boolean dirty;
+    /**
+     * Where the state is stored or {@code null} if it is kept in memory only.
+     */
+    @CheckForNull
+    private transient XmlFile file;
+
+    /**
+     * Loads the state stored in the given file.
+     *
+     * @param file the file where the state is stored or {@code null} to keep
+     *        it in memory only.
+     * @return the stored state, an empty state if there is none or it can not
+     *         be read.
+     */
+    @NonNull
+    static BitbucketSCMSourceState load(@CheckForNull File file) {
+        BitbucketSCMSourceState state = null;
+        XmlFile xml = file != null ? new XmlFile(file) : null;
+        if (xml != null && xml.exists()) {
+            try {
+                state = (BitbucketSCMSourceState) xml.read();
+            } catch (IOException | ClassCastException e) {
+                LOGGER.log(Level.WARNING, "Could not load the scan state from " + file + ", the next scan will probe all heads", e);
+            }
+        }
+        if (state == null) {
+            state = new BitbucketSCMSourceState();
+        }
+        state.file = xml;
+        return state;
+    }
+
+    private Object readResolve() {
+        if (heads == null) {
+            heads = new HashMap<>();
+        }
+        if (pullRequests == null) {
+            pullRequests = new LinkedHashMap<>();
+        }
+        return this;
+    }
+
+    /**
+     * Returns what is known about the given head, only when it still points
+     * to the given commit.
+     *
+     * @param name the head name.
+     * @param hash the commit the head points to now.
+     * @return the known state of the head or {@code null} if the head is new
+     *         or points to another commit.
+     */
+    @CheckForNull
+    synchronized HeadState getHead(@NonNull String name, @NonNull String hash) {
+        HeadState head = heads.get(name);
+        return head != null && hash.equals(head.getHash()) ? head : null;
+    }
+
+    /**
+     * Records the heads observed by a scan.
+     *
+     * @param observed the heads observed by the scan keyed by name.
+     * @param complete {@code true} if the scan observed all heads so the heads
+     *        that were not observed are gone, {@code false} if it observed
+     *        only some of them.
+     * @return {@code true} if the state has changed.
+     */
+    synchronized boolean updateHeads(@NonNull Map<String, HeadState> observed, boolean complete) {
+        Map<String, HeadState> updated = new HashMap<>(complete ? Map.of() : heads);
+        for (Map.Entry<String, HeadState> entry : observed.entrySet()) {
+            updated.put(entry.getKey(), entry.getValue().copy());
+        }
+        if (updated.equals(heads)) {
+            return false;
+        }
+        heads = updated;
+        dirty = true;
+        return true;
+    }
+
+    /**
+     * Returns the metadata of the given pull request.
+     *
+     * @param id the pull request id.
+     * @return the known metadata or {@code null} if the pull request is unknown.
+     */
+    @CheckForNull
+    synchronized PullRequestState getPullRequest(@NonNull String id) {
+        return pullRequests.get(id);
+    }
+
+    /**
+     * Records the metadata of an open pull request.
+     *
+     * @param id the pull request id.
+     * @param pullRequest the pull request metadata.
+     */
+    synchronized void putPullRequest(@NonNull String id, @NonNull PullRequestState pullRequest) {
+        PullRequestState previous = pullRequests.remove(id);
+        pullRequests.put(id, pullRequest);
+        if (!pullRequest.equals(previous)) {
+            dirty = true;
+        }
+        // the open pull requests of a large repository are never evicted, otherwise each scan would
+        // forget and record again the same pull requests
+        int max = Math.max(MAX_PULL_REQUESTS, openPullRequests);
+        Iterator<String> eldest = pullRequests.keySet().iterator();
+        while (pullRequests.size() > Math.max(max, 0) && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            dirty = true;
+        }
+    }
+
+    /**
+     * Forgets the metadata of a pull request that was closed.
+     *
+     * @param id the pull request id.
+     */
+    synchronized void removePullRequest(@NonNull String id) {
+        if (pullRequests.remove(id) != null) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Forgets the metadata of the pull requests that are not open anymore.
+     *
+     * @param open the ids of all the open pull requests.
+     */
+    synchronized void retainPullRequests(@NonNull Set<String> open) {
+        if (pullRequests.keySet().retainAll(open)) {
+            dirty = true;
+        }
+        if (openPullRequests != open.size()) {
+            openPullRequests = open.size();
+            dirty = true;
+        }
+    }
+
+    /**
+     * Stores the state, if it is not kept in memory only.
+     */
+    synchronized void save() {
+        if (file != null) {
+            try {
+                file.write(this);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not save the scan state to " + file, e);
+            }
+        }
+        dirty = false;
+    }
+
+    /**
+     * Stores the state if it has changed since it was loaded or saved.
+     */
+    synchronized void saveIfChanged() {
+        if (dirty) {
+            save();
+        }
+    }
+
+    /**
+     * The metadata of an open pull request.
+     */
+    static final class PullRequestState {
+        @CheckForNull
+        private final String title;
+        @CheckForNull
+        private final String authorId;
+        @CheckForNull
+        private final String authorName;
+        @CheckForNull
+        private final String authorEmail;
+
+        PullRequestState(@CheckForNull String title, @CheckForNull String authorId,
+                         @CheckForNull String authorName, @CheckForNull String authorEmail) {
+            this.title = title;
+            this.authorId = authorId;
+            this.authorName = authorName;
+            this.authorEmail = authorEmail;
+        }
+
+        @CheckForNull
+        String getTitle() {
+            return title;
+        }
+
+        /**
+         * Returns the author of the pull request.
+         *
+         * @return the contributor metadata or {@code null} if the author is unknown.
+         */
+        @CheckForNull
+        ContributorMetadataAction getContributor() {
+            if (authorId == null && authorName == null && authorEmail == null) {
+                return null;
+            }
+            return new ContributorMetadataAction(authorId, authorName, authorEmail);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof PullRequestState other)) {
+                return false;
+            }
+            return Objects.equals(title, other.title)
+                    && Objects.equals(authorId, other.authorId)
+                    && Objects.equals(authorName, other.authorName)
+                    && Objects.equals(authorEmail, other.authorEmail);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(title, authorId, authorName, authorEmail);
+        }
+    }
+
+    /**
+     * What probes answered about the commit a head points to.
+     */
+    static final class HeadState {
+        private final String hash;
+        private final Map<String, Type> stats;
+        private volatile long lastModified;
+
+        HeadState(@NonNull String hash) {
+            this(hash, Map.of(), -1L);
+        }
+
+        private HeadState(@NonNull String hash, @NonNull Map<String, Type> stats, long lastModified) {
+            this.hash = hash;
+            this.stats = new ConcurrentHashMap<>(stats);
+            this.lastModified = lastModified;
+        }
+
+        @NonNull
+        String getHash() {
+            return hash;
+        }
+
+        /**
+         * Returns the recorded type of the given path.
+         *
+         * @param path the path relative to the repository root.
+         * @return the recorded type or {@code null} if the path was never probed.
+         */
+        @CheckForNull
+        Type getStat(@NonNull String path) {
+            return stats.get(path);
+        }
+
+        void putStat(@NonNull String path, @NonNull Type type) {
+            stats.put(path, type);
+        }
+
+        /**
+         * Returns the recorded commit time.
+         *
+         * @return the commit time in milliseconds or a negative value if unknown.
+         */
+        long getLastModified() {
+            return lastModified;
+        }
+
+        void setLastModified(long lastModified) {
+            this.lastModified = lastModified;
+        }
+
+        @NonNull
+        HeadState copy() {
+            return new HeadState(hash, stats, lastModified);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof HeadState other)) {
+                return false;
+            }
+            return lastModified == other.lastModified
+                    && hash.equals(other.hash)
+                    && stats.equals(other.stats);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hash, stats, lastModified);
+        }
+    }
+}
@@ -25,6 +25,7 @@ package com.cloudbees.jenkins.plugins.bitbucket;
 
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketCommit;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Date;
 import jenkins.scm.api.SCMHead;
 
 /**
@@ -46,4 +47,13 @@ public class BitbucketTagSCMRevision extends BitbucketGitSCMRevision {
         super(head, commit);
     }
 
+    private BitbucketTagSCMRevision(@NonNull SCMHead head, @NonNull String hash, String message, String author, Date date) {
+        super(head, hash, message, author, date);
+    }
+
+    // same as the super class, but the loaded revision must remain a tag revision
+    private Object readResolve() {
+        return new BitbucketTagSCMRevision(getHead(), getHash(), getMessage(), getAuthor(), getDate());
+    }
+
 }
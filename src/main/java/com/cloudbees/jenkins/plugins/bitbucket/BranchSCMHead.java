@@ -23,6 +23,7 @@
  */
 package com.cloudbees.jenkins.plugins.bitbucket;
 
+import com.cloudbees.jenkins.plugins.bitbucket.impl.util.StringInterner;
 import jenkins.scm.api.SCMHead;
 
 /**
@@ -40,7 +41,7 @@ public class BranchSCMHead extends SCMHead {
      * @param branchName the branch name
      */
     public BranchSCMHead(String branchName) {
-        super(branchName);
+        super(StringInterner.intern(branchName));
     }
 
     /**
@@ -50,4 +51,14 @@ public class BranchSCMHead extends SCMHead {
     public String getPronoun() {
         return Messages.BranchSCMHead_Pronoun();
     }
+
+    /**
+     * Shares the branch name with the other heads when the head is loaded
+     * from disk.
+     *
+     * @return a copy of this head that uses the interned name.
+     */
+    private Object readResolve() {
+        return new BranchSCMHead(getName());
+    }
 }
@@ -25,6 +25,7 @@ package com.cloudbees.jenkins.plugins.bitbucket;
 
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequest;
 import com.cloudbees.jenkins.plugins.bitbucket.api.PullRequestBranchType;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.util.StringInterner;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import jenkins.scm.api.SCMHead;
 import jenkins.scm.api.SCMHeadOrigin;
@@ -62,9 +63,9 @@ public class PullRequestSCMHead extends SCMHead implements ChangeRequestSCMHead2
                               String number, String title, BranchSCMHead target, SCMHeadOrigin origin,
                               ChangeRequestCheckoutStrategy strategy) {
         super(name);
-        this.repoOwner = repoOwner;
-        this.repository = repository;
-        this.branchName = branchName;
+        this.repoOwner = StringInterner.intern(repoOwner);
+        this.repository = StringInterner.intern(repository);
+        this.branchName = StringInterner.intern(branchName);
         this.branchType = branchType;
         this.number = number;
         this.title = title;
@@ -138,4 +139,14 @@ public class PullRequestSCMHead extends SCMHead implements ChangeRequestSCMHead2
         return branchType;
     }
 
+    /**
+     * Shares the repository and branch names with the other heads when the
+     * head is loaded from disk.
+     *
+     * @return a copy of this head that uses the interned identifiers.
+     */
+    private Object readResolve() {
+        return new PullRequestSCMHead(getName(), repoOwner, repository, branchName, branchType, number, title, target, origin, strategy);
+    }
+
 }
@@ -23,6 +23,7 @@
  */
 package com.cloudbees.jenkins.plugins.bitbucket.api;
 
+import com.cloudbees.jenkins.plugins.bitbucket.impl.util.StringInterner;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.DeserializationContext;
@@ -47,12 +48,12 @@ public class BitbucketHref {
     }
 
     public BitbucketHref(String href) {
-        this.href = href;
+        this.href = StringInterner.intern(href);
     }
 
     public BitbucketHref(String name, String href) {
         this.name = name;
-        this.href = href;
+        this.href = StringInterner.intern(href);
     }
 
     public String getName() {
@@ -68,7 +69,7 @@ public class BitbucketHref {
     }
 
     public void setHref(String href) {
-        this.href = href;
+        this.href = StringInterner.intern(href);
     }
 
     public static class Deserializer extends JsonDeserializer<List<BitbucketHref>> {
@@ -75,4 +75,11 @@ public interface BitbucketPullRequest {
     default boolean isDraft() {
         return false;
     }
+
+    /**
+     * @return {@code true} unless this pull request is known to be merged, declined or superseded.
+     */
+    default boolean isOpen() {
+        return true;
+    }
 }
@@ -0,0 +1,255 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.api.metrics;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.ExtensionList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jenkins.model.Jenkins;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Counters and latency histograms of the requests sent to each Bitbucket
+ * endpoint, by logical operation.
+ * <p>
+ * The counters are kept in memory since Jenkins startup, metrics plugins can
+ * read them with {@link #all()} or be notified of each response by
+ * implementing {@link BitbucketApiMetricsListener}.
+ */
+public final class BitbucketApiMetrics {
+    private static final Logger logger = Logger.getLogger(BitbucketApiMetrics.class.getName());
+
+    /**
+     * Upper bounds, in milliseconds, of the latency histogram buckets. A last
+     * bucket counts all the slower requests.
+     */
+    private static final long[] LATENCY_BOUNDS_MILLIS = { 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000 };
+
+    private static final Map<String, Map<BitbucketApiOperation, OperationMetrics>> metrics = new ConcurrentHashMap<>();
+
+    private BitbucketApiMetrics() {
+    }
+
+    /**
+     * Returns the metrics of every endpoint and operation that received at
+     * least one request, sorted by endpoint and operation.
+     *
+     * @return the metrics since Jenkins startup or the last clear.
+     */
+    @NonNull
+    public static List<OperationMetrics> all() {
+        List<OperationMetrics> all = new ArrayList<>();
+        metrics.values().forEach(operations -> all.addAll(operations.values()));
+        all.sort(Comparator.comparing(OperationMetrics::getEndpoint).thenComparing(OperationMetrics::getOperation));
+        return all;
+    }
+
+    /**
+     * Returns the metrics to update for a request.
+     *
+     * @param endpoint the base URL of the endpoint
+     * @param operation the logical operation of the request
+     * @return the metrics of the operation.
+     */
+    @NonNull
+    @Restricted(NoExternalUse.class)
+    public static OperationMetrics of(@NonNull String endpoint, @NonNull BitbucketApiOperation operation) {
+        return metrics.computeIfAbsent(endpoint, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(operation, key -> new OperationMetrics(endpoint, operation));
+    }
+
+    @Restricted(NoExternalUse.class)
+    public static void clear() {
+        metrics.clear();
+    }
+
+    /**
+     * The metrics of one operation against one endpoint.
+     */
+    public static final class OperationMetrics {
+        private final String endpoint;
+        private final BitbucketApiOperation operation;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+        private final LongAdder bytesSent = new LongAdder();
+        private final LongAdder bytesReceived = new LongAdder();
+        private final LongAdder[] latencies = new LongAdder[LATENCY_BOUNDS_MILLIS.length + 1];
+        private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+
+        private OperationMetrics(String endpoint, BitbucketApiOperation operation) {
+            this.endpoint = endpoint;
+            this.operation = operation;
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Records a response and notifies the {@link BitbucketApiMetricsListener}s.
+         *
+         * @param statusCode the HTTP status code, {@code -1} if the request
+         *        failed without response
+         * @param durationNanos the time elapsed since the request was sent
+         */
+        @Restricted(NoExternalUse.class)
+        public void record(int statusCode, long durationNanos) {
+            count.increment();
+            if (statusCode < 0 || statusCode >= 400) {
+                errors.increment();
+            }
+            totalNanos.add(durationNanos);
+            maxNanos.accumulate(durationNanos);
+            latencies[bucket(TimeUnit.NANOSECONDS.toMillis(durationNanos))].increment();
+            statusCodes.computeIfAbsent(statusCode, key -> new LongAdder()).increment();
+
+            if (Jenkins.getInstanceOrNull() == null) {
+                return; // because unit test
+            }
+            for (BitbucketApiMetricsListener listener : ExtensionList.lookup(BitbucketApiMetricsListener.class)) {
+                try {
+                    listener.onResponse(endpoint, operation, statusCode, durationNanos);
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, e, () -> "Listener " + listener.getClass().getName() + " failed");
+                }
+            }
+        }
+
+        private static int bucket(long millis) {
+            for (int i = 0; i < LATENCY_BOUNDS_MILLIS.length; i++) {
+                if (millis <= LATENCY_BOUNDS_MILLIS[i]) {
+                    return i;
+                }
+            }
+            return LATENCY_BOUNDS_MILLIS.length;
+        }
+
+        @Restricted(NoExternalUse.class)
+        public void addBytesSent(long bytes) {
+            bytesSent.add(bytes);
+        }
+
+        @Restricted(NoExternalUse.class)
+        public void addBytesReceived(long bytes) {
+            bytesReceived.add(bytes);
+        }
+
+        @NonNull
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        @NonNull
+        public BitbucketApiOperation getOperation() {
+            return operation;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Returns the number of requests that failed without response or with
+         * an HTTP status code 4xx or 5xx.
+         *
+         * @return the number of failed requests
+         */
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getAverageMillis() {
+            long requests = count.sum();
+            return requests == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / requests);
+        }
+
+        public long getMaxMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+        }
+
+        /**
+         * Returns an estimation of the given latency percentile, that is the
+         * upper bound of the histogram bucket that contains it.
+         *
+         * @param percentile between 0 and 100
+         * @return the estimated latency in milliseconds.
+         */
+        public long getPercentileMillis(double percentile) {
+            long requests = count.sum();
+            long threshold = (long) Math.ceil(requests * percentile / 100);
+            long cumulated = 0;
+            for (int i = 0; i < LATENCY_BOUNDS_MILLIS.length; i++) {
+                cumulated += latencies[i].sum();
+                if (cumulated >= threshold) {
+                    return LATENCY_BOUNDS_MILLIS[i];
+                }
+            }
+            return getMaxMillis();
+        }
+
+        /**
+         * Returns the latency histogram.
+         *
+         * @return the number of requests by bucket upper bound in
+         *         milliseconds, {@link Long#MAX_VALUE} for the last bucket.
+         */
+        @NonNull
+        public SortedMap<Long, Long> getLatencyHistogram() {
+            SortedMap<Long, Long> histogram = new TreeMap<>();
+            for (int i = 0; i < latencies.length; i++) {
+                histogram.put(i < LATENCY_BOUNDS_MILLIS.length ? LATENCY_BOUNDS_MILLIS[i] : Long.MAX_VALUE, latencies[i].sum());
+            }
+            return Collections.unmodifiableSortedMap(histogram);
+        }
+
+        @NonNull
+        public SortedMap<Integer, Long> getStatusCodes() {
+            SortedMap<Integer, Long> codes = new TreeMap<>();
+            statusCodes.forEach((code, counter) -> codes.put(code, counter.sum()));
+            return Collections.unmodifiableSortedMap(codes);
+        }
+
+        public long getBytesSent() {
+            return bytesSent.sum();
+        }
+
+        public long getBytesReceived() {
+            return bytesReceived.sum();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.api.metrics;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.ExtensionPoint;
+
+/**
+ * Listener notified for each response received from a Bitbucket endpoint.
+ * <p>
+ * Implementations are called on the thread that performs the request and must
+ * return quickly. The aggregated figures, bytes transferred included, are
+ * available through {@link BitbucketApiMetrics#all()}.
+ */
+public interface BitbucketApiMetricsListener extends ExtensionPoint {
+
+    /**
+     * Notify when the response headers of a request have been received or the
+     * request has failed.
+     *
+     * @param endpoint the base URL of the endpoint
+     * @param operation the logical operation of the request
+     * @param statusCode the HTTP status code, {@code -1} if the request failed
+     *        without response
+     * @param durationNanos the time elapsed since the request was sent
+     */
+    void onResponse(@NonNull String endpoint, @NonNull BitbucketApiOperation operation, int statusCode, long durationNanos);
+}
@@ -0,0 +1,127 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.api.metrics;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The logical operation performed by a request to the Bitbucket REST API.
+ * <p>
+ * The operation is derived from the path of the request so that every client
+ * implementation is classified the same way without being aware of it. Only
+ * the segments that follow the repository are considered, so that the names
+ * of projects, repositories and branches can not change the classification.
+ */
+public enum BitbucketApiOperation {
+    WEBHOOK("webhook", "webhooks", "hooks", "configurations"),
+    BUILD_STATUS("build-status"),
+    GET_PULL_REQUESTS("getPullRequests", "pull-requests", "pullrequests"),
+    GET_BRANCHES("getBranches", "branches"),
+    GET_TAGS("getTags", "tags"),
+    BROWSE("browse", "browse", "src", "raw"),
+    RESOLVE_COMMIT("resolveCommit", "commits", "commit"),
+    OTHER("other");
+
+    private static final Set<String> BUILD_STATUS_SEGMENTS = Set.of("statuses", "builds");
+    private static final Set<String> REPOSITORY_PARENTS = Set.of("projects", "users");
+
+    private final String displayName;
+    private final Set<String> resources;
+
+    BitbucketApiOperation(String displayName, String... resources) {
+        this.displayName = displayName;
+        this.resources = Set.of(resources);
+    }
+
+    @NonNull
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Classifies a request by its path.
+     *
+     * @param path the request path, query string included or not
+     * @return the operation, {@link #OTHER} if the path does not match any
+     *         known operation.
+     */
+    @NonNull
+    public static BitbucketApiOperation of(@NonNull String path) {
+        int query = path.indexOf('?');
+        List<String> segments = new ArrayList<>();
+        for (String segment : (query == -1 ? path : path.substring(0, query)).split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment.toLowerCase(Locale.ENGLISH));
+            }
+        }
+        int start = repositoryEnd(segments);
+        if (start == -1) {
+            // Data Center build status API is not bound to a repository
+            int rest = segments.indexOf("rest");
+            return rest != -1 && rest + 1 < segments.size() && "build-status".equals(segments.get(rest + 1)) ? BUILD_STATUS : OTHER;
+        }
+        if (start >= segments.size()) {
+            return OTHER;
+        }
+        String resource = segments.get(start);
+        if (RESOLVE_COMMIT.resources.contains(resource)
+                && start + 2 < segments.size()
+                && BUILD_STATUS_SEGMENTS.contains(segments.get(start + 2))) {
+            return BUILD_STATUS;
+        }
+        if ("refs".equals(resource) && start + 1 < segments.size()) {
+            // Bitbucket Cloud exposes branches and tags under refs
+            resource = segments.get(start + 1);
+        }
+        for (BitbucketApiOperation operation : values()) {
+            if (operation.resources.contains(resource)) {
+                return operation;
+            }
+        }
+        return OTHER;
+    }
+
+    /*
+     * Returns the index of the first segment after the repository, that is
+     * after 2.0/repositories/{workspace}/{repository} for Bitbucket Cloud and
+     * after projects/{key}/repos/{slug} (or users/{slug}/repos/{slug}) for
+     * Bitbucket Data Center, -1 if the path is not bound to a repository.
+     */
+    private static int repositoryEnd(List<String> segments) {
+        for (int i = 1; i < segments.size(); i++) {
+            String segment = segments.get(i);
+            if ("repositories".equals(segment) && "2.0".equals(segments.get(i - 1))) {
+                return i + 3;
+            }
+            if ("repos".equals(segment) && i >= 2 && REPOSITORY_PARENTS.contains(segments.get(i - 2))) {
+                return i + 2;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.api.tracing;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * A timed operation of a trace, created by a {@link BitbucketTracer}.
+ */
+public interface BitbucketSpan {
+
+    /**
+     * Returns the identifier of the trace this span belongs to.
+     *
+     * @return the trace identifier.
+     */
+    @NonNull
+    String getTraceId();
+
+    /**
+     * Returns the identifier of this span.
+     *
+     * @return the span identifier.
+     */
+    @NonNull
+    String getSpanId();
+
+    /**
+     * Adds an attribute to this span.
+     *
+     * @param key of the attribute
+     * @param value of the attribute
+     */
+    void setAttribute(@NonNull String key, @NonNull String value);
+
+    /**
+     * Records the failure of the operation.
+     *
+     * @param error the cause of the failure
+     */
+    void setError(@NonNull Throwable error);
+
+    /**
+     * Ends this span. Calls after the first have no effect.
+     */
+    void end();
+}
@@ -47,16 +47,17 @@ import com.cloudbees.jenkins.plugins.bitbucket.client.repository.UserRoleInRepos
 import com.cloudbees.jenkins.plugins.bitbucket.filesystem.BitbucketSCMFile;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.buildstatus.CloudBuildStatusNotifier;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.client.AbstractBitbucketApi;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketRoute;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketTlsSocketStrategy;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketWorkloadConnectionManager;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.client.ICheckedCallable;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.credentials.BitbucketAccessTokenAuthenticator;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.credentials.BitbucketOAuthAuthenticator;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.credentials.BitbucketUserAPITokenAuthenticator;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.util.BitbucketApiUtils;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.util.JsonParser;
-import com.damnhandy.uri.template.UriTemplate;
 import com.damnhandy.uri.template.impl.Operator;
-import com.fasterxml.jackson.core.JacksonException;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -66,8 +67,6 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -98,12 +97,38 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
     // Limit images to 16k
     private static final int MAX_AVATAR_LENGTH = 16384;
     private static final int MAX_PAGE_LENGTH = 100;
+    // routes are parsed once
+    private static final BitbucketRoute REPOSITORY_ROUTE = BitbucketRoute.of(REPO_URL_TEMPLATE);
+    private static final BitbucketRoute REPOSITORY_FIELDS_ROUTE = BitbucketRoute.of(REPO_URL_TEMPLATE + "/{?fields}");
+    private static final BitbucketRoute REPOSITORIES_ROUTE = BitbucketRoute.of(V2_API_BASE_URL + "{/owner}{?role,page,pagelen,q}");
+    private static final BitbucketRoute WORKSPACE_ROUTE = BitbucketRoute.of(V2_WORKSPACES_API_BASE_URL + "{/owner}");
+    private static final BitbucketRoute PULL_REQUESTS_ROUTE = BitbucketRoute.of(REPO_URL_TEMPLATE + "/pullrequests{?page,pagelen}");
+    private static final BitbucketRoute PULL_REQUEST_ROUTE = BitbucketRoute.of(REPO_URL_TEMPLATE + "/pullrequests{/id}");
+    private static final BitbucketRoute PULL_REQUEST_COMMITS_ROUTE = BitbucketRoute.of(REPO_URL_TEMPLATE + "/pullrequests/{pullId}/commits{?fields,pagelen}");
+    private static final BitbucketRoute BRANCH_ROUTE = BitbucketRoute.of(REPO_URL_TEMPLATE + "/refs/branches/{name}");
+    private static final BitbucketRoute TAG_ROUTE = BitbucketRoute.of(REPO_URL_TEMPLATE + "/refs/tags/{name}");
+    private static final BitbucketRoute COMMIT_ROUTE = BitbucketRoute.of(REPO_URL_TEMPLATE + "/commit/{hash}");
+    private static final BitbucketRoute COMMIT_BUILD_ROUTE = BitbucketRoute.of(REPO_URL_TEMPLATE + "/commit{/hash}/build");
+    private static final BitbucketRoute COMMITS_ROUTE = BitbucketRoute.of(REPO_URL_TEMPLATE + "/commits{?include,exclude}");
+    private static final BitbucketRoute HOOKS_ROUTE = BitbucketRoute.of(REPO_URL_TEMPLATE + "/hooks");
+    private static final BitbucketRoute HOOKS_PAGED_ROUTE = BitbucketRoute.of(REPO_URL_TEMPLATE + "/hooks{?page,pagelen}");
+    private static final BitbucketRoute HOOK_ROUTE = BitbucketRoute.of(REPO_URL_TEMPLATE + "/hooks/{hook}");
+    private static final BitbucketRoute SOURCE_ROUTE = BitbucketRoute.of(REPO_URL_TEMPLATE + "/src{/branchOrHash,path}{?pagelen}");
+    private static final BitbucketRoute SOURCE_PATH_ROUTE = BitbucketRoute.of(REPO_URL_TEMPLATE + "/src{/branchOrHash,path*}");
+    private static final BitbucketRoute SOURCE_AT_ROUTE = BitbucketRoute.of(REPO_URL_TEMPLATE + "/src{/branchOrHash,path}{?at}");
+    private static final BitbucketRoute SOURCE_META_ROUTE = BitbucketRoute.of(REPO_URL_TEMPLATE + "/src{/branchOrHash,path}?format=meta");
+    private static final ClassValue<JavaType> PAGE_TYPES = new ClassValue<>() {
+        @Override
+        protected JavaType computeValue(Class<?> type) {
+            return JsonParser.parametricType(BitbucketCloudPage.class, type);
+        }
+    };
 
-    private static final HttpClientConnectionManager connectionManager = connectionManagerBuilder()
-            .setMaxConnPerRoute(20)
+    private static final BitbucketWorkloadConnectionManager connectionManager = new BitbucketWorkloadConnectionManager(
+            connectionManagerBuilder().setTlsSocketStrategy(new BitbucketTlsSocketStrategy()),
+            BitbucketWorkloadConnectionManager.DEFAULT_MAX_CONN_PER_ROUTE,
             // for bitbucket cloud there is only one server (route)
-            .setMaxConnTotal(20)
-            .build();
+            BitbucketWorkloadConnectionManager.DEFAULT_MAX_CONN_PER_ROUTE);
 
     private final CloseableHttpClient client;
     private final String owner;
@@ -121,6 +146,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
         stats.add("Team: " + cachedTeam.stats().toString());
         stats.add("Repositories : " + cachedRepositories.stats().toString());
         stats.add("Commits: " + cachedCommits.stats().toString());
+        stats.addAll(connectionManager.stats());
         return stats;
     }
 
@@ -180,7 +206,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
         // https://developer.atlassian.com/bitbucket/api/2/reference/resource/repositories/%7Busername%7D/%7Brepo_slug%7D/pullrequests#get
         // so because with values greater than 50 the API returns HTTP 400
         int pageLen = 50;
-        String url = UriTemplate.fromTemplate(REPO_URL_TEMPLATE + "/pullrequests{?page,pagelen}")
+        String url = PULL_REQUESTS_ROUTE.bind()
                 .set("owner", owner)
                 .set("repo", repositoryName)
                 .set("pagelen", pageLen)
@@ -245,7 +271,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
     @Override
     @NonNull
     public BitbucketPullRequest getPullRequestById(@NonNull Integer id) throws IOException {
-        String url = UriTemplate.fromTemplate(REPO_URL_TEMPLATE + "/pullrequests{/id}")
+        String url = PULL_REQUEST_ROUTE.bind()
                 .set("owner", owner)
                 .set("repo", repositoryName)
                 .set("id", id)
@@ -265,7 +291,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
             throw new UnsupportedOperationException("Cannot get a repository from an API instance that is not associated with a repository");
         }
         if (!enableCache || localCachedRepository == null) {
-            String url = UriTemplate.fromTemplate(REPO_URL_TEMPLATE)
+            String url = REPOSITORY_ROUTE.bind()
                     .set("owner", owner)
                     .set("repo", repositoryName)
                     .expand();
@@ -279,7 +305,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
      */
     @Override
     public void postCommitComment(@NonNull String hash, @NonNull String comment) throws IOException {
-        String path = UriTemplate.fromTemplate(REPO_URL_TEMPLATE + "/commit{/hash}/build")
+        String path = COMMIT_BUILD_ROUTE.bind()
                 .set("owner", owner)
                 .set("repo", repositoryName)
                 .set("hash", hash)
@@ -298,7 +324,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
      */
     @Override
     public boolean checkPathExists(@NonNull String branchOrHash, @NonNull String path) throws IOException {
-        String url = UriTemplate.fromTemplate(REPO_URL_TEMPLATE + "/src{/branchOrHash,path*}")
+        String url = SOURCE_PATH_ROUTE.bind()
                 .set("owner", owner)
                 .set("repo", repositoryName)
                 .set("branchOrHash", branchOrHash)
@@ -325,7 +351,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
     @Override
     public String getDefaultBranch() throws IOException {
         if (!enableCache || cachedDefaultBranch == null) {
-            String url = UriTemplate.fromTemplate(REPO_URL_TEMPLATE + "/{?fields}")
+            String url = REPOSITORY_FIELDS_ROUTE.bind()
                     .set("owner", owner)
                     .set("repo", repositoryName)
                     .set("fields", "mainbranch.name")
@@ -350,7 +376,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
      */
     @Override
     public BitbucketBranch getTag(@NonNull String tagName) throws IOException {
-        String url = UriTemplate.fromTemplate(REPO_URL_TEMPLATE + "/refs/tags/{name}")
+        String url = TAG_ROUTE.bind()
             .set("owner", owner)
             .set("repo", repositoryName)
             .set("name", tagName)
@@ -372,7 +398,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
      */
     @Override
     public BitbucketCloudBranch getBranch(@NonNull String branchName) throws IOException {
-        String url = UriTemplate.fromTemplate(REPO_URL_TEMPLATE + "/refs/branches/{name}")
+        String url = BRANCH_ROUTE.bind()
             .set("owner", owner)
             .set("repo", repositoryName)
             .set("name", branchName)
@@ -390,7 +416,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
     }
 
     public List<BitbucketBranch> getBranchesByRef(String nodePath) throws IOException {
-        String url = UriTemplate.fromTemplate(REPO_URL_TEMPLATE + nodePath + "{?pagelen}")
+        String url = BitbucketRoute.of(REPO_URL_TEMPLATE + nodePath + "{?pagelen}").bind()
                 .set("owner", owner)
                 .set("repo", repositoryName)
                 .set("pagelen", MAX_PAGE_LENGTH)
@@ -407,7 +433,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
     @Override
     @CheckForNull
     public BitbucketCommit resolveCommit(@NonNull String hash) throws IOException {
-        final String url = UriTemplate.fromTemplate(REPO_URL_TEMPLATE + "/commit/{hash}")
+        final String url = COMMIT_ROUTE.bind()
             .set("owner", owner)
             .set("repo", repositoryName)
             .set("hash", hash)
@@ -452,7 +478,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
     @NonNull
     @Override
     public BitbucketCommit resolveCommit(@NonNull BitbucketPullRequest pull) throws IOException {
-        String url = UriTemplate.fromTemplate(REPO_URL_TEMPLATE + "/pullrequests/{pullId}/commits{?fields,pagelen}")
+        String url = PULL_REQUEST_COMMITS_ROUTE.bind()
                 .set("owner", owner)
                 .set("repo", repositoryName)
                 .set("pullId", pull.getId())
@@ -470,7 +496,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
      */
     @Override
     public void registerCommitWebHook(@NonNull BitbucketWebHook hook) throws IOException {
-        String url = UriTemplate.fromTemplate(REPO_URL_TEMPLATE + "/hooks")
+        String url = HOOKS_ROUTE.bind()
                 .set("owner", owner)
                 .set("repo", repositoryName)
                 .expand();
@@ -482,8 +508,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
      */
     @Override
     public void updateCommitWebHook(@NonNull BitbucketWebHook hook) throws IOException {
-        String url = UriTemplate
-                .fromTemplate(REPO_URL_TEMPLATE + "/hooks/{hook}")
+        String url = HOOK_ROUTE.bind()
                 .set("owner", owner)
                 .set("repo", repositoryName)
                 .set("hook", hook.getUuid())
@@ -499,10 +524,10 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
         if (StringUtils.isBlank(hook.getUuid())) {
             throw new BitbucketException("Hook UUID required");
         }
-        String url = UriTemplate.fromTemplate(REPO_URL_TEMPLATE + "/hooks/{uuid}")
+        String url = HOOK_ROUTE.bind()
                 .set("owner", owner)
                 .set("repo", repositoryName)
-                .set("uuid", hook.getUuid())
+                .set("hook", hook.getUuid())
                 .expand();
         deleteRequest(url);
     }
@@ -513,7 +538,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
     @NonNull
     @Override
     public List<BitbucketCloudWebhook> getWebHooks() throws IOException {
-        String url = UriTemplate.fromTemplate(REPO_URL_TEMPLATE + "/hooks{?page,pagelen}")
+        String url = HOOKS_PAGED_ROUTE.bind()
                 .set("owner", owner)
                 .set("repo", repositoryName)
                 .set("pagelen", MAX_PAGE_LENGTH)
@@ -545,7 +570,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
     @Override
     @CheckForNull
     public BitbucketTeam getTeam() throws IOException {
-        final String url = UriTemplate.fromTemplate(V2_WORKSPACES_API_BASE_URL + "{/owner}")
+        final String url = WORKSPACE_ROUTE.bind()
                 .set("owner", owner)
                 .expand();
 
@@ -613,7 +638,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
             cacheKey.append("::<anonymous>");
         }
 
-        final UriTemplate template = UriTemplate.fromTemplate(V2_API_BASE_URL + "{/owner}{?role,page,pagelen,q}")
+        final BitbucketRoute.Binding template = REPOSITORIES_ROUTE.bind()
                 .set("owner", owner)
                 .set("pagelen", MAX_PAGE_LENGTH);
         if (StringUtils.isNotBlank(projectKey)) {
@@ -691,11 +716,12 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
 
     @Override
     public Iterable<SCMFile> getDirectoryContent(final BitbucketSCMFile parent) throws IOException {
-        String url = UriTemplate.fromTemplate(REPO_URL_TEMPLATE + "/src{/branchOrHash,path}")
+        String url = SOURCE_ROUTE.bind()
                 .set("owner", owner)
                 .set("repo", repositoryName)
                 .set("branchOrHash", parent.getHash())
                 .set("path", parent.getPath())
+                .set("pagelen", MAX_PAGE_LENGTH)
                 .expand();
         List<BitbucketRepositorySource> sources = getPagedRequest(url, BitbucketRepositorySource.class);
         return sources.stream()
@@ -706,7 +732,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
 
     @Override
     public InputStream getFileContent(@NonNull BitbucketSCMFile file) throws IOException {
-        String url = UriTemplate.fromTemplate(REPO_URL_TEMPLATE + "/src{/branchOrHash,path}{?at}")
+        String url = SOURCE_AT_ROUTE.bind()
                 .set("owner", owner)
                 .set("repo", repositoryName)
                 .set("branchOrHash", file.getHash())
@@ -720,7 +746,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
     @NonNull
     @Override
     public SCMFile getFile(@NonNull BitbucketSCMFile file) throws IOException {
-        String url = UriTemplate.fromTemplate(REPO_URL_TEMPLATE + "/src{/branchOrHash,path}?format=meta")
+        String url = SOURCE_META_ROUTE.bind()
                 .set("owner", owner)
                 .set("repo", repositoryName)
                 .set("branchOrHash", file.getHash() != null ? file.getHash() : file.getRef())
@@ -733,7 +759,7 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
     @NonNull
     @Override
     public List<BitbucketCloudCommit> getCommits(@CheckForNull String fromCommit, @NonNull String toCommit) throws IOException {
-        String url = UriTemplate.fromTemplate(REPO_URL_TEMPLATE + "/commits{?include,exclude}")
+        String url = COMMITS_ROUTE.bind()
                 .set("owner", owner)
                 .set("repo", repositoryName)
                 .set("include", toCommit)
@@ -769,54 +795,15 @@ public class BitbucketCloudApiClient extends AbstractBitbucketApi implements Bit
     }
 */
     private <V> List<V> getPagedRequest(String url, Class<V> resultType) throws IOException {
+        JavaType type = PAGE_TYPES.get(resultType);
         List<V> resources = new ArrayList<>();
-        String response = getRequest(url);
-
-        ParameterizedType parameterizedType = new ParameterizedType() {
-
-            @Override
-            public Type getRawType() {
-                return BitbucketCloudPage.class;
-            }
-
-            @Override
-            public Type getOwnerType() {
-                return null;
-            }
-
-            @Override
-            public Type[] getActualTypeArguments() {
-                return new Type[] { resultType };
-            }
-        };
 
-        try {
-            TypeReference<BitbucketCloudPage<V>> type = new TypeReference<BitbucketCloudPage<V>>(){
-                @Override
-                public Type getType() {
-                    return parameterizedType;
-                }
-            };
-
-            BitbucketCloudPage<V> page = JsonParser.toJava(response, type);
+        BitbucketCloudPage<V> page = getRequestAs(url, type);
+        resources.addAll(page.getValues());
+        while (!page.isLastPage()){
+            page = getRequestAs(page.getNext(), type);
             resources.addAll(page.getValues());
-            while (!page.isLastPage()){
-                response = getRequest(page.getNext());
-                page = JsonParser.toJava(response, type);
-                resources.addAll(page.getValues());
-            }
-        } catch (JacksonException e) {
-            throw new IOException("I/O error when parsing response from URL: " + url, e);
         }
         return resources;
     }
-
-    private <V> V getRequestAs(String url, Class<V> resultType) throws IOException {
-        String response = getRequest(url);
-        try {
-            return JsonParser.toJava(response, resultType);
-        } catch (JacksonException e) {
-            throw new IOException("I/O error when parsing response from URL: " + url, e);
-        }
-    }
 }
@@ -25,11 +25,13 @@ package com.cloudbees.jenkins.plugins.bitbucket.client.branch;
 
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketBranch;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketCommit;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.util.DateDeserializers;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.util.StringInterner;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
-import java.util.Date;
 import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -50,19 +52,19 @@ public class BitbucketCloudBranch implements BitbucketBranch {
     @JsonCreator
     public BitbucketCloudBranch(@NonNull @JsonProperty("name") String name,
                                 @Nullable @JsonProperty("target") BitbucketCloudBranch.Target target) {
-        this.name = name;
+        this.name = StringInterner.intern(name);
         if (target != null) {
-            this.dateInMillis = target.date.getTime();
-            this.hash = target.hash;
-            this.author = target.author.getRaw();
+            this.dateInMillis = target.date;
+            this.hash = StringInterner.intern(target.hash);
+            this.author = StringInterner.intern(target.author.getRaw());
             this.message = target.message;
         }
     }
 
     public BitbucketCloudBranch(@NonNull String name, String hash, long dateInMillis) {
-        this.name = name;
+        this.name = StringInterner.intern(name);
         this.dateInMillis = dateInMillis;
-        this.hash = hash;
+        this.hash = StringInterner.intern(hash);
     }
 
     @Override
@@ -78,7 +80,7 @@ public class BitbucketCloudBranch implements BitbucketBranch {
     }
 
     public void setRawNode(String hash) {
-        this.hash = hash;
+        this.hash = StringInterner.intern(hash);
     }
 
     @Override
@@ -117,7 +119,7 @@ public class BitbucketCloudBranch implements BitbucketBranch {
     }
 
     public void setAuthor(String authorName) {
-        this.author = authorName;
+        this.author = StringInterner.intern(authorName);
     }
 
     @Restricted(NoExternalUse.class)
@@ -147,18 +149,18 @@ public class BitbucketCloudBranch implements BitbucketBranch {
     public static class Target {
         private final String hash;
         private final String message;
-        private final Date date;
+        private final long date;
         private final BitbucketCloudAuthor author;
 
         @JsonCreator
         public Target(@NonNull @JsonProperty("hash") String hash, //
                       @NonNull @JsonProperty("message") String message, //
-                      @NonNull @JsonProperty("date") Date date, //
+                      @JsonProperty("date") @JsonDeserialize(using = DateDeserializers.EpochMillis.class) long date, //
                       @NonNull @JsonProperty("author") BitbucketCloudAuthor author) {
             this.hash = hash;
             this.message = message;
             this.author = author;
-            this.date = (Date) date.clone();
+            this.date = date;
         }
     }
 
@@ -25,6 +25,7 @@ package com.cloudbees.jenkins.plugins.bitbucket.client.branch;
 
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketCommit;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.util.DateUtils;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.util.StringInterner;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -41,7 +42,7 @@ public class BitbucketCloudCommit implements BitbucketCommit {
 
         @JsonCreator
         public Parent(@NonNull @JsonProperty("hash") String hash) {
-            this.hash = hash;
+            this.hash = StringInterner.intern(hash);
         }
 
         public String getHash() {
@@ -53,7 +54,7 @@ public class BitbucketCloudCommit implements BitbucketCommit {
     private String hash;
     private String author;
     private String committer;
-    private Date committerDate;
+    private long committerDate;
     private List<String> parents;
 
     @JsonCreator
@@ -64,15 +65,13 @@ public class BitbucketCloudCommit implements BitbucketCommit {
                                 @Nullable @JsonProperty("committer") BitbucketCloudAuthor committer,
                                 @Nullable @JsonProperty("parents") List<Parent> parents) {
         this.message = message;
-        if (date != null) {
-            this.committerDate = DateUtils.parseISODate(date);
-        }
-        this.hash = hash;
+        this.committerDate = DateUtils.isoDateToMillis(date);
+        this.hash = StringInterner.intern(hash);
         if (author != null) {
-            this.author = author.getRaw();
+            this.author = StringInterner.intern(author.getRaw());
         }
         if (committer != null) {
-            this.committer = committer.getRaw();
+            this.committer = StringInterner.intern(committer.getRaw());
         }
         if (parents != null) {
             this.parents = parents.stream().map(Parent::getHash).toList();
@@ -94,19 +93,19 @@ public class BitbucketCloudCommit implements BitbucketCommit {
     }
 
     public void setHash(String hash) {
-        this.hash = hash;
+        this.hash = StringInterner.intern(hash);
     }
 
     @Deprecated(since = "936.1.0", forRemoval = true)
     @Override
     public String getDate() {
-        return DateUtils.formatToISO(committerDate);
+        return committerDate != 0 ? DateUtils.formatToISO(committerDate) : null;
     }
 
     @Deprecated(since = "936.1.0", forRemoval = true)
     @Override
     public long getDateMillis() {
-        return committerDate != null ? committerDate.getTime() : 0;
+        return committerDate;
     }
 
     @Override
@@ -115,7 +114,7 @@ public class BitbucketCloudCommit implements BitbucketCommit {
     }
 
     public void setAuthor(String author) {
-        this.author = author;
+        this.author = StringInterner.intern(author);
     }
 
     @Override
@@ -129,16 +128,16 @@ public class BitbucketCloudCommit implements BitbucketCommit {
     }
 
     public void setCommitter(String committer) {
-        this.committer = committer;
+        this.committer = StringInterner.intern(committer);
     }
 
     @Override
     public Date getCommitterDate() {
-        return committerDate;
+        return committerDate != 0 ? new Date(committerDate) : null;
     }
 
     public void setCommitterDate(Date committerDate) {
-        this.committerDate = committerDate;
+        this.committerDate = committerDate != null ? committerDate.getTime() : 0;
     }
 
     @Override
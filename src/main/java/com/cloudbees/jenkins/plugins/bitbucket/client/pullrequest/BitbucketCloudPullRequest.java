@@ -45,6 +45,7 @@ public class BitbucketCloudPullRequest implements BitbucketPullRequest {
     private List<BitbucketReviewer> reviewers;
 
     private boolean draft;
+    private String state;
 
     @Override
     public BitbucketCloudPullRequestRepository getSource() {
@@ -130,6 +131,20 @@ public class BitbucketCloudPullRequest implements BitbucketPullRequest {
         this.draft = draft;
     }
 
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isOpen() {
+        return state == null || "OPEN".equals(state);
+    }
+
     public static class Links {
         private Html html;
         public Links() {}
@@ -26,6 +26,7 @@ package com.cloudbees.jenkins.plugins.bitbucket.client.repository;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketHref;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketProject;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRepository;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.util.StringInterner;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
@@ -41,6 +42,7 @@ public class BitbucketCloudRepository implements BitbucketRepository {
     private String scm;
 
     @JsonProperty("full_name")
+    @JsonDeserialize(using = StringInterner.Deserializer.class)
     private String fullName;
 
     private BitbucketCloudRepositoryOwner owner;
@@ -24,6 +24,7 @@
 package com.cloudbees.jenkins.plugins.bitbucket.client.repository;
 
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRepositoryOwner;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.util.StringInterner;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class BitbucketCloudRepositoryOwner implements BitbucketRepositoryOwner {
@@ -44,7 +45,7 @@ public class BitbucketCloudRepositoryOwner implements BitbucketRepositoryOwner {
     }
 
     public void setUsername(String username) {
-        this.username = username;
+        this.username = StringInterner.intern(username);
     }
 
     public void setDisplayName(String displayName) {
@@ -27,6 +27,8 @@ import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpoint;
 import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpointProvider;
 import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookProcessor;
 import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookProcessorException;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.jfr.BitbucketWebhookEvent;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.tracing.BitbucketTracing;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
 import hudson.ExtensionList;
@@ -92,11 +94,17 @@ public class BitbucketSCMSourcePushHookReceiver extends CrumbExclusion implement
      */
     public HttpResponse doNotify(StaplerRequest2 req) throws IOException {
         WebhookProcessorListenersHandler listenersHandler = new WebhookProcessorListenersHandler();
+        BitbucketWebhookEvent event = BitbucketWebhookEvent.start();
+        int statusCode = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        // a new trace starts with each webhook, retrieves triggered by the fired events continue it
+        BitbucketTracing.Scope span = BitbucketTracing.startSpan("bitbucket.webhook", null);
 
         try {
             Map<String, String> reqHeaders = getHeaders(req);
             MultiValuedMap<String, String> reqParameters = getParameters(req);
             BitbucketWebhookProcessor hookProcessor = getHookProcessor(reqHeaders, reqParameters);
+            event.setProcessor(hookProcessor.getClass());
+            span.setAttribute("bitbucket.processor", hookProcessor.getClass().getName());
             listenersHandler.onStart(hookProcessor.getClass());
 
             String body = IOUtils.toString(req.getInputStream(), StandardCharsets.UTF_8);
@@ -119,11 +127,21 @@ public class BitbucketSCMSourcePushHookReceiver extends CrumbExclusion implement
             Map<String, Object> context = hookProcessor.buildHookContext(req);
             String eventType = hookProcessor.getEventType(Collections.unmodifiableMap(reqHeaders), MultiMapUtils.unmodifiableMultiValuedMap(reqParameters));
 
+            span.setAttribute("bitbucket.event", eventType);
+            event.beginParse(eventType);
             hookProcessor.process(eventType, body, context, endpoint);
+            event.endParse();
             listenersHandler.onProcess(eventType, body, endpoint);
+            statusCode = HttpServletResponse.SC_OK;
         } catch(BitbucketWebhookProcessorException e) {
+            statusCode = e.getHttpCode();
+            span.setError(e);
             listenersHandler.onFailure(e);
             return HttpResponses.error(e.getHttpCode(), e.getMessage());
+        } finally {
+            event.finish(statusCode);
+            span.setAttribute("http.status_code", statusCode);
+            span.close();
         }
         return HttpResponses.ok();
     }
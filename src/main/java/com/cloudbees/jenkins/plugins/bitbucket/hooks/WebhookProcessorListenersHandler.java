@@ -24,9 +24,11 @@
 package com.cloudbees.jenkins.plugins.bitbucket.hooks;
 
 import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpoint;
+import com.cloudbees.jenkins.plugins.bitbucket.api.tracing.BitbucketSpan;
 import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookProcessor;
 import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookProcessorException;
 import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookProcessorListener;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.tracing.BitbucketTracing;
 import hudson.ExtensionList;
 import hudson.triggers.SafeTimerTask;
 import hudson.util.DaemonThreadFactory;
@@ -73,19 +75,27 @@ public class WebhookProcessorListenersHandler implements BitbucketWebhookProcess
     }
 
     private void execute(Consumer<BitbucketWebhookProcessorListener> predicate) {
+        // carry the webhook trace over the executor hand-off
+        BitbucketSpan parent = BitbucketTracing.current();
         getExecutorService().submit(new SafeTimerTask() {
             @Override
             public void doRun() {
-                listeners.forEach(listener -> {
-                    String listenerName = listener.getClass().getName();
-                    logger.log(Level.FINEST, () -> "Processing listener " + listenerName);
-                    try {
-                        predicate.accept(listener);
-                        logger.log(Level.FINEST, () -> "Processing listener " + listenerName + " completed");
-                    } catch (Exception e) {
-                        logger.log(Level.SEVERE, e, () -> "Processing failed on listener " + listenerName);
-                    }
-                });
+                try (BitbucketTracing.Scope span = BitbucketTracing.startSpan("bitbucket.webhook.listeners", parent)) {
+                    notifyListeners(predicate);
+                }
+            }
+        });
+    }
+
+    private void notifyListeners(Consumer<BitbucketWebhookProcessorListener> predicate) {
+        listeners.forEach(listener -> {
+            String listenerName = listener.getClass().getName();
+            logger.log(Level.FINEST, () -> "Processing listener " + listenerName);
+            try {
+                predicate.accept(listener);
+                logger.log(Level.FINEST, () -> "Processing listener " + listenerName + " completed");
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, e, () -> "Processing failed on listener " + listenerName);
             }
         });
     }
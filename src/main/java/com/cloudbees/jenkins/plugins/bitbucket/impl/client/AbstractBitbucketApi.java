@@ -28,12 +28,21 @@ import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketAuthenticatedClient;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketAuthenticator;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketException;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRequestException;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketResponseTooLargeException;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketWebHook;
 import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpoint;
 import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpointProvider;
+import com.cloudbees.jenkins.plugins.bitbucket.api.metrics.BitbucketApiMetrics;
+import com.cloudbees.jenkins.plugins.bitbucket.api.metrics.BitbucketApiMetrics.OperationMetrics;
+import com.cloudbees.jenkins.plugins.bitbucket.api.metrics.BitbucketApiOperation;
 import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookConfiguration;
 import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookManager;
 import com.cloudbees.jenkins.plugins.bitbucket.client.ClosingConnectionInputStream;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.jfr.BitbucketApiRequestEvent;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.tracing.BitbucketTracing;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.util.JsonParser;
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.databind.JavaType;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.ExtensionList;
@@ -49,9 +58,12 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 import jenkins.model.Jenkins;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.function.IOFunction;
+import org.apache.commons.io.input.ProxyInputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hc.client5.http.auth.AuthCache;
 import org.apache.hc.client5.http.auth.AuthScope;
@@ -83,6 +95,7 @@ import org.apache.hc.core5.http.HttpHost;
 import org.apache.hc.core5.http.HttpStatus;
 import org.apache.hc.core5.http.NameValuePair;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.HttpEntityWrapper;
 import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.apache.hc.core5.util.TimeValue;
 import org.kohsuke.accmod.Restricted;
@@ -90,6 +103,13 @@ import org.kohsuke.accmod.restrictions.ProtectedExternally;
 
 @Restricted(ProtectedExternally.class)
 public abstract class AbstractBitbucketApi implements BitbucketApi, AutoCloseable {
+    /**
+     * Maximum size in bytes of a response body, a value below 1 disables the
+     * limit.
+     */
+    public static final String MAX_RESPONSE_SIZE_PROPERTY_NAME = "bitbucket.client.maxResponseSize";
+    private static final long DEFAULT_MAX_RESPONSE_SIZE = 64L * 1024 * 1024;
+
     protected final Logger logger = Logger.getLogger(this.getClass().getName());
     private final BitbucketAuthenticator authenticator;
     private HttpClientContext context;
@@ -129,6 +149,38 @@ public abstract class AbstractBitbucketApi implements BitbucketApi, AutoCloseabl
         }
     }
 
+    /*
+     * Fails fast when the declared length of the response is over the limit,
+     * otherwise the content is counted while it is read.
+     */
+    private ClassicHttpResponse limitResponseSize(HttpUriRequest request, ClassicHttpResponse response) throws IOException {
+        long limit = Long.getLong(MAX_RESPONSE_SIZE_PROPERTY_NAME, DEFAULT_MAX_RESPONSE_SIZE);
+        HttpEntity entity = response.getEntity();
+        if (limit < 1 || entity == null) {
+            return response;
+        }
+        long len = entity.getContentLength();
+        if (len < 0) {
+            len = getLenghtFromHeader(response);
+        }
+        if (len > limit) {
+            int statusCode = response.getCode();
+            // discard the connection rather than read the whole content
+            response.close();
+            throw responseTooLarge(request, statusCode, limit);
+        }
+        response.setEntity(new BoundedEntity(entity, response, limit,
+                () -> responseTooLarge(request, response.getCode(), limit)));
+        return response;
+    }
+
+    private BitbucketResponseTooLargeException responseTooLarge(HttpUriRequest request, int statusCode, long limit) {
+        String message = String.format("The response of %s exceeds the limit of %d bytes. "
+                + "The limit can be changed with the system property %s.",
+                request.getRequestUri(), limit, MAX_RESPONSE_SIZE_PROPERTY_NAME);
+        return new BitbucketResponseTooLargeException(statusCode, message, limit);
+    }
+
     private long getLenghtFromHeader(ClassicHttpResponse response) {
         long len = -1L;
         Header[] headers = response.getHeaders("Content-Length");
@@ -175,6 +227,7 @@ public abstract class AbstractBitbucketApi implements BitbucketApi, AutoCloseabl
                 .setDefaultRequestConfig(requestConfig)
                 .evictExpiredConnections()
                 .evictIdleConnections(TimeValue.ofSeconds(2))
+                .addRequestInterceptorFirst((request, entity, ctx) -> BitbucketApiRequestEvent.attempt())
                 .disableCookieManagement();
 
         if (authenticator != null) {
@@ -261,39 +314,114 @@ public abstract class AbstractBitbucketApi implements BitbucketApi, AutoCloseabl
         if (authenticator != null && targetHost.equals(requestHost)) {
             authenticator.configureRequest(request);
         }
-        return getClient().executeOpen(requestHost, request, context);
+
+        BitbucketApiOperation operation = BitbucketApiOperation.of(request.getPath());
+        OperationMetrics metrics = BitbucketApiMetrics.of(getBaseURL(), operation);
+        HttpEntity requestEntity = request.getEntity();
+        long bytesSent = requestEntity != null ? Math.max(0, requestEntity.getContentLength()) : 0;
+        metrics.addBytesSent(bytesSent);
+        BitbucketApiRequestEvent event = BitbucketApiRequestEvent.start();
+        long start = System.nanoTime();
+        ClassicHttpResponse response;
+        HttpClientContext executionContext = newExecutionContext();
+        try {
+            response = getClient().executeOpen(requestHost, request, executionContext);
+            if (executionContext != null && context.getUserToken() == null) {
+                // keep reusing the connections bound to the same principal
+                context.setUserToken(executionContext.getUserToken());
+            }
+        } catch (IOException | RuntimeException e) {
+            metrics.record(-1, System.nanoTime() - start);
+            event.finish(getBaseURL(), operation, request.getMethod(), -1, bytesSent, -1);
+            throw e;
+        }
+        metrics.record(response.getCode(), System.nanoTime() - start);
+        HttpEntity entity = response.getEntity();
+        event.finish(getBaseURL(), operation, request.getMethod(), response.getCode(), bytesSent, entity != null ? entity.getContentLength() : 0);
+        if (entity != null) {
+            response.setEntity(new MeteredEntity(entity, metrics));
+        }
+        return response;
+    }
+
+    /*
+     * The same client could be used by many threads, for example to probe
+     * heads in parallel. Each execution gets its own context that inherits
+     * the attributes, the credentials, the authentication cache and the
+     * user token of this client.
+     */
+    @CheckForNull
+    private HttpClientContext newExecutionContext() {
+        if (context == null) {
+            return null;
+        }
+        HttpClientContext executionContext = new HttpClientContext(context);
+        executionContext.setCredentialsProvider(context.getCredentialsProvider());
+        executionContext.setAuthCache(context.getAuthCache());
+        executionContext.setUserToken(context.getUserToken());
+        return executionContext;
     }
 
     private String doRequest(HttpUriRequest request) throws IOException {
-        try (ClassicHttpResponse response =  executeMethod(request)) {
-            int statusCode = response.getCode();
-            if (statusCode == HttpStatus.SC_NOT_FOUND) {
-                String errorMessage = getResponseContent(response);
-                throw new FileNotFoundException("Resource " + request.getRequestUri() + " not found: " + errorMessage);
-            }
-            if (statusCode == HttpStatus.SC_NO_CONTENT) {
-                EntityUtils.consumeQuietly(response.getEntity());
-                // 204, no content
-                return "";
-            }
-            String content = getResponseContent(response);
-            if (statusCode != HttpStatus.SC_OK && statusCode != HttpStatus.SC_CREATED) {
-                throw buildResponseException(response, content);
+        return doRequest(request, this::getResponseContent, "");
+    }
+
+    private <T> T doRequest(HttpUriRequest request, ContentReader<T> reader, T noContent) throws IOException {
+        try (BitbucketTracing.Scope span = startRequestSpan(request)) {
+            try (BitbucketRequestGovernor.Permit permit = BitbucketRequestGovernor.acquire(getBaseURL());
+                    ClassicHttpResponse response = limitResponseSize(request, executeMethod(request))) {
+                int statusCode = response.getCode();
+                span.setAttribute("http.status_code", statusCode);
+                if (statusCode == HttpStatus.SC_NOT_FOUND) {
+                    String errorMessage = getResponseContent(response);
+                    throw new FileNotFoundException("Resource " + request.getRequestUri() + " not found: " + errorMessage);
+                }
+                if (statusCode == HttpStatus.SC_NO_CONTENT) {
+                    EntityUtils.consumeQuietly(response.getEntity());
+                    // 204, no content
+                    return noContent;
+                }
+                if (statusCode != HttpStatus.SC_OK && statusCode != HttpStatus.SC_CREATED) {
+                    String content = getResponseContent(response);
+                    throw buildResponseException(response, content);
+                }
+                try {
+                    return reader.read(response);
+                } finally {
+                    EntityUtils.consumeQuietly(response.getEntity());
+                }
+            } catch (FileNotFoundException e) {
+                throw e;
+            } catch (BitbucketRequestException e) {
+                span.setError(e);
+                throw e;
+            } catch (IOException e) {
+                span.setError(e);
+                throw new IOException("Communication error, requested URL: " + request, e);
             }
-            return content;
-        } catch (FileNotFoundException | BitbucketRequestException e) {
-            throw e;
-        } catch (IOException e) {
-            throw new IOException("Communication error, requested URL: " + request, e);
         }
     }
 
+    private BitbucketTracing.Scope startRequestSpan(HttpUriRequest request) {
+        BitbucketTracing.Scope span = BitbucketTracing.startSpan("bitbucket.request");
+        span.setAttribute("http.method", request.getMethod());
+        span.setAttribute("http.path", request.getPath());
+        span.setAttribute("bitbucket.operation", BitbucketApiOperation.of(request.getPath()).getDisplayName());
+        return span;
+    }
+
     /*
      * Caller's responsible to close the InputStream.
      */
     protected InputStream getRequestAsInputStream(String path) throws IOException {
         HttpGet httpget = new HttpGet(path);
-        ClassicHttpResponse response =  executeMethod(httpget);
+        ClassicHttpResponse response;
+        // the permit and the span are held until the response is received, the content is streamed by the caller
+        try (BitbucketTracing.Scope span = startRequestSpan(httpget);
+                BitbucketRequestGovernor.Permit permit = BitbucketRequestGovernor.acquire(getBaseURL())) {
+            response = limitResponseSize(httpget, executeMethod(httpget));
+            span.setAttribute("http.status_code", response.getCode());
+        }
         int statusCode = response.getCode();
         if (statusCode == HttpStatus.SC_NOT_FOUND) {
             String errorMessage = getResponseContent(response);
@@ -309,7 +437,10 @@ public abstract class AbstractBitbucketApi implements BitbucketApi, AutoCloseabl
     protected int headRequestStatus(String path) throws IOException {
         HttpHead request = new HttpHead(path);
         request.setAbsoluteRequestUri(true);
-        try (ClassicHttpResponse response = executeMethod(request)) {
+        try (BitbucketTracing.Scope span = startRequestSpan(request);
+                BitbucketRequestGovernor.Permit permit = BitbucketRequestGovernor.acquire(getBaseURL());
+                ClassicHttpResponse response = executeMethod(request)) {
+            span.setAttribute("http.status_code", response.getCode());
             return response.getCode();
         } catch (IOException e) {
             throw new IOException("Communication error for url: " + request, e);
@@ -322,6 +453,47 @@ public abstract class AbstractBitbucketApi implements BitbucketApi, AutoCloseabl
         return doRequest(request);
     }
 
+    /**
+     * Parses the JSON content of the response while it is received, without
+     * keeping the whole body in memory.
+     *
+     * @param <V> the type of the result
+     * @param path the URL to request
+     * @param resultType the type of the result
+     * @return the parsed response, {@code null} if the response has no content.
+     * @throws IOException in case of communication or parsing errors.
+     */
+    protected <V> V getRequestAs(String path, Class<V> resultType) throws IOException {
+        return getRequestAs(path, is -> JsonParser.toJava(is, resultType));
+    }
+
+    /**
+     * Parses the JSON content of the response while it is received, without
+     * keeping the whole body in memory.
+     *
+     * @param <V> the type of the result
+     * @param path the URL to request
+     * @param resultType the type of the result, typically built once with
+     *        {@link JsonParser#parametricType(Class, Class...)}
+     * @return the parsed response, {@code null} if the response has no content.
+     * @throws IOException in case of communication or parsing errors.
+     */
+    protected <V> V getRequestAs(String path, JavaType resultType) throws IOException {
+        return getRequestAs(path, is -> JsonParser.<V>toJava(is, resultType));
+    }
+
+    private <V> V getRequestAs(String path, IOFunction<InputStream, V> parser) throws IOException {
+        HttpGet request = new HttpGet(path);
+        request.setAbsoluteRequestUri(true);
+        return doRequest(request, response -> {
+            try (InputStream is = response.getEntity().getContent()) {
+                return parser.apply(is);
+            } catch (JacksonException e) {
+                throw new IOException("I/O error when parsing response from URL: " + path, e);
+            }
+        }, null);
+    }
+
     protected String postRequest(String path, List<? extends NameValuePair> params) throws IOException {
         HttpPost request = new HttpPost(path);
         request.setEntity(new UrlEncodedFormEntity(params));
@@ -453,4 +625,66 @@ public abstract class AbstractBitbucketApi implements BitbucketApi, AutoCloseabl
             return null;
         }
     }
+
+    @FunctionalInterface
+    private interface ContentReader<T> {
+        T read(ClassicHttpResponse response) throws IOException;
+    }
+
+    private static class BoundedEntity extends HttpEntityWrapper {
+        private final ClassicHttpResponse response;
+        private final long limit;
+        private final Supplier<BitbucketResponseTooLargeException> error;
+
+        BoundedEntity(HttpEntity entity, ClassicHttpResponse response, long limit, Supplier<BitbucketResponseTooLargeException> error) {
+            super(entity);
+            this.response = response;
+            this.limit = limit;
+            this.error = error;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new ProxyInputStream(super.getContent()) {
+                private long count;
+
+                @Override
+                protected void afterRead(int n) throws IOException {
+                    if (n > 0) {
+                        count += n;
+                        if (count > limit) {
+                            BitbucketResponseTooLargeException e = error.get();
+                            // discard the connection rather than read the remaining content
+                            response.close();
+                            throw e;
+                        }
+                    }
+                }
+            };
+        }
+    }
+
+    /**
+     * Counts the bytes of the response content as they are read by the caller.
+     */
+    private static class MeteredEntity extends HttpEntityWrapper {
+        private final OperationMetrics metrics;
+
+        MeteredEntity(HttpEntity entity, OperationMetrics metrics) {
+            super(entity);
+            this.metrics = metrics;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new ProxyInputStream(super.getContent()) {
+                @Override
+                protected void afterRead(int n) {
+                    if (n > 0) {
+                        metrics.addBytesReceived(n);
+                    }
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,334 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.client;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketBranch;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Util;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jenkins.util.SystemProperties;
+
+/**
+ * An in memory copy of the branches and tags of a repository, as seen by one
+ * source with one credentials.
+ * <p>
+ * Each kind of head is seeded by a full listing, then kept current with the
+ * heads re-fetched for the webhook events. While a listing is fresh, scans
+ * and events read it from the replica instead of listing the heads again, and
+ * events that report a head at the commit already known do not re-fetch it.
+ * Once it is older than the reconciliation period the next scan lists the
+ * heads from Bitbucket and compares the checksum of the listing with the one
+ * of the replica, a difference means that events were missed.
+ * <p>
+ * Only the name, the hash and the timestamp, message and author of the head
+ * commit are kept, so that the replica does not hold on the clients that
+ * listed them. Pull requests are not replicated.
+ * <p>
+ * The replica is disabled unless the reconciliation period, in minutes, is
+ * set with the system property {@value #RECONCILE_PROPERTY_NAME}.
+ */
+public final class BitbucketHeadReplica {
+    private static final Logger LOGGER = Logger.getLogger(BitbucketHeadReplica.class.getName());
+    static final String RECONCILE_PROPERTY_NAME = "bitbucket.headReplica.reconcileMinutes";
+    private static final int MAX_REPOSITORIES = 1000;
+    @SuppressWarnings("serial")
+    private static final Map<String, BitbucketHeadReplica> REPLICAS = new LinkedHashMap<>(16, 0.75f, true) { // NOSONAR
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BitbucketHeadReplica> eldest) {
+            return size() > MAX_REPOSITORIES;
+        }
+    };
+    private static final LongAdder READS = new LongAdder();
+    private static final LongAdder LOOKUPS = new LongAdder();
+    private static final LongAdder RECONCILIATIONS = new LongAdder();
+    private static final LongAdder DRIFTS = new LongAdder();
+
+    private final Listing branches;
+    private final Listing tags;
+
+    BitbucketHeadReplica(@NonNull String name, @NonNull LongSupplier reconcileMillis) {
+        this.branches = new Listing(name + " branches", reconcileMillis);
+        this.tags = new Listing(name + " tags", reconcileMillis);
+    }
+
+    /**
+     * Returns the reconciliation period of the replicas.
+     *
+     * @return the reconciliation period in milliseconds, {@code 0} if replicas are disabled.
+     */
+    static long reconcileMillis() {
+        return TimeUnit.MINUTES.toMillis(Math.max(0L, SystemProperties.getLong(RECONCILE_PROPERTY_NAME, 0L)));
+    }
+
+    /**
+     * Returns the replica of a repository for the given source.
+     *
+     * @param serverURL the base URL of the Bitbucket endpoint.
+     * @param credentialsId the credentials used to list the heads or {@code null} if anonymous.
+     * @param repository the full name of the repository.
+     * @param sourceId the id of the source.
+     * @return the replica of the repository or {@code null} if replicas are disabled.
+     */
+    @CheckForNull
+    public static BitbucketHeadReplica of(@NonNull String serverURL, @CheckForNull String credentialsId,
+                                          @NonNull String repository, @NonNull String sourceId) {
+        if (reconcileMillis() <= 0) {
+            return null;
+        }
+        // repository names are case insensitive on both Bitbucket Cloud and Data Center
+        String key = String.join("\n", serverURL, Util.fixNull(credentialsId), repository.toLowerCase(Locale.ENGLISH), sourceId);
+        synchronized (REPLICAS) {
+            return REPLICAS.computeIfAbsent(key,
+                    k -> new BitbucketHeadReplica(serverURL + " " + repository, BitbucketHeadReplica::reconcileMillis));
+        }
+    }
+
+    /**
+     * Returns the replica of the branches.
+     *
+     * @return the replica of the branches.
+     */
+    @NonNull
+    public Listing branches() {
+        return branches;
+    }
+
+    /**
+     * Returns the replica of the tags.
+     *
+     * @return the replica of the tags.
+     */
+    @NonNull
+    public Listing tags() {
+        return tags;
+    }
+
+    /**
+     * Forgets all the replicas.
+     */
+    public static void clear() {
+        synchronized (REPLICAS) {
+            REPLICAS.clear();
+        }
+    }
+
+    /**
+     * Returns the size and the efficiency of the replicas.
+     *
+     * @return a human readable line describing the head replicas
+     */
+    public static List<String> stats() {
+        if (reconcileMillis() <= 0) {
+            return List.of("Head replicas: disabled.");
+        }
+        int size;
+        synchronized (REPLICAS) {
+            size = REPLICAS.size();
+        }
+        return List.of(String.format(Locale.ENGLISH,
+                "Head replicas: %d repositories, %d listings served, %d event heads served, %d reconciliations, %d found out of date.",
+                size, READS.sum(), LOOKUPS.sum(), RECONCILIATIONS.sum(), DRIFTS.sum()));
+    }
+
+    /**
+     * The replica of one kind of head of a repository.
+     */
+    public static final class Listing {
+        private final String name;
+        private final LongSupplier reconcileMillis;
+        /**
+         * The heads by name, in the order of the last listing.
+         */
+        private final Map<String, Ref> heads = new LinkedHashMap<>();
+        /**
+         * When the heads were last listed from Bitbucket, {@code -1} if they
+         * never were.
+         */
+        private long reconciledAt = -1L;
+
+        Listing(@NonNull String name, @NonNull LongSupplier reconcileMillis) {
+            this.name = name;
+            this.reconcileMillis = reconcileMillis;
+        }
+
+        /**
+         * Returns the heads, if they were listed from Bitbucket recently
+         * enough.
+         *
+         * @return the heads in the order they were listed or {@code null} if
+         *         they have to be listed from Bitbucket and
+         *         {@link #reconcile(Iterable) reconciled}.
+         */
+        @CheckForNull
+        public synchronized List<BitbucketBranch> get() {
+            if (reconciledAt < 0 || System.currentTimeMillis() - reconciledAt >= reconcileMillis.getAsLong()) {
+                return null;
+            }
+            READS.increment();
+            return new ArrayList<>(heads.values());
+        }
+
+        /**
+         * Returns the head with the given name, if the replica holds it at the
+         * given commit.
+         *
+         * @param name the name of the head.
+         * @param hash the full hash of the commit the head is expected at.
+         * @return the head or {@code null} if it has to be fetched from
+         *         Bitbucket.
+         */
+        @CheckForNull
+        public synchronized BitbucketBranch get(@NonNull String name, @CheckForNull String hash) {
+            // until seeded by a listing the replica is incomplete, even a head held at this commit may be stale
+            Ref head = reconciledAt < 0 || hash == null ? null : heads.get(name);
+            if (head == null || !hash.equals(head.getRawNode())) {
+                return null;
+            }
+            LOOKUPS.increment();
+            return head;
+        }
+
+        /**
+         * Replaces the heads with the ones listed from Bitbucket.
+         *
+         * @param listed all the heads of this kind.
+         * @return {@code true} if the replica was out of date.
+         */
+        public synchronized boolean reconcile(@NonNull Iterable<? extends BitbucketBranch> listed) {
+            Map<String, Ref> updated = new LinkedHashMap<>();
+            for (BitbucketBranch head : listed) {
+                if (head != null) {
+                    updated.put(head.getName(), new Ref(head));
+                }
+            }
+            boolean drift = reconciledAt >= 0 && !checksum(heads).equals(checksum(updated));
+            if (drift) {
+                DRIFTS.increment();
+                LOGGER.log(Level.FINE, "The replica of the {0} was out of date, some events were missed", name);
+            }
+            RECONCILIATIONS.increment();
+            heads.clear();
+            heads.putAll(updated);
+            reconciledAt = System.currentTimeMillis();
+            return drift;
+        }
+
+        /**
+         * Records the heads re-fetched for an event.
+         *
+         * @param updated the current state of the heads.
+         * @param removed {@code true} if the heads were removed.
+         */
+        public synchronized void update(@NonNull Iterable<? extends BitbucketBranch> updated, boolean removed) {
+            // until seeded by a listing the replica is incomplete, there is nothing to keep current
+            if (reconciledAt < 0) {
+                return;
+            }
+            for (BitbucketBranch head : updated) {
+                if (head == null) {
+                    continue;
+                }
+                if (removed) {
+                    heads.remove(head.getName());
+                } else {
+                    heads.put(head.getName(), new Ref(head));
+                }
+            }
+        }
+
+        @NonNull
+        private static String checksum(@NonNull Map<String, Ref> heads) {
+            MessageDigest digest;
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            for (Map.Entry<String, Ref> entry : new TreeMap<>(heads).entrySet()) {
+                digest.update((entry.getKey() + '\t' + entry.getValue().getRawNode() + '\n').getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+    }
+
+    /**
+     * The immutable copy of a branch or a tag.
+     */
+    private static final class Ref implements BitbucketBranch {
+        private final String name;
+        private final String hash;
+        private final long timestamp;
+        private final String message;
+        private final String author;
+
+        Ref(@NonNull BitbucketBranch head) {
+            this.name = head.getName();
+            this.hash = head.getRawNode();
+            // listings return the head commit details, reading them does not cost a request
+            this.timestamp = head.getDateMillis();
+            this.message = head.getMessage();
+            this.author = head.getAuthor();
+        }
+
+        @Override
+        public String getRawNode() {
+            return hash;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getDateMillis() {
+            return timestamp;
+        }
+
+        @Override
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String getAuthor() {
+            return author;
+        }
+    }
+}
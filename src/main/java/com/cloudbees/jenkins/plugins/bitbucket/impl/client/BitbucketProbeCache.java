@@ -0,0 +1,172 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.client;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Util;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import jenkins.scm.api.SCMFile.Type;
+
+/**
+ * Remembers the type of the paths probed in a commit, across heads and
+ * sources that use the same credentials.
+ * <p>
+ * The content of a commit never changes, so the answer to "what is this path
+ * in this commit" is cached until evicted. Heads often share a commit (a pull
+ * request and its source branch, several jobs on the same repository) and
+ * each scan asks again the same questions about the commits that did not
+ * move. Answers are not shared between credentials, a path that one
+ * credential can not see may exist for another.
+ * <p>
+ * The cache keeps the {@value #DEFAULT_MAX_ENTRIES} most recently used
+ * answers by default, the limit can be changed with the system property
+ * {@value #MAX_ENTRIES_PROPERTY_NAME}, a value lower than 1 disables the
+ * cache.
+ */
+public final class BitbucketProbeCache {
+    static final String MAX_ENTRIES_PROPERTY_NAME = "bitbucket.probeCache.maxEntries";
+    static final int DEFAULT_MAX_ENTRIES = 10000;
+    private static final BitbucketProbeCache INSTANCE =
+            new BitbucketProbeCache(Integer.getInteger(MAX_ENTRIES_PROPERTY_NAME, DEFAULT_MAX_ENTRIES));
+
+    private final int maxEntries;
+    private final Map<String, Type> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings("serial")
+    BitbucketProbeCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) { // NOSONAR
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Type> eldest) {
+                if (size() > BitbucketProbeCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the type of a path in a commit, probing it only when the answer
+     * is not cached yet.
+     *
+     * @param serverURL the base URL of the Bitbucket endpoint.
+     * @param credentialsId the credentials used to probe, {@code null} if
+     *        anonymous.
+     * @param repository the full name of the repository.
+     * @param hash the commit hash.
+     * @param path the path relative to the repository root.
+     * @param probe the remote call that returns the type of the path.
+     * @param <E> the type of exception thrown by the probe.
+     * @return the type of the path.
+     * @throws E if the remote call fails, failures are not cached.
+     */
+    @NonNull
+    public static <E extends Exception> Type getType(@NonNull String serverURL,
+                                                     @CheckForNull String credentialsId,
+                                                     @NonNull String repository,
+                                                     @NonNull String hash,
+                                                     @NonNull String path,
+                                                     @NonNull ICheckedCallable<Type, E> probe) throws E {
+        return INSTANCE.get(key(serverURL, credentialsId, repository, hash, path), probe);
+    }
+
+    @NonNull
+    <E extends Exception> Type get(@NonNull String key, @NonNull ICheckedCallable<Type, E> probe) throws E {
+        if (maxEntries < 1) {
+            return probe.call();
+        }
+        Type type = lookup(key);
+        if (type != null) {
+            hits.increment();
+            return type;
+        }
+        misses.increment();
+        // probed outside the lock, two concurrent misses just give the same answer twice
+        type = probe.call();
+        synchronized (entries) {
+            entries.put(key, type);
+        }
+        return type;
+    }
+
+    @CheckForNull
+    private Type lookup(@NonNull String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    @NonNull
+    static String key(@NonNull String serverURL,
+                      @CheckForNull String credentialsId,
+                      @NonNull String repository,
+                      @NonNull String hash,
+                      @NonNull String path) {
+        // repository names are case insensitive on both Bitbucket Cloud and Data Center
+        return serverURL + '\n' + Util.fixNull(credentialsId) + '\n' + repository.toLowerCase(Locale.ENGLISH) + '\n' + hash + '\n' + path;
+    }
+
+    /**
+     * Removes all cached answers.
+     */
+    public static void clear() {
+        synchronized (INSTANCE.entries) {
+            INSTANCE.entries.clear();
+        }
+    }
+
+    /**
+     * Returns the size and the efficiency of the cache.
+     *
+     * @return a human readable line describing the probe cache
+     */
+    public static List<String> stats() {
+        return List.of(INSTANCE.stat());
+    }
+
+    @NonNull
+    String stat() {
+        if (maxEntries < 1) {
+            return "Probes: cache disabled.";
+        }
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return String.format(Locale.ENGLISH, "Probes: %d/%d entries, %d hits out of %d lookups (%d%%), %d evictions.",
+                size, maxEntries, hitCount, total, total == 0 ? 0 : hitCount * 100 / total, evictions.sum());
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.client;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps the number of requests of one {@link BitbucketWorkloadClass} in flight
+ * to a Bitbucket endpoint across all the clients of this Jenkins instance.
+ * <p>
+ * Requests over the cap wait in a queue per
+ * {@link BitbucketWorkloadClass#currentOwner() owner} and the queues are
+ * served round robin, so that the indexing of a huge folder does not starve
+ * the others. {@link BitbucketWorkloadClass#INTERACTIVE Interactive} requests
+ * are neither queued nor counted against the cap, they are already bound by
+ * their share of the connection pool.
+ * <p>
+ * The system property {@value #MAX_IN_FLIGHT_PROPERTY_NAME}, that defaults to
+ * the number of connections per route, is split between the workload classes
+ * like the connection pool, so that a class never has more requests in flight
+ * than connections reserved to it. A value lower than 1 disables the governor.
+ */
+public final class BitbucketRequestGovernor {
+    static final String MAX_IN_FLIGHT_PROPERTY_NAME = "bitbucket.client.maxConcurrentRequests";
+    private static final Permit NO_PERMIT = () -> {};
+    private static final Map<String, BitbucketRequestGovernor> governors = new ConcurrentHashMap<>();
+
+    private final String endpoint;
+    private final int maxInFlight;
+    // owner -> waiters, the first owner is the next to be served
+    private final LinkedHashMap<String, Deque<Waiter>> queues = new LinkedHashMap<>();
+    private int inFlight;
+    private int interactive;
+    private int queued;
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0L);
+
+    BitbucketRequestGovernor(@NonNull String endpoint, int maxInFlight) {
+        this.endpoint = endpoint;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Waits until a request to the given endpoint can be sent.
+     *
+     * @param endpoint the base URL of the endpoint
+     * @return the permit to close once the request has completed.
+     * @throws InterruptedIOException if the thread was interrupted while
+     *         waiting in the queue.
+     */
+    @NonNull
+    public static Permit acquire(@NonNull String endpoint) throws InterruptedIOException {
+        BitbucketWorkloadClass workload = BitbucketWorkloadClass.current();
+        int maxInFlight = maxInFlight(workload);
+        if (maxInFlight < 1) {
+            return NO_PERMIT;
+        }
+        String key = endpoint + " (" + workload.name().toLowerCase(Locale.ENGLISH) + ")";
+        return governors.computeIfAbsent(key, k -> new BitbucketRequestGovernor(k, maxInFlight))
+                .acquire(workload, BitbucketWorkloadClass.currentOwner());
+    }
+
+    /**
+     * Returns the cap of requests in flight for the given workload class.
+     *
+     * @param workload the workload class
+     * @return the reserved share of the configured cap, 0 if the governor is
+     *         disabled.
+     */
+    static int maxInFlight(@NonNull BitbucketWorkloadClass workload) {
+        int maxInFlight = Integer.getInteger(MAX_IN_FLIGHT_PROPERTY_NAME, BitbucketWorkloadConnectionManager.DEFAULT_MAX_CONN_PER_ROUTE);
+        return maxInFlight < 1 ? 0 : workload.reservedCapacity(maxInFlight);
+    }
+
+    @NonNull
+    Permit acquire(@NonNull BitbucketWorkloadClass workload, @CheckForNull String owner) throws InterruptedIOException {
+        Waiter waiter;
+        synchronized (this) {
+            if (workload == BitbucketWorkloadClass.INTERACTIVE) {
+                interactive++;
+                return this::releaseInteractive;
+            }
+            if (inFlight < maxInFlight && queued == 0) {
+                inFlight++;
+                return this::release;
+            }
+            waiter = new Waiter();
+            queues.computeIfAbsent(owner == null ? "" : owner, key -> new ArrayDeque<>()).add(waiter);
+            queued++;
+        }
+        long start = System.nanoTime();
+        try {
+            synchronized (this) {
+                while (!waiter.granted) {
+                    wait();
+                }
+            }
+        } catch (InterruptedException e) {
+            synchronized (this) {
+                if (waiter.granted) {
+                    release();
+                } else {
+                    dequeue(waiter);
+                }
+            }
+            Thread.currentThread().interrupt();
+            throw (InterruptedIOException) new InterruptedIOException("Interrupted while waiting to send a request to " + endpoint).initCause(e);
+        }
+        long waitNanos = System.nanoTime() - start;
+        waits.increment();
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulate(waitNanos);
+        return this::release;
+    }
+
+    private synchronized void release() {
+        Iterator<Map.Entry<String, Deque<Waiter>>> owners = queues.entrySet().iterator();
+        if (!owners.hasNext()) {
+            inFlight--;
+            return;
+        }
+        Map.Entry<String, Deque<Waiter>> next = owners.next();
+        Waiter waiter = next.getValue().poll();
+        owners.remove();
+        if (!next.getValue().isEmpty()) {
+            // move the owner at the end of the round
+            queues.put(next.getKey(), next.getValue());
+        }
+        queued--;
+        // the permit passes to the waiter, in flight count does not change
+        waiter.granted = true;
+        notifyAll();
+    }
+
+    private synchronized void releaseInteractive() {
+        interactive--;
+    }
+
+    private void dequeue(Waiter waiter) {
+        Iterator<Deque<Waiter>> owners = queues.values().iterator();
+        while (owners.hasNext()) {
+            Deque<Waiter> waiters = owners.next();
+            if (waiters.remove(waiter)) {
+                queued--;
+                if (waiters.isEmpty()) {
+                    owners.remove();
+                }
+                return;
+            }
+        }
+    }
+
+    synchronized String stat() {
+        long count = waits.sum();
+        return String.format("Requests %s: %d in flight (max %d), %d queued for %d owners, %d waited avg %d ms max %d ms, %d interactive",
+                endpoint, inFlight, maxInFlight, queued, queues.size(), count,
+                count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum() / count),
+                TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()), interactive);
+    }
+
+    /**
+     * Returns the queue depth and the wait time of each endpoint.
+     *
+     * @return a human readable line for each endpoint
+     */
+    public static List<String> stats() {
+        List<String> stats = new ArrayList<>();
+        governors.values().forEach(governor -> stats.add(governor.stat()));
+        if (stats.isEmpty()) {
+            stats.add("Requests: No entry.");
+        }
+        return stats;
+    }
+
+    /**
+     * The right to have one request in flight, to be closed when the request
+     * has completed.
+     */
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class Waiter {
+        private boolean granted;
+    }
+}
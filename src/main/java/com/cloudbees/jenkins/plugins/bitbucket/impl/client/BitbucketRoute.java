@@ -0,0 +1,140 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.client;
+
+import com.damnhandy.uri.template.UriTemplate;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * A REST API route whose URI template is parsed only once.
+ * <p>
+ * Routes are declared as constants of the clients and bound to the variables
+ * of each call:
+ * <pre>
+ * String url = REPOSITORY_ROUTE.bind(baseURL)
+ *         .set("owner", owner)
+ *         .set("repo", repositoryName)
+ *         .expand();
+ * </pre>
+ * A {@link UriTemplate} keeps the values it expands, the parsed template is
+ * therefore shared between the bindings but each binding holds its own values.
+ */
+@Restricted(NoExternalUse.class)
+public final class BitbucketRoute {
+
+    private static final Map<String, BitbucketRoute> routes = new ConcurrentHashMap<>();
+
+    private final UriTemplate template;
+
+    private BitbucketRoute(String template) {
+        this.template = UriTemplate.fromTemplate(template);
+    }
+
+    /**
+     * Returns the route of the given URI template.
+     *
+     * @param template the URI template, relative to the base URL of the
+     *        endpoint or absolute
+     * @return the route, parsed at the first call for a template.
+     */
+    @NonNull
+    public static BitbucketRoute of(@NonNull String template) {
+        return routes.computeIfAbsent(template, BitbucketRoute::new);
+    }
+
+    /**
+     * Starts the expansion of this route.
+     *
+     * @return a binding of the route variables.
+     */
+    @NonNull
+    public Binding bind() {
+        return new Binding(this, null);
+    }
+
+    /**
+     * Starts the expansion of this route relative to the given URL.
+     *
+     * @param baseURL prepended to the expanded template
+     * @return a binding of the route variables.
+     */
+    @NonNull
+    public Binding bind(@CheckForNull String baseURL) {
+        return new Binding(this, baseURL);
+    }
+
+    public String getTemplate() {
+        return template.getTemplate();
+    }
+
+    private String expand(Map<String, Object> values) {
+        synchronized (template) {
+            return template.expand(values);
+        }
+    }
+
+    /**
+     * The values of the variables of a route for one request.
+     */
+    public static final class Binding {
+        private final BitbucketRoute route;
+        private final String baseURL;
+        private final Map<String, Object> values = new HashMap<>();
+
+        private Binding(BitbucketRoute route, String baseURL) {
+            this.route = route;
+            this.baseURL = baseURL;
+        }
+
+        /**
+         * Sets the value of a variable.
+         *
+         * @param name of the variable
+         * @param value of the variable, {@code null} to leave it undefined
+         * @return this binding.
+         */
+        @NonNull
+        public Binding set(@NonNull String name, @CheckForNull Object value) {
+            values.put(name, value);
+            return this;
+        }
+
+        /**
+         * Expands the route with the current values.
+         *
+         * @return the URL.
+         */
+        @NonNull
+        public String expand() {
+            String path = route.expand(values);
+            return baseURL == null ? path : baseURL.concat(path);
+        }
+    }
+}
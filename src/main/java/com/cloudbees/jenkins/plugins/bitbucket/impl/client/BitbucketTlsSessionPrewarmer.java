@@ -0,0 +1,94 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.client;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpoint;
+import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpointProvider;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.util.BitbucketApiUtils;
+import hudson.Extension;
+import hudson.ProxyConfiguration;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.TaskListener;
+import java.io.IOException;
+import java.net.Proxy;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+import org.apache.hc.core5.http.HttpHost;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Periodically performs a TLS handshake against each configured endpoint so
+ * that API clients can resume the cached TLS session instead of paying a full
+ * handshake when a burst of requests comes in (for example after a webhook).
+ * <p>
+ * This is disabled by default and can be enabled with the system property
+ * {@value #PREWARM_PROPERTY_NAME}.
+ */
+@Extension
+@Restricted(NoExternalUse.class)
+public class BitbucketTlsSessionPrewarmer extends AsyncPeriodicWork {
+    static final String PREWARM_PROPERTY_NAME = "bitbucket.client.tls.prewarm";
+    static final String PREWARM_INTERVAL_PROPERTY_NAME = "bitbucket.client.tls.prewarm.interval";
+    private static final String CLOUD_API_URL = "https://api.bitbucket.org";
+
+    public BitbucketTlsSessionPrewarmer() {
+        super("Bitbucket TLS session pre-warming");
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return TimeUnit.MINUTES.toMillis(Math.max(1, SystemProperties.getInteger(PREWARM_INTERVAL_PROPERTY_NAME, 4)));
+    }
+
+    @Override
+    protected void execute(TaskListener listener) throws IOException, InterruptedException {
+        if (!SystemProperties.getBoolean(PREWARM_PROPERTY_NAME, false)) {
+            return;
+        }
+        int connectTimeout = (int) TimeUnit.SECONDS.toMillis(Integer.getInteger("http.connect.timeout", 10));
+        for (BitbucketEndpoint endpoint : BitbucketEndpointProvider.all()) {
+            String serverURL = BitbucketApiUtils.isCloud(endpoint.getServerURL()) ? CLOUD_API_URL : endpoint.getServerURL();
+            HttpHost host = BitbucketApiUtils.toHttpHost(serverURL);
+            if (!"https".equalsIgnoreCase(host.getSchemeName()) || isProxied(host)) {
+                continue;
+            }
+            int port = host.getPort() > 0 ? host.getPort() : 443;
+            try {
+                BitbucketTlsSocketStrategy.prewarm(host.getHostName(), port, connectTimeout);
+            } catch (IOException e) {
+                logger.log(Level.FINE, e, () -> "Failed to pre-warm TLS session for " + serverURL);
+            }
+        }
+    }
+
+    private boolean isProxied(HttpHost host) {
+        Jenkins jenkins = Jenkins.getInstanceOrNull();
+        ProxyConfiguration proxyConfig = jenkins != null ? jenkins.proxy : null;
+        return proxyConfig != null && proxyConfig.createProxy(host.getHostName()).type() != Proxy.Type.DIRECT;
+    }
+
+}
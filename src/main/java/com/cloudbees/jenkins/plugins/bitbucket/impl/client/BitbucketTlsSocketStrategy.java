@@ -23,10 +23,23 @@
  */
 package com.cloudbees.jenkins.plugins.bitbucket.impl.client;
 
+import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
 import javax.net.ssl.SSLSocket;
 import org.apache.hc.client5.http.ssl.DefaultClientTlsStrategy;
 import org.apache.hc.client5.http.ssl.TlsSocketStrategy;
@@ -38,29 +51,157 @@ import org.apache.hc.core5.http.protocol.HttpContext;
  * Custom implementation of a TlsSocketStrategu to replicate what
  * {@code org.apache.http.impl.conn.DefaultHttpClientConnectionOperator#getSocketFactoryRegistry(HttpContext)}
  * did in Apache Client HTTP 4 implementation.
+ * <p>
+ * A {@link TlsSocketStrategy} set on the context is reused as is, so callers
+ * that keep the same strategy let the JSSE session cache of its context resume
+ * TLS sessions instead of performing a full handshake for each new connection. Handshake counts and durations are
+ * collected per target and are available through {@link #stats()}.
  */
 @Contract(threading = ThreadingBehavior.SAFE)
 public class BitbucketTlsSocketStrategy implements TlsSocketStrategy {
     public static final String SOCKET_FACTORY_REGISTRY = "http.socket-factory-registry";
 
-    private TlsSocketStrategy defaultStrategy;
+    private static final Map<String, HandshakeStat> handshakeStats = new ConcurrentHashMap<>();
+
+    // strategies are held strongly by whoever set them on the context, this only tracks them for prewarming
+    private static final Map<String, Set<TlsSocketStrategy>> strategiesByTarget = new ConcurrentHashMap<>();
+
+    private static volatile DefaultStrategy defaultStrategy;
 
     @Override
     public SSLSocket upgrade(Socket socket, String target, int port, Object attachment, HttpContext context) throws IOException {
-        TlsSocketStrategy strategy = defaultStrategy;
-
-        Object value = context.getAttribute(SOCKET_FACTORY_REGISTRY);
-        if (value instanceof SSLContext sslContext) {
+        TlsSocketStrategy strategy;
+        Object value = context != null ? context.getAttribute(SOCKET_FACTORY_REGISTRY) : null;
+        if (value instanceof TlsSocketStrategy customStrategy) {
+            strategy = customStrategy;
+        } else if (value instanceof SSLContext sslContext) {
             strategy = new DefaultClientTlsStrategy(sslContext);
-        } else if (defaultStrategy == null) {
-            try {
-                strategy = new DefaultClientTlsStrategy(SSLContext.getDefault());
-            } catch (NoSuchAlgorithmException e) {
-                throw new IOException(e);
+        } else {
+            strategy = defaultStrategy();
+        }
+        strategiesByTarget.computeIfAbsent(toTarget(target, port), k -> Collections.newSetFromMap(Collections.synchronizedMap(new WeakHashMap<>())))
+                .add(strategy);
+        return upgrade(strategy, socket, target, port, attachment, context);
+    }
+
+    private static SSLSocket upgrade(TlsSocketStrategy strategy, Socket socket, String target, int port, Object attachment, HttpContext context) throws IOException {
+        long startMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        SSLSocket sslSocket = strategy.upgrade(socket, target, port, attachment, context);
+        long duration = System.nanoTime() - start;
+
+        SSLSession session = sslSocket.getSession();
+        // a resumed session was created by a previous handshake
+        boolean resumed = session != null && session.getCreationTime() < startMillis;
+        handshakeStats.computeIfAbsent(toTarget(target, port), k -> new HandshakeStat()).record(resumed, duration);
+        return sslSocket;
+    }
+
+    /**
+     * Returns the strategy for the JVM default {@link SSLContext}, created
+     * again only when the default context is replaced.
+     */
+    @NonNull
+    static TlsSocketStrategy defaultStrategy() throws IOException {
+        SSLContext sslContext;
+        try {
+            sslContext = SSLContext.getDefault();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        DefaultStrategy current = defaultStrategy;
+        if (current == null || current.sslContext != sslContext) {
+            current = new DefaultStrategy(sslContext, new DefaultClientTlsStrategy(sslContext));
+            defaultStrategy = current;
+        }
+        return current.strategy;
+    }
+
+    /**
+     * Performs a TLS handshake against the given target for each
+     * strategy used so far to connect to it, so that subsequent
+     * connections can resume the cached session.
+     *
+     * @param target host name
+     * @param port server port
+     * @param connectTimeout timeout in milliseconds to open the socket
+     * @throws IOException in case of connection or handshake failure
+     */
+    static void prewarm(@NonNull String target, int port, int connectTimeout) throws IOException {
+        List<TlsSocketStrategy> strategies;
+        Set<TlsSocketStrategy> known = strategiesByTarget.get(toTarget(target, port));
+        if (known == null || known.isEmpty()) {
+            strategies = List.of(defaultStrategy());
+        } else {
+            synchronized (known) {
+                strategies = new ArrayList<>(known);
+            }
+        }
+        for (TlsSocketStrategy strategy : strategies) {
+            handshake(new Socket(), strategy, target, port, connectTimeout);
+        }
+    }
+
+    static void handshake(@NonNull Socket socket, @NonNull TlsSocketStrategy strategy, @NonNull String target, int port, int connectTimeout) throws IOException {
+        try (socket) {
+            socket.connect(new InetSocketAddress(target, port), connectTimeout);
+            try (SSLSocket sslSocket = upgrade(strategy, socket, target, port, null, null)) {
+                sslSocket.getSession();
             }
-            defaultStrategy = strategy;
         }
-        return strategy.upgrade(socket, target, port, attachment, context);
+    }
+
+    private static String toTarget(String target, int port) {
+        return target + ":" + port;
+    }
+
+    public static List<String> stats() {
+        List<String> stats = new ArrayList<>();
+        handshakeStats.forEach((target, stat) -> stats.add("TLS handshakes " + target + ": " + stat));
+        if (stats.isEmpty()) {
+            stats.add("TLS handshakes: No entry.");
+        }
+        return stats;
+    }
+
+    public static void clearStats() {
+        handshakeStats.clear();
+    }
+
+    private static class DefaultStrategy {
+        private final SSLContext sslContext;
+        private final TlsSocketStrategy strategy;
+
+        DefaultStrategy(SSLContext sslContext, TlsSocketStrategy strategy) {
+            this.sslContext = sslContext;
+            this.strategy = strategy;
+        }
+    }
+
+    private static class HandshakeStat {
+        private final LongAdder full = new LongAdder();
+        private final LongAdder resumed = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+
+        void record(boolean isResumed, long nanos) {
+            if (isResumed) {
+                resumed.increment();
+            } else {
+                full.increment();
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        @Override
+        public String toString() {
+            long count = full.sum() + resumed.sum();
+            long avg = count > 0 ? totalNanos.sum() / count : 0;
+            return String.format("%d full, %d resumed, avg %d ms, max %d ms",
+                    full.sum(), resumed.sum(),
+                    TimeUnit.NANOSECONDS.toMillis(avg), TimeUnit.NANOSECONDS.toMillis(maxNanos.get()));
+        }
     }
 
 }
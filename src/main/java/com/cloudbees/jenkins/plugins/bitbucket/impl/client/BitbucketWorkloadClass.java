@@ -0,0 +1,148 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.client;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * The class of workload a request to Bitbucket belongs to.
+ * <p>
+ * Each class owns a reserved share of the HTTP connection pool so that, for
+ * example, build status notifications are not queued behind the branch
+ * listings of a large organisation scan. Classes are declared by priority: a
+ * class that has exhausted its own share may borrow idle connections from the
+ * classes that follow it, never from the ones that precede it.
+ * <p>
+ * The class is selected by the caller for the current thread:
+ * <pre>
+ * try (BitbucketWorkloadClass.Scope workload = BitbucketWorkloadClass.SCAN.enter()) {
+ *     // all requests made here use the bulk scan share of the pool
+ * }
+ * </pre>
+ * Requests made outside of any scope are considered {@link #INTERACTIVE}.
+ */
+public enum BitbucketWorkloadClass {
+    /**
+     * User interface requests and build status notifications.
+     */
+    INTERACTIVE(20),
+    /**
+     * Retrieves triggered by a webhook event.
+     */
+    EVENT(30),
+    /**
+     * Periodic full scans of repositories and organisations.
+     */
+    SCAN(50);
+
+    private static final ThreadLocal<BitbucketWorkloadClass> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<String> OWNER = new ThreadLocal<>();
+
+    private final int share;
+
+    BitbucketWorkloadClass(int share) {
+        this.share = share;
+    }
+
+    /**
+     * Returns the workload class selected for the current thread.
+     *
+     * @return the current workload class, {@link #INTERACTIVE} if none was
+     *         selected.
+     */
+    @NonNull
+    public static BitbucketWorkloadClass current() {
+        BitbucketWorkloadClass workload = CURRENT.get();
+        return workload == null ? INTERACTIVE : workload;
+    }
+
+    /**
+     * Returns the name of the item on whose behalf the current thread is
+     * performing requests.
+     *
+     * @return the owner full name, {@code null} if none was selected.
+     */
+    @CheckForNull
+    public static String currentOwner() {
+        return OWNER.get();
+    }
+
+    /**
+     * Selects this workload class for the current thread until the returned
+     * scope is closed, keeping the current owner.
+     *
+     * @return the scope to close to restore the previous workload class.
+     */
+    @NonNull
+    public Scope enter() {
+        return enter(OWNER.get());
+    }
+
+    /**
+     * Selects this workload class and the owner of the requests for the
+     * current thread until the returned scope is closed.
+     *
+     * @param owner the full name of the item the requests are made for
+     * @return the scope to close to restore the previous selection.
+     */
+    @NonNull
+    public Scope enter(@CheckForNull String owner) {
+        BitbucketWorkloadClass previous = CURRENT.get();
+        String previousOwner = OWNER.get();
+        CURRENT.set(this);
+        set(OWNER, owner);
+        return () -> {
+            set(CURRENT, previous);
+            set(OWNER, previousOwner);
+        };
+    }
+
+    private static <T> void set(ThreadLocal<T> local, T value) {
+        if (value == null) {
+            local.remove();
+        } else {
+            local.set(value);
+        }
+    }
+
+    /**
+     * Returns the number of connections reserved to this class out of the
+     * given capacity.
+     *
+     * @param capacity the whole pool capacity
+     * @return the reserved capacity, at least one connection.
+     */
+    int reservedCapacity(int capacity) {
+        return Math.max(1, Math.round(capacity * share / 100f));
+    }
+
+    /**
+     * A workload class selection that ends when closed.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
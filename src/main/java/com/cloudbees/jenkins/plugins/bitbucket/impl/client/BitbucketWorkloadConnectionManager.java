@@ -0,0 +1,261 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.client;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.annotation.Contract;
+import org.apache.hc.core5.annotation.ThreadingBehavior;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * A connection manager that partitions the connections in one pool for each
+ * {@link BitbucketWorkloadClass}.
+ * <p>
+ * Every class gets its reserved share of the configured capacity. When the
+ * pool of the {@link BitbucketWorkloadClass#current() current} class is
+ * exhausted for a route, the connection is leased from the first lower
+ * priority pool that still has room, otherwise the request waits on its own
+ * pool.
+ */
+@Contract(threading = ThreadingBehavior.SAFE)
+public class BitbucketWorkloadConnectionManager implements HttpClientConnectionManager, ConnPoolControl<HttpRoute> {
+    /**
+     * The default number of connections per route shared by all classes,
+     * sized so that the {@link BitbucketWorkloadClass#SCAN scan} share alone
+     * matches the 20 connections per route of a single pool.
+     */
+    public static final int DEFAULT_MAX_CONN_PER_ROUTE = 40;
+
+    private final Map<BitbucketWorkloadClass, PoolingHttpClientConnectionManager> pools = new EnumMap<>(BitbucketWorkloadClass.class);
+    private final Map<BitbucketWorkloadClass, LongAdder> borrowed = new EnumMap<>(BitbucketWorkloadClass.class);
+    private final Map<ConnectionEndpoint, PoolingHttpClientConnectionManager> leased = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the pools of all workload classes.
+     *
+     * @param builder the builder configured with everything but the capacity
+     * @param maxConnPerRoute the maximum number of connections per route
+     *        shared by all classes
+     * @param maxConnTotal the maximum number of connections shared by all
+     *        classes
+     */
+    public BitbucketWorkloadConnectionManager(@NonNull PoolingHttpClientConnectionManagerBuilder builder, int maxConnPerRoute, int maxConnTotal) {
+        for (BitbucketWorkloadClass workload : BitbucketWorkloadClass.values()) {
+            pools.put(workload, builder
+                    .setMaxConnPerRoute(workload.reservedCapacity(maxConnPerRoute))
+                    .setMaxConnTotal(workload.reservedCapacity(maxConnTotal))
+                    .build());
+            borrowed.put(workload, new LongAdder());
+        }
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        PoolingHttpClientConnectionManager pool = select(BitbucketWorkloadClass.current(), route);
+        LeaseRequest request = pool.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout) throws InterruptedException, ExecutionException, TimeoutException {
+                ConnectionEndpoint endpoint = request.get(timeout);
+                leased.put(endpoint, pool);
+                return endpoint;
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+    private PoolingHttpClientConnectionManager select(BitbucketWorkloadClass workload, HttpRoute route) {
+        PoolingHttpClientConnectionManager own = pools.get(workload);
+        if (hasCapacity(own, route)) {
+            return own;
+        }
+        BitbucketWorkloadClass[] workloads = BitbucketWorkloadClass.values();
+        for (int i = workload.ordinal() + 1; i < workloads.length; i++) {
+            PoolingHttpClientConnectionManager pool = pools.get(workloads[i]);
+            if (hasCapacity(pool, route)) {
+                borrowed.get(workload).increment();
+                return pool;
+            }
+        }
+        return own;
+    }
+
+    private static boolean hasCapacity(PoolingHttpClientConnectionManager pool, HttpRoute route) {
+        PoolStats routeStats = pool.getStats(route);
+        PoolStats totalStats = pool.getTotalStats();
+        return routeStats.getLeased() + routeStats.getPending() < routeStats.getMax()
+                && totalStats.getLeased() + totalStats.getPending() < totalStats.getMax();
+    }
+
+    @Override
+    public void release(ConnectionEndpoint endpoint, Object newState, TimeValue validDuration) {
+        PoolingHttpClientConnectionManager pool = leased.remove(endpoint);
+        if (pool == null) {
+            throw new IllegalStateException("Endpoint " + endpoint + " has not been leased by this connection manager");
+        }
+        pool.release(endpoint, newState, validDuration);
+    }
+
+    @Override
+    public void connect(ConnectionEndpoint endpoint, TimeValue connectTimeout, HttpContext context) throws IOException {
+        owner(endpoint).connect(endpoint, connectTimeout, context);
+    }
+
+    @Override
+    public void upgrade(ConnectionEndpoint endpoint, HttpContext context) throws IOException {
+        owner(endpoint).upgrade(endpoint, context);
+    }
+
+    private PoolingHttpClientConnectionManager owner(ConnectionEndpoint endpoint) {
+        PoolingHttpClientConnectionManager pool = leased.get(endpoint);
+        if (pool == null) {
+            throw new IllegalStateException("Endpoint " + endpoint + " has not been leased by this connection manager");
+        }
+        return pool;
+    }
+
+    @Override
+    public void close() {
+        close(CloseMode.GRACEFUL);
+    }
+
+    @Override
+    public void close(CloseMode closeMode) {
+        pools.values().forEach(pool -> pool.close(closeMode));
+    }
+
+    @Override
+    public void setMaxTotal(int max) {
+        pools.forEach((workload, pool) -> pool.setMaxTotal(workload.reservedCapacity(max)));
+    }
+
+    @Override
+    public int getMaxTotal() {
+        return pools.values().stream().mapToInt(PoolingHttpClientConnectionManager::getMaxTotal).sum();
+    }
+
+    @Override
+    public void setDefaultMaxPerRoute(int max) {
+        pools.forEach((workload, pool) -> pool.setDefaultMaxPerRoute(workload.reservedCapacity(max)));
+    }
+
+    @Override
+    public int getDefaultMaxPerRoute() {
+        return pools.values().stream().mapToInt(PoolingHttpClientConnectionManager::getDefaultMaxPerRoute).sum();
+    }
+
+    @Override
+    public void setMaxPerRoute(HttpRoute route, int max) {
+        pools.forEach((workload, pool) -> pool.setMaxPerRoute(route, workload.reservedCapacity(max)));
+    }
+
+    @Override
+    public int getMaxPerRoute(HttpRoute route) {
+        return pools.values().stream().mapToInt(pool -> pool.getMaxPerRoute(route)).sum();
+    }
+
+    @Override
+    public void closeIdle(TimeValue idleTime) {
+        pools.values().forEach(pool -> pool.closeIdle(idleTime));
+    }
+
+    @Override
+    public void closeExpired() {
+        pools.values().forEach(PoolingHttpClientConnectionManager::closeExpired);
+    }
+
+    @Override
+    public Set<HttpRoute> getRoutes() {
+        Set<HttpRoute> routes = new HashSet<>();
+        pools.values().forEach(pool -> routes.addAll(pool.getRoutes()));
+        return routes;
+    }
+
+    @Override
+    public PoolStats getTotalStats() {
+        return sum(pools.values().stream().map(PoolingHttpClientConnectionManager::getTotalStats).toList());
+    }
+
+    @Override
+    public PoolStats getStats(HttpRoute route) {
+        return sum(pools.values().stream().map(pool -> pool.getStats(route)).toList());
+    }
+
+    private static PoolStats sum(List<PoolStats> stats) {
+        int leasedCount = 0;
+        int pending = 0;
+        int available = 0;
+        int max = 0;
+        for (PoolStats stat : stats) {
+            leasedCount += stat.getLeased();
+            pending += stat.getPending();
+            available += stat.getAvailable();
+            max += stat.getMax();
+        }
+        return new PoolStats(leasedCount, pending, available, max);
+    }
+
+    /**
+     * Returns the usage of the pool of each workload class.
+     *
+     * @return a human readable line for each workload class
+     */
+    public List<String> stats() {
+        List<String> stats = new ArrayList<>();
+        pools.forEach((workload, pool) -> {
+            PoolStats total = pool.getTotalStats();
+            stats.add(String.format("Connections %s: %d leased, %d pending, %d available, %d max, %d borrowed from lower priority",
+                    workload.name().toLowerCase(Locale.ENGLISH), total.getLeased(), total.getPending(), total.getAvailable(), total.getMax(),
+                    borrowed.get(workload).sum()));
+        });
+        return stats;
+    }
+}
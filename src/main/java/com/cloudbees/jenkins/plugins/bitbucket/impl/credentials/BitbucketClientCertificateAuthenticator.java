@@ -26,6 +26,7 @@ package com.cloudbees.jenkins.plugins.bitbucket.impl.credentials;
 
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketAuthenticator;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketException;
+import com.cloudbees.jenkins.plugins.bitbucket.client.Cache;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketTlsSocketStrategy;
 import com.cloudbees.plugins.credentials.common.StandardCertificateCredentials;
 import hudson.util.Secret;
@@ -34,8 +35,16 @@ import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.UnrecoverableKeyException;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateEncodingException;
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLContext;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.ssl.DefaultClientTlsStrategy;
+import org.apache.hc.client5.http.ssl.TlsSocketStrategy;
 import org.apache.hc.core5.http.HttpHost;
 import org.apache.hc.core5.ssl.SSLContextBuilder;
 import org.apache.hc.core5.ssl.SSLContexts;
@@ -44,6 +53,13 @@ import org.apache.hc.core5.ssl.SSLContexts;
  * Authenticates against Bitbucket using a TLS client certificate
  */
 public class BitbucketClientCertificateAuthenticator implements BitbucketAuthenticator {
+    /**
+     * TLS strategies, and so their SSL contexts, are shared between clients
+     * built with the same certificate so that TLS sessions cached by the
+     * context can be resumed.
+     */
+    private static final Cache<String, TlsSocketStrategy> cachedStrategies = new Cache<>(1, TimeUnit.HOURS);
+
     private final String credentialsId;
     private final KeyStore keyStore;
     private final Secret password;
@@ -62,12 +78,24 @@ public class BitbucketClientCertificateAuthenticator implements BitbucketAuthent
     @Override
     public void configureContext(HttpClientContext context, HttpHost host) {
         try {
-            context.setAttribute(BitbucketTlsSocketStrategy.SOCKET_FACTORY_REGISTRY, buildSSLContext()); // override SSL registry for this context
-        } catch (NoSuchAlgorithmException | UnrecoverableKeyException | KeyStoreException | KeyManagementException e) {
+            TlsSocketStrategy strategy = cachedStrategies.get(getCacheKey(), () -> new DefaultClientTlsStrategy(buildSSLContext()));
+            context.setAttribute(BitbucketTlsSocketStrategy.SOCKET_FACTORY_REGISTRY, strategy); // override SSL registry for this context
+        } catch (KeyStoreException | CertificateEncodingException | ExecutionException e) {
             throw new BitbucketException("Failed to set up SSL context from provided client certificate", e);
         }
     }
 
+    private String getCacheKey() throws KeyStoreException, CertificateEncodingException {
+        StringBuilder key = new StringBuilder(credentialsId);
+        for (String alias : Collections.list(keyStore.aliases())) {
+            Certificate certificate = keyStore.getCertificate(alias);
+            if (certificate != null) {
+                key.append('/').append(DigestUtils.sha256Hex(certificate.getEncoded()));
+            }
+        }
+        return DigestUtils.sha256Hex(key.append('/').append(Secret.toString(password)).toString());
+    }
+
     private SSLContext buildSSLContext() throws NoSuchAlgorithmException, KeyStoreException, UnrecoverableKeyException, KeyManagementException {
         SSLContextBuilder contextBuilder = SSLContexts.custom();
         contextBuilder.loadKeyMaterial(keyStore, Secret.toString(password).toCharArray());
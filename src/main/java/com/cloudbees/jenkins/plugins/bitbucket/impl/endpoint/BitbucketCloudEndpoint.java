@@ -28,6 +28,10 @@ import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.EndpointType;
 import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookConfiguration;
 import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookDescriptor;
 import com.cloudbees.jenkins.plugins.bitbucket.client.BitbucketCloudApiClient;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketHeadReplica;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketProbeCache;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketRequestGovernor;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketTlsSocketStrategy;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.webhook.cloud.CloudWebhookConfiguration;
 import com.damnhandy.uri.template.UriTemplate;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -35,6 +39,7 @@ import hudson.Extension;
 import hudson.ExtensionList;
 import hudson.model.Descriptor;
 import hudson.util.FormValidation;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import jenkins.model.Jenkins;
@@ -167,7 +172,11 @@ public class BitbucketCloudEndpoint extends AbstractBitbucketEndpoint {
         public FormValidation doShowStats() {
             Jenkins.get().checkPermission(Jenkins.MANAGE);
 
-            List<String> stats = BitbucketCloudApiClient.stats();
+            List<String> stats = new ArrayList<>(BitbucketCloudApiClient.stats());
+            stats.addAll(BitbucketRequestGovernor.stats());
+            stats.addAll(BitbucketProbeCache.stats());
+            stats.addAll(BitbucketHeadReplica.stats());
+            stats.addAll(BitbucketTlsSocketStrategy.stats());
             StringBuilder builder = new StringBuilder();
             for (String stat : stats) {
                 builder.append(stat).append("<br>");
@@ -180,6 +189,8 @@ public class BitbucketCloudEndpoint extends AbstractBitbucketEndpoint {
             Jenkins.get().checkPermission(Jenkins.MANAGE);
 
             BitbucketCloudApiClient.clearCaches();
+            BitbucketProbeCache.clear();
+            BitbucketHeadReplica.clear();
             return FormValidation.ok("Caches cleared");
         }
 
@@ -28,9 +28,14 @@ import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpointPro
 import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.EndpointType;
 import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookConfiguration;
 import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookDescriptor;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketHeadReplica;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketProbeCache;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketRequestGovernor;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketTlsSocketStrategy;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.util.URLUtils;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.webhook.server.ServerWebhookConfiguration;
 import com.cloudbees.jenkins.plugins.bitbucket.server.BitbucketServerVersion;
+import com.cloudbees.jenkins.plugins.bitbucket.server.client.BitbucketServerAPIClient;
 import com.damnhandy.uri.template.UriTemplate;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -42,7 +47,9 @@ import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import jenkins.model.Jenkins;
 import jenkins.scm.api.SCMName;
 import org.apache.commons.lang3.StringUtils;
@@ -230,6 +237,22 @@ public class BitbucketServerEndpoint extends AbstractBitbucketEndpoint {
             return FormValidation.ok();
         }
 
+        @RequirePOST
+        public FormValidation doShowStats() {
+            Jenkins.get().checkPermission(Jenkins.MANAGE);
+
+            List<String> stats = new ArrayList<>(BitbucketServerAPIClient.stats());
+            stats.addAll(BitbucketRequestGovernor.stats());
+            stats.addAll(BitbucketProbeCache.stats());
+            stats.addAll(BitbucketHeadReplica.stats());
+            stats.addAll(BitbucketTlsSocketStrategy.stats());
+            StringBuilder builder = new StringBuilder();
+            for (String stat : stats) {
+                builder.append(stat).append("<br>");
+            }
+            return FormValidation.okWithMarkup(builder.toString());
+        }
+
         @RequirePOST
         public Collection<? extends Descriptor<?>> getWebhookDescriptors() {
             Jenkins.get().checkPermission(Jenkins.MANAGE);
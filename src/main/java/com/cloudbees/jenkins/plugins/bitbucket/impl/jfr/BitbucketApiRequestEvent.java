@@ -0,0 +1,121 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.jfr;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.metrics.BitbucketApiOperation;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Flight recorder event for a request sent to a Bitbucket endpoint.
+ */
+@Name("com.cloudbees.jenkins.plugins.bitbucket.ApiRequest")
+@Label("Bitbucket API Request")
+@Category({ "Jenkins", "Bitbucket" })
+@StackTrace(false)
+@Restricted(NoExternalUse.class)
+public class BitbucketApiRequestEvent extends Event {
+    private static final ThreadLocal<BitbucketApiRequestEvent> current = new ThreadLocal<>();
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Method")
+    String method;
+
+    @Label("Status Code")
+    @Description("The HTTP status code, -1 if the request failed without response")
+    int statusCode;
+
+    @Label("Bytes Sent")
+    @DataAmount
+    long bytesSent;
+
+    @Label("Response Length")
+    @Description("The declared length of the response content, -1 if unknown")
+    @DataAmount
+    long responseLength;
+
+    @Label("Retries")
+    @Description("The number of times the request has been sent again, redirects included")
+    int retries;
+
+    private transient int attempts;
+
+    /**
+     * Starts timing a request sent by the current thread.
+     *
+     * @return the event to finish once the response has been received.
+     */
+    @NonNull
+    public static BitbucketApiRequestEvent start() {
+        BitbucketApiRequestEvent event = new BitbucketApiRequestEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            current.set(event);
+        }
+        return event;
+    }
+
+    /**
+     * Counts an attempt to send the request of the current thread, to be
+     * called by the HTTP client for each execution.
+     */
+    public static void attempt() {
+        BitbucketApiRequestEvent event = current.get();
+        if (event != null) {
+            event.attempts++;
+        }
+    }
+
+    public void finish(@NonNull String endpoint, @NonNull BitbucketApiOperation operation, @NonNull String method,
+                       int statusCode, long bytesSent, long responseLength) {
+        if (!isEnabled()) {
+            return;
+        }
+        current.remove();
+        end();
+        if (shouldCommit()) {
+            this.endpoint = endpoint;
+            this.operation = operation.getDisplayName();
+            this.method = method;
+            this.statusCode = statusCode;
+            this.bytesSent = bytesSent;
+            this.responseLength = responseLength;
+            this.retries = Math.max(0, attempts - 1);
+            commit();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.jfr;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Flight recorder event for one phase (pull requests, branches or tags) of
+ * the retrieve of a Bitbucket SCM source.
+ */
+@Name("com.cloudbees.jenkins.plugins.bitbucket.ScanPhase")
+@Label("Bitbucket Scan Phase")
+@Category({ "Jenkins", "Bitbucket" })
+@StackTrace(false)
+@Restricted(NoExternalUse.class)
+public class BitbucketScanPhaseEvent extends Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Event Triggered")
+    @Description("If the retrieve has been triggered by an SCM event")
+    boolean eventTriggered;
+
+    @Label("Heads")
+    @Description("The number of heads processed")
+    int heads;
+
+    @NonNull
+    public static BitbucketScanPhaseEvent start() {
+        BitbucketScanPhaseEvent event = new BitbucketScanPhaseEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(@NonNull String repository, @NonNull String phase, boolean eventTriggered, int heads) {
+        end();
+        if (shouldCommit()) {
+            this.repository = repository;
+            this.phase = phase;
+            this.eventTriggered = eventTriggered;
+            this.heads = heads;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.jfr;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookProcessor;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Flight recorder event for an incoming Bitbucket webhook.
+ */
+@Name("com.cloudbees.jenkins.plugins.bitbucket.Webhook")
+@Label("Bitbucket Webhook")
+@Category({ "Jenkins", "Bitbucket" })
+@StackTrace(false)
+@Restricted(NoExternalUse.class)
+public class BitbucketWebhookEvent extends Event {
+    private static final ThreadLocal<BitbucketWebhookEvent> current = new ThreadLocal<>();
+
+    @Label("Processor")
+    Class<?> processor;
+
+    @Label("Event Key")
+    String eventKey;
+
+    @Label("Parse Time")
+    @Description("The time spent by the processor to parse the payload and notify the SCM events")
+    @Timespan(Timespan.NANOSECONDS)
+    long parseTime;
+
+    @Label("Fan Out")
+    @Description("The number of SCM events notified")
+    int fanOut;
+
+    @Label("Status Code")
+    int statusCode;
+
+    private transient long parseStart;
+
+    /**
+     * Starts timing the webhook processed by the current thread.
+     *
+     * @return the event to finish once the webhook has been processed.
+     */
+    @NonNull
+    public static BitbucketWebhookEvent start() {
+        BitbucketWebhookEvent event = new BitbucketWebhookEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            current.set(event);
+        }
+        return event;
+    }
+
+    /**
+     * Counts an SCM event notified by the processor of the current thread.
+     */
+    public static void eventNotified() {
+        BitbucketWebhookEvent event = current.get();
+        if (event != null) {
+            event.fanOut++;
+        }
+    }
+
+    public void setProcessor(@NonNull Class<? extends BitbucketWebhookProcessor> processor) {
+        this.processor = processor;
+    }
+
+    public void beginParse(@NonNull String eventKey) {
+        if (isEnabled()) {
+            this.eventKey = eventKey;
+            this.parseStart = System.nanoTime();
+        }
+    }
+
+    public void endParse() {
+        if (isEnabled()) {
+            this.parseTime = System.nanoTime() - parseStart;
+        }
+    }
+
+    public void finish(int statusCode) {
+        if (!isEnabled()) {
+            return;
+        }
+        current.remove();
+        end();
+        if (shouldCommit()) {
+            this.statusCode = statusCode;
+            commit();
+        }
+    }
+}
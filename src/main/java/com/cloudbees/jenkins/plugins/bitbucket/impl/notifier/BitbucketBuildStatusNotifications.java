@@ -39,6 +39,7 @@ import com.cloudbees.jenkins.plugins.bitbucket.api.buildstatus.BitbucketBuildSta
 import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpoint;
 import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpointProvider;
 import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.EndpointType;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketWorkloadClass;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.util.BitbucketApiUtils;
 import com.cloudbees.jenkins.plugins.bitbucket.trait.BranchDiscoveryTrait.ExcludeOriginPRBranchesSCMHeadFilter;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
@@ -314,7 +315,7 @@ public final class BitbucketBuildStatusNotifications {
                 }
             }
         }
-        try (client) {
+        try (BitbucketWorkloadClass.Scope workload = BitbucketWorkloadClass.INTERACTIVE.enter(); client) {
             createStatus(build, listener, client, key, hash, refName);
         }
     }
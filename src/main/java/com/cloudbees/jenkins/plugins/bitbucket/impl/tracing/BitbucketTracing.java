@@ -0,0 +1,206 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.tracing;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.tracing.BitbucketSpan;
+import com.cloudbees.jenkins.plugins.bitbucket.api.tracing.BitbucketTracer;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.ExtensionList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import jenkins.model.Jenkins;
+import jenkins.scm.api.SCMEvent;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Entry point to open spans with the registered {@link BitbucketTracer}.
+ * <p>
+ * The span of the current thread is used as parent of the new spans. To
+ * continue a trace on another thread capture {@link #current()} and
+ * {@link #activate(BitbucketSpan) activate} it there; to continue it in the
+ * retrieve triggered by an SCM event {@link #link(SCMEvent) link} the event to
+ * the current span before firing it.
+ * <p>
+ * When no tracer is registered all methods are no-op.
+ */
+@Restricted(NoExternalUse.class)
+public final class BitbucketTracing {
+
+    private static final Scope NOOP_SCOPE = new Scope(null, null, false);
+    private static final ThreadLocal<BitbucketSpan> current = new ThreadLocal<>();
+    private static final Map<SCMEvent<?>, BitbucketSpan> eventSpans = Collections.synchronizedMap(new WeakHashMap<>());
+    private static volatile BitbucketTracer tracer;
+
+    private BitbucketTracing() {
+    }
+
+    /**
+     * Overrides the registered tracer.
+     *
+     * @param tracer to use, {@code null} to use the registered extension.
+     */
+    public static void setTracer(@CheckForNull BitbucketTracer tracer) {
+        BitbucketTracing.tracer = tracer;
+    }
+
+    @CheckForNull
+    private static BitbucketTracer tracer() {
+        if (tracer != null) {
+            return tracer;
+        }
+        if (Jenkins.getInstanceOrNull() == null) {
+            return null; // because unit test
+        }
+        ExtensionList<BitbucketTracer> tracers = ExtensionList.lookup(BitbucketTracer.class);
+        return tracers.isEmpty() ? null : tracers.get(0);
+    }
+
+    /**
+     * Returns the span of the current thread.
+     *
+     * @return the current span, {@code null} if none.
+     */
+    @CheckForNull
+    public static BitbucketSpan current() {
+        return current.get();
+    }
+
+    /**
+     * Starts a child span of the current one and makes it current until the
+     * returned scope is closed.
+     *
+     * @param name of the span
+     * @return the scope to close to end the span.
+     */
+    @NonNull
+    public static Scope startSpan(@NonNull String name) {
+        return startSpan(name, current.get());
+    }
+
+    /**
+     * Starts a child span of the given one and makes it current until the
+     * returned scope is closed.
+     *
+     * @param name of the span
+     * @param parent of the span, {@code null} to start a new trace
+     * @return the scope to close to end the span.
+     */
+    @NonNull
+    public static Scope startSpan(@NonNull String name, @CheckForNull BitbucketSpan parent) {
+        BitbucketTracer t = tracer();
+        if (t == null) {
+            return NOOP_SCOPE;
+        }
+        BitbucketSpan previous = current.get();
+        BitbucketSpan span = t.startSpan(name, parent);
+        current.set(span);
+        return new Scope(span, previous, true);
+    }
+
+    /**
+     * Makes the given span current, typically on another thread, until the
+     * returned scope is closed. The span is not ended by the scope.
+     *
+     * @param span to make current
+     * @return the scope to close to restore the previous span.
+     */
+    @NonNull
+    public static Scope activate(@CheckForNull BitbucketSpan span) {
+        if (span == null) {
+            return NOOP_SCOPE;
+        }
+        BitbucketSpan previous = current.get();
+        current.set(span);
+        return new Scope(span, previous, false);
+    }
+
+    /**
+     * Associates the current span to the given event so that the retrieves it
+     * triggers belong to the same trace.
+     *
+     * @param event to link
+     */
+    public static void link(@NonNull SCMEvent<?> event) {
+        BitbucketSpan span = current.get();
+        if (span != null) {
+            eventSpans.put(event, span);
+        }
+    }
+
+    /**
+     * Returns the span linked to the given event.
+     *
+     * @param event the event, may be {@code null}
+     * @return the span that fired the event, {@code null} if none.
+     */
+    @CheckForNull
+    public static BitbucketSpan linked(@CheckForNull SCMEvent<?> event) {
+        return event == null ? null : eventSpans.get(event);
+    }
+
+    /**
+     * A span made current on a thread.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final BitbucketSpan span;
+        private final BitbucketSpan previous;
+        private final boolean endOnClose;
+
+        private Scope(BitbucketSpan span, BitbucketSpan previous, boolean endOnClose) {
+            this.span = span;
+            this.previous = previous;
+            this.endOnClose = endOnClose;
+        }
+
+        public void setAttribute(@NonNull String key, @CheckForNull Object value) {
+            if (span != null && value != null) {
+                span.setAttribute(key, String.valueOf(value));
+            }
+        }
+
+        public void setError(@NonNull Throwable error) {
+            if (span != null) {
+                span.setError(error);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (span == null) {
+                return;
+            }
+            if (endOnClose) {
+                span.end();
+            }
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+}
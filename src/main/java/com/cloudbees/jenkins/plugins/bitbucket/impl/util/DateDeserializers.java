@@ -0,0 +1,115 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.util;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.Date;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Jackson deserializers for the timestamps of the Bitbucket payloads, they
+ * accept both epoch milliseconds (Data Center) and ISO 8601 strings (Cloud).
+ */
+@Restricted(NoExternalUse.class)
+public final class DateDeserializers {
+
+    private DateDeserializers() {
+    }
+
+    /**
+     * Deserializes a timestamp directly in to epoch milliseconds, without
+     * going through an intermediate {@link Date}. Missing or {@code null}
+     * values are {@code 0}.
+     */
+    public static class EpochMillis extends StdScalarDeserializer<Long> {
+        private static final long serialVersionUID = 1L;
+
+        public EpochMillis() {
+            super(Long.class);
+        }
+
+        @Override
+        public Long deserialize(com.fasterxml.jackson.core.JsonParser p, DeserializationContext ctx) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.VALUE_NUMBER_INT) {
+                return p.getLongValue();
+            }
+            if (token == JsonToken.VALUE_STRING) {
+                String text = p.getText().trim();
+                if (text.isEmpty()) {
+                    return 0L;
+                }
+                try {
+                    return DateUtils.parseMillis(text);
+                } catch (ParseException e) {
+                    return (Long) ctx.handleWeirdStringValue(Long.class, text, "not a valid ISO 8601 date");
+                }
+            }
+            return (Long) ctx.handleUnexpectedToken(Long.class, p);
+        }
+
+        @Override
+        public Long getNullValue(DeserializationContext ctx) {
+            return 0L;
+        }
+    }
+
+    /**
+     * Replaces the Jackson default deserializer of {@link Date} that uses a
+     * new {@code StdDateFormat} instance for each value.
+     */
+    public static class ISODate extends StdScalarDeserializer<Date> {
+        private static final long serialVersionUID = 1L;
+
+        public ISODate() {
+            super(Date.class);
+        }
+
+        @Override
+        public Date deserialize(com.fasterxml.jackson.core.JsonParser p, DeserializationContext ctx) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.VALUE_NUMBER_INT) {
+                return new Date(p.getLongValue());
+            }
+            if (token == JsonToken.VALUE_STRING) {
+                String text = p.getText().trim();
+                if (text.isEmpty()) {
+                    return null;
+                }
+                Date date = DateUtils.parseISODate(text);
+                if (date == null) {
+                    return (Date) ctx.handleWeirdStringValue(Date.class, text, "not a valid ISO 8601 date");
+                }
+                return date;
+            }
+            return (Date) ctx.handleUnexpectedToken(Date.class, p);
+        }
+    }
+
+}
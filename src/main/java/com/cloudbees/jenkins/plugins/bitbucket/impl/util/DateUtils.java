@@ -28,32 +28,81 @@ import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.text.ParseException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.TimeZone;
 
 public final class DateUtils {
 
+    /*
+     * The ISO 8601 variants returned by Bitbucket: any fraction of second and
+     * an optional offset, written as Z, +hh:mm or +hhmm. The formatters are
+     * immutable and thread safe, unlike StdDateFormat.
+     */
+    private static final DateTimeFormatter ISO_PARSER = new DateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+            .optionalStart().appendOffset("+HH:MM", "Z").optionalEnd()
+            .optionalStart().appendOffset("+HHMM", "Z").optionalEnd()
+            .toFormatter();
+    // same output of StdDateFormat
+    private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSxxx")
+            .withZone(ZoneOffset.UTC);
+
     private DateUtils() {
     }
 
     @Nullable
     public static String formatToISO(@CheckForNull Date date) {
-        return date != null ? new StdDateFormat().format(date) : null;
+        return date != null ? formatToISO(date.getTime()) : null;
+    }
+
+    @NonNull
+    public static String formatToISO(long millis) {
+        return ISO_FORMATTER.format(Instant.ofEpochMilli(millis));
     }
 
     @Nullable
     public static Date parseISODate(@CheckForNull String isoDate) {
         try {
-            return isoDate != null ? new StdDateFormat().parse(isoDate) : null;
+            return isoDate != null ? new Date(parseMillis(isoDate)) : null;
         } catch (ParseException e) {
             return null;
         }
     }
 
+    /**
+     * Parses an ISO 8601 date, a date without offset is in UTC.
+     *
+     * @param isoDate the date to parse
+     * @return the milliseconds since epoch, {@code 0} if the date is
+     *         {@code null} or not valid.
+     */
     public static long isoDateToMillis(@CheckForNull String isoDate) {
-        Date date = parseISODate(isoDate);
-        return date != null ? date.getTime() : 0L;
+        try {
+            return isoDate != null ? parseMillis(isoDate) : 0L;
+        } catch (ParseException e) {
+            return 0L;
+        }
+    }
+
+    /* package */ static long parseMillis(@NonNull String isoDate) throws ParseException {
+        try {
+            TemporalAccessor parsed = ISO_PARSER.parse(isoDate);
+            ZoneOffset offset = parsed.isSupported(ChronoField.OFFSET_SECONDS) ? ZoneOffset.from(parsed) : ZoneOffset.UTC;
+            return LocalDateTime.from(parsed).toInstant(offset).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            // fallback on the lenient parser for the other accepted formats
+            return new StdDateFormat().parse(isoDate).getTime();
+        }
     }
 
     @NonNull
@@ -26,8 +26,10 @@ package com.cloudbees.jenkins.plugins.bitbucket.impl.util;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.util.StdDateFormat;
 import java.io.IOException;
 import java.io.InputStream;
@@ -35,6 +37,7 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Date;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
 
@@ -65,6 +68,22 @@ public final class JsonParser {
         return mapper.readValue(data, type);
     }
 
+    public static <T> T toJava(InputStream data, JavaType type) throws IOException {
+        return mapper.readValue(new InputStreamReader(data, StandardCharsets.UTF_8), type);
+    }
+
+    /**
+     * Builds the type of a generic container, for example a page of a given
+     * resource type. The result should be kept and reused.
+     *
+     * @param rawType the generic type
+     * @param parameterTypes the type arguments
+     * @return the parameterised type.
+     */
+    public static JavaType parametricType(Class<?> rawType, Class<?>... parameterTypes) {
+        return mapper.getTypeFactory().constructParametricType(rawType, parameterTypes);
+    }
+
     public static String toString(Object value) throws IOException {
         return mapper.writeValueAsString(value);
     }
@@ -76,6 +95,7 @@ public final class JsonParser {
     private static JsonMapper createMapper(){
         return JsonMapper.builder()
                 .defaultDateFormat(new StdDateFormat())
+                .addModule(new SimpleModule().addDeserializer(Date.class, new DateDeserializers.ISODate()))
                 .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
                 .defaultPropertyInclusion(JsonInclude.Value.ALL_NON_NULL)
                 .build();
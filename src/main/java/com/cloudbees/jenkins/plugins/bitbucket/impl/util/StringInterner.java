@@ -0,0 +1,85 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.util;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import java.io.IOException;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Deduplicates the identifiers that repeat many times in the results of a
+ * scan, like repository and owner names, branch names and commit hashes.
+ * <p>
+ * Canonical instances are weakly referenced, so they are released as soon as
+ * no head, revision or model uses them anymore. Do not use it for free text
+ * like titles or descriptions, they are rarely shared.
+ */
+@Restricted(NoExternalUse.class)
+public final class StringInterner {
+
+    private static final Interner<String> INTERNER = Interners.newWeakInterner();
+
+    private StringInterner() {
+    }
+
+    /**
+     * Returns the canonical instance of the given identifier.
+     *
+     * @param value the identifier
+     * @return a string equals to the given value, {@code null} if value is
+     *         {@code null}.
+     */
+    @CheckForNull
+    public static String intern(@CheckForNull String value) {
+        return value != null ? INTERNER.intern(value) : null;
+    }
+
+    /**
+     * Deserializes a string value directly in to its canonical instance, to
+     * be used on the identifier fields of the models.
+     */
+    public static class Deserializer extends StdScalarDeserializer<String> {
+        private static final long serialVersionUID = 1L;
+
+        public Deserializer() {
+            super(String.class);
+        }
+
+        @Override
+        public String deserialize(com.fasterxml.jackson.core.JsonParser p, DeserializationContext ctx) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_STRING) {
+                return intern(p.getText());
+            }
+            // numbers or booleans are coerced by the default deserializer
+            return intern(ctx.readValue(p, String.class));
+        }
+    }
+
+}
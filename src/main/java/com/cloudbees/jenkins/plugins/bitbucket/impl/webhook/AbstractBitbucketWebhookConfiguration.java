@@ -97,6 +97,11 @@ public abstract class AbstractBitbucketWebhookConfiguration implements Bitbucket
      */
     private Integer webhooksCacheDuration;
 
+    /**
+     * {@code true} to use the heads carried by signed hooks without looking them up in Bitbucket.
+     */
+    private boolean trustPayload;
+
     protected AbstractBitbucketWebhookConfiguration(boolean manageHooks, @CheckForNull String credentialsId,
                                        boolean enableHookSignature, @CheckForNull String hookSignatureCredentialsId) {
         this.manageHooks = manageHooks && StringUtils.isNotBlank(credentialsId);
@@ -175,6 +180,15 @@ public abstract class AbstractBitbucketWebhookConfiguration implements Bitbucket
         this.webhooksCacheDuration = webhooksCacheDuration == null || webhooksCacheDuration < 0 ? Integer.valueOf(180) : webhooksCacheDuration;
     }
 
+    public boolean isTrustPayload() {
+        return trustPayload;
+    }
+
+    @DataBoundSetter
+    public void setTrustPayload(boolean trustPayload) {
+        this.trustPayload = trustPayload;
+    }
+
     public boolean isSkipCertVerification() {
         return skipCertVerification;
     }
@@ -28,6 +28,8 @@ import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpoint;
 import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookConfiguration;
 import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookProcessor;
 import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookProcessorException;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.jfr.BitbucketWebhookEvent;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.tracing.BitbucketTracing;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.webhook.cloud.CloudWebhookConfiguration;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.webhook.server.ServerWebhookConfiguration;
 import com.cloudbees.jenkins.plugins.bitbucket.util.BitbucketCredentialsUtils;
@@ -45,6 +47,7 @@ import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import jenkins.model.Jenkins;
+import jenkins.scm.api.SCMHeadEvent;
 import jenkins.scm.api.SCMSource;
 import jenkins.scm.api.SCMSourceOwner;
 import jenkins.scm.api.SCMSourceOwners;
@@ -111,6 +114,13 @@ public abstract class AbstractWebhookProcessor implements BitbucketWebhookProces
         }
     }
 
+    @Override
+    public void notifyEvent(SCMHeadEvent<?> event, int delaySeconds) {
+        BitbucketWebhookEvent.eventNotified();
+        BitbucketTracing.link(event);
+        BitbucketWebhookProcessor.super.notifyEvent(event, delaySeconds);
+    }
+
     @NonNull
     @Override
     public String getServerURL(@NonNull Map<String, String> headers, @NonNull MultiValuedMap<String, String> parameters) {
@@ -164,6 +174,20 @@ public abstract class AbstractWebhookProcessor implements BitbucketWebhookProces
         }
     }
 
+    /**
+     * Returns whether the content of the hooks received from the endpoint can be used without looking up again the
+     * heads they carry. Only signed hooks qualify, {@link #verifyPayload(Map, String, BitbucketEndpoint)} rejects
+     * them when the signature does not match.
+     *
+     * @param endpoint the endpoint that sent the hook
+     * @return {@code true} if the payload of the hook can be trusted
+     */
+    protected boolean isPayloadTrusted(@NonNull BitbucketEndpoint endpoint) {
+        return endpoint.getWebhook() instanceof AbstractBitbucketWebhookConfiguration webhook
+                && webhook.isEnableHookSignature()
+                && webhook.isTrustPayload();
+    }
+
     /* For test purpose */ StringCredentials lookupCredentials(@NonNull String signatureCredentialsId, @Nullable String serverURL) {
         return BitbucketCredentialsUtils.lookupCredentials(Jenkins.get(), serverURL, signatureCredentialsId, StringCredentials.class);
     }
@@ -26,6 +26,7 @@ package com.cloudbees.jenkins.plugins.bitbucket.impl.webhook.cloud;
 import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMNavigator;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketHref;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRepository;
+import com.cloudbees.jenkins.plugins.bitbucket.api.HasTrustedPayload;
 import com.cloudbees.jenkins.plugins.bitbucket.client.events.BitbucketCloudPullRequestEvent;
 import com.cloudbees.jenkins.plugins.bitbucket.client.events.BitbucketCloudPushEvent;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.util.BitbucketApiUtils;
@@ -42,10 +43,18 @@ import jenkins.scm.api.SCMNavigator;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 
-public abstract class AbstractSCMHeadEvent<P> extends SCMHeadEvent<P> {
+public abstract class AbstractSCMHeadEvent<P> extends SCMHeadEvent<P> implements HasTrustedPayload {
 
-    AbstractSCMHeadEvent(Type type, P payload, String origin) {
+    private final boolean payloadTrusted;
+
+    AbstractSCMHeadEvent(Type type, P payload, String origin, boolean payloadTrusted) {
         super(type, payload, origin);
+        this.payloadTrusted = payloadTrusted;
+    }
+
+    @Override
+    public boolean isPayloadTrusted() {
+        return payloadTrusted;
     }
 
     @Override
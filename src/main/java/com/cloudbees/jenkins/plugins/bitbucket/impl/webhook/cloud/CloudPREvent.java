@@ -63,8 +63,9 @@ final class CloudPREvent extends AbstractSCMHeadEvent<BitbucketPullRequestEvent>
 
     CloudPREvent(Type type, BitbucketPullRequestEvent payload,
                  String origin,
-                 HookEventType hookEvent) {
-        super(type, payload, origin);
+                 HookEventType hookEvent,
+                 boolean payloadTrusted) {
+        super(type, payload, origin, payloadTrusted);
         this.hookEvent = hookEvent;
     }
 
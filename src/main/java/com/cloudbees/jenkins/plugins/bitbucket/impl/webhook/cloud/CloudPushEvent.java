@@ -51,8 +51,8 @@ import org.apache.commons.lang3.Strings;
 
 final class CloudPushEvent extends AbstractSCMHeadEvent<BitbucketPushEvent> implements HasTags, HasPullRequests, HasBranches {
 
-    CloudPushEvent(Type type, BitbucketPushEvent payload, String origin) {
-        super(type, payload, origin);
+    CloudPushEvent(Type type, BitbucketPushEvent payload, String origin, boolean payloadTrusted) {
+        super(type, payload, origin, payloadTrusted);
     }
 
     @NonNull
@@ -110,7 +110,7 @@ final class CloudPushEvent extends AbstractSCMHeadEvent<BitbucketPushEvent> impl
     public Iterable<BitbucketBranch> getTags(BitbucketSCMSource src) {
         List<BitbucketBranch> tags = new ArrayList<>();
         for (BitbucketPushEvent.Change change: getPayload().getChanges()) {
-            Reference changeRef = change.isCreated() ? change.getNew() : change.getOld();
+            Reference changeRef = change.isClosed() ? change.getOld() : change.getNew();
             Target target = changeRef.getTarget();
 
             String eventType = changeRef.getType();
@@ -122,7 +122,7 @@ final class CloudPushEvent extends AbstractSCMHeadEvent<BitbucketPushEvent> impl
                     tagDate = new Date();
                 }
                 // if it is a deletetion than hash does not exists and should be set to null or the job try to get Jenkinsfile of that branch and the Jenkins job is not deleted
-                String hash = change.isCreated() ? target.getHash() : null;
+                String hash = change.isClosed() ? null : target.getHash();
                 BitbucketCloudBranch tagRef = new BitbucketCloudBranch(changeRef.getName(), hash, tagDate.getTime());
                 tagRef.setAuthor(target.getAuthor());
                 tags.add(tagRef);
@@ -140,7 +140,7 @@ final class CloudPushEvent extends AbstractSCMHeadEvent<BitbucketPushEvent> impl
     public Iterable<BitbucketBranch> getBranches(BitbucketSCMSource src) {
         List<BitbucketBranch> branches = new ArrayList<>();
         for (BitbucketPushEvent.Change change: getPayload().getChanges()) {
-            Reference changeRef = change.isCreated() ? change.getNew() : change.getOld();
+            Reference changeRef = change.isClosed() ? change.getOld() : change.getNew();
             Target target = changeRef.getTarget();
 
             String eventType = changeRef.getType();
@@ -152,7 +152,7 @@ final class CloudPushEvent extends AbstractSCMHeadEvent<BitbucketPushEvent> impl
                     commitDate = new Date();
                 }
                 // if it is a deletetion than hash does not exists and should be set to null or the job try to get Jenkinsfile of that branch and the Jenkins job is not deleted
-                String hash = change.isCreated() ? target.getHash() : null;
+                String hash = change.isClosed() ? null : target.getHash();
                 branches.add(new BitbucketCloudBranch(changeRef.getName(), hash, commitDate.getTime()));
             }
         }
@@ -38,6 +38,7 @@ import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequest;
 import com.cloudbees.jenkins.plugins.bitbucket.api.HasBranches;
 import com.cloudbees.jenkins.plugins.bitbucket.api.HasPullRequests;
 import com.cloudbees.jenkins.plugins.bitbucket.api.HasTags;
+import com.cloudbees.jenkins.plugins.bitbucket.api.HasTrustedPayload;
 import com.cloudbees.jenkins.plugins.bitbucket.server.client.BitbucketServerAPIClient;
 import com.cloudbees.jenkins.plugins.bitbucket.server.client.branch.BitbucketServerBranch;
 import com.cloudbees.jenkins.plugins.bitbucket.server.client.branch.BitbucketServerCommit;
@@ -73,7 +74,7 @@ import org.apache.commons.lang3.Strings;
 
 import static java.util.Objects.requireNonNull;
 
-final class ServerPushEvent extends AbstractNativeServerSCMHeadEvent<Collection<NativeServerChange>> implements HasPullRequests, HasTags, HasBranches {
+final class ServerPushEvent extends AbstractNativeServerSCMHeadEvent<Collection<NativeServerChange>> implements HasPullRequests, HasTags, HasBranches, HasTrustedPayload {
 
     private static final String TYPE_TAG = "TAG";
     private static final String TYPE_BRANCH = "BRANCH";
@@ -116,6 +117,7 @@ final class ServerPushEvent extends AbstractNativeServerSCMHeadEvent<Collection<
     private final BitbucketServerCommit refCommit;
     private final Map<CacheKey, Map<String, BitbucketServerPullRequest>> cachedPullRequests = new HashMap<>();
     private final String mirrorId;
+    private final boolean payloadTrusted;
 
     ServerPushEvent(String serverURL,
                     Type type,
@@ -123,11 +125,23 @@ final class ServerPushEvent extends AbstractNativeServerSCMHeadEvent<Collection<
                     String origin,
                     BitbucketServerRepository repository,
                     @CheckForNull BitbucketServerCommit headCommit,
-                    String mirrorId) {
+                    String mirrorId,
+                    boolean payloadTrusted) {
         super(serverURL, type, payload, origin);
         this.repository = repository;
         this.mirrorId = mirrorId;
         this.refCommit = headCommit;
+        this.payloadTrusted = payloadTrusted;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The pull requests of a push are listed from Bitbucket when the event is processed, so they are already set up.
+     */
+    @Override
+    public boolean isPayloadTrusted() {
+        return payloadTrusted;
     }
 
     @Override
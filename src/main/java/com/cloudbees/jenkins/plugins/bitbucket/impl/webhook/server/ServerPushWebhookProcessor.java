@@ -134,7 +134,8 @@ public class ServerPushWebhookProcessor extends AbstractWebhookProcessor {
             }
 
             for (final SCMEvent.Type type : events.keySet()) {
-                ServerPushEvent headEvent = new ServerPushEvent(endpoint.getServerURL(), type, events.get(type), getOrigin(context), repository, refCommit, mirrorId);
+                ServerPushEvent headEvent = new ServerPushEvent(endpoint.getServerURL(), type, events.get(type), getOrigin(context), repository, refCommit, mirrorId,
+                        isPayloadTrusted(endpoint));
                 notifyEvent(headEvent, BitbucketSCMSource.getEventDelaySeconds());
             }
         }
@@ -41,7 +41,10 @@ import com.cloudbees.jenkins.plugins.bitbucket.client.repository.UserRoleInRepos
 import com.cloudbees.jenkins.plugins.bitbucket.filesystem.BitbucketSCMFile;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.buildstatus.ServerBuildStatusNotifier;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.client.AbstractBitbucketApi;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketRoute;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketTlsSocketStrategy;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketWorkloadClass;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketWorkloadConnectionManager;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.credentials.BitbucketAccessTokenAuthenticator;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.credentials.BitbucketClientCertificateAuthenticator;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.credentials.BitbucketUsernamePasswordAuthenticator;
@@ -52,39 +55,53 @@ import com.cloudbees.jenkins.plugins.bitbucket.server.client.branch.BitbucketSer
 import com.cloudbees.jenkins.plugins.bitbucket.server.client.branch.BitbucketServerCommit;
 import com.cloudbees.jenkins.plugins.bitbucket.server.client.pullrequest.BitbucketServerPullRequest;
 import com.cloudbees.jenkins.plugins.bitbucket.server.client.pullrequest.BitbucketServerPullRequestCanMerge;
+import com.cloudbees.jenkins.plugins.bitbucket.server.client.pullrequest.BitbucketServerPullRequestChanges;
 import com.cloudbees.jenkins.plugins.bitbucket.server.client.repository.BitbucketServerProject;
 import com.cloudbees.jenkins.plugins.bitbucket.server.client.repository.BitbucketServerRepository;
-import com.damnhandy.uri.template.UriTemplate;
 import com.damnhandy.uri.template.impl.Operator;
-import com.fasterxml.jackson.core.JacksonException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import hudson.Util;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
 import java.awt.image.BufferedImage;
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.ParameterizedType;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import javax.imageio.ImageIO;
 import jenkins.scm.api.SCMFile;
 import jenkins.scm.api.SCMFile.Type;
 import jenkins.scm.impl.avatars.AvatarImage;
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.io.output.DeferredFileOutputStream;
+import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.io.HttpClientConnectionManager;
 import org.apache.hc.core5.http.HttpHost;
@@ -99,13 +116,14 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
 
     // Max avatar image length in bytes
     private static final int MAX_AVATAR_LENGTH = 16384;
+    private static final int FILE_CONTENT_MEMORY_THRESHOLD = 1024 * 1024;
 
     private static final String API_BASE_PATH = "/rest/api/1.0";
     private static final String API_REPOSITORIES_PATH = API_BASE_PATH + "/projects/{owner}/repos{?start,limit}";
     private static final String API_REPOSITORY_PATH = API_BASE_PATH + "/projects/{owner}/repos/{repo}";
     private static final String API_DEFAULT_BRANCH_PATH = API_REPOSITORY_PATH + "/branches/default";
-    private static final String API_BRANCHES_PATH = API_REPOSITORY_PATH + "/branches{?start,limit}";
-    private static final String API_BRANCHES_FILTERED_PATH = API_REPOSITORY_PATH + "/branches{?filterText,start,limit}";
+    private static final String API_BRANCHES_PATH = API_REPOSITORY_PATH + "/branches{?details,start,limit}";
+    private static final String API_BRANCHES_FILTERED_PATH = API_REPOSITORY_PATH + "/branches{?filterText,details,start,limit}";
     private static final String API_TAGS_PATH = API_REPOSITORY_PATH + "/tags{?start,limit}";
     private static final String API_TAG_PATH = API_REPOSITORY_PATH + "/tags/{tagName}";
     private static final String API_PULL_REQUESTS_PATH = API_REPOSITORY_PATH + "/pull-requests{?start,limit,at,direction,state}";
@@ -121,13 +139,46 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
 
     private static final String API_MIRRORS_FOR_REPO_PATH = "/rest/mirroring/1.0/repos/{id}/mirrors";
     private static final String API_MIRRORS_PATH = "/rest/mirroring/1.0/mirrorServers";
+
+    // routes are parsed once and expanded relative to the base URL of the client
+    private static final BitbucketRoute API_REPOSITORIES_ROUTE = BitbucketRoute.of(API_REPOSITORIES_PATH);
+    private static final BitbucketRoute API_REPOSITORY_ROUTE = BitbucketRoute.of(API_REPOSITORY_PATH);
+    private static final BitbucketRoute API_DEFAULT_BRANCH_ROUTE = BitbucketRoute.of(API_DEFAULT_BRANCH_PATH);
+    private static final BitbucketRoute API_BRANCHES_ROUTE = BitbucketRoute.of(API_BRANCHES_PATH);
+    private static final BitbucketRoute API_BRANCHES_FILTERED_ROUTE = BitbucketRoute.of(API_BRANCHES_FILTERED_PATH);
+    private static final BitbucketRoute API_TAGS_ROUTE = BitbucketRoute.of(API_TAGS_PATH);
+    private static final BitbucketRoute API_TAG_ROUTE = BitbucketRoute.of(API_TAG_PATH);
+    private static final BitbucketRoute API_PULL_REQUESTS_ROUTE = BitbucketRoute.of(API_PULL_REQUESTS_PATH);
+    private static final BitbucketRoute API_PULL_REQUEST_ROUTE = BitbucketRoute.of(API_PULL_REQUEST_PATH);
+    private static final BitbucketRoute API_PULL_REQUEST_MERGE_ROUTE = BitbucketRoute.of(API_PULL_REQUEST_MERGE_PATH);
+    private static final BitbucketRoute API_PULL_REQUEST_CHANGES_ROUTE = BitbucketRoute.of(API_PULL_REQUEST_CHANGES_PATH);
+    private static final BitbucketRoute API_BROWSE_ROUTE = BitbucketRoute.of(API_BROWSE_PATH);
+    private static final BitbucketRoute API_BROWSE_PAGED_ROUTE = BitbucketRoute.of(API_BROWSE_PATH + "{&start,limit}");
+    private static final BitbucketRoute API_BROWSE_TYPE_ROUTE = BitbucketRoute.of(API_BROWSE_PATH + "{&type,blame}");
+    private static final BitbucketRoute API_PROJECT_ROUTE = BitbucketRoute.of(API_PROJECT_PATH);
+    private static final BitbucketRoute AVATAR_ROUTE = BitbucketRoute.of(AVATAR_PATH);
+    private static final BitbucketRoute API_COMMITS_ROUTE = BitbucketRoute.of(API_COMMITS_PATH);
+    private static final BitbucketRoute API_COMMIT_ROUTE = BitbucketRoute.of(API_COMMIT_PATH);
+    private static final BitbucketRoute API_COMMIT_COMMENT_ROUTE = BitbucketRoute.of(API_COMMIT_COMMENT_PATH);
+    private static final BitbucketRoute API_MIRRORS_FOR_REPO_ROUTE = BitbucketRoute.of(API_MIRRORS_FOR_REPO_PATH);
+    private static final BitbucketRoute API_MIRRORS_ROUTE = BitbucketRoute.of(API_MIRRORS_PATH);
     private static final Integer DEFAULT_PAGE_LIMIT = 200;
+    // concurrent workers setting up the pull requests of a single listing
+    private static final int PULL_REQUEST_SETUP_PARALLELISM = Math.max(1,
+            Integer.getInteger(BitbucketServerAPIClient.class.getName() + ".pullRequestSetupParallelism", 4));
+    private static final ExecutorService PULL_REQUEST_SETUP_EXECUTOR = Executors.newCachedThreadPool(
+            new NamingThreadFactory(new DaemonThreadFactory(), BitbucketServerAPIClient.class.getName() + ".pullRequestSetup"));
+    private static final ClassValue<JavaType> PAGE_TYPES = new ClassValue<>() {
+        @Override
+        protected JavaType computeValue(Class<?> type) {
+            return JsonParser.parametricType(BitbucketServerPage.class, type);
+        }
+    };
 
-    private static final HttpClientConnectionManager connectionManager = connectionManagerBuilder()
-            .setMaxConnPerRoute(20)
-            .setMaxConnTotal(40 /* should be 20 * number of server instances */)
-            .setTlsSocketStrategy(new BitbucketTlsSocketStrategy())
-            .build();
+    private static final BitbucketWorkloadConnectionManager connectionManager = new BitbucketWorkloadConnectionManager(
+            connectionManagerBuilder().setTlsSocketStrategy(new BitbucketTlsSocketStrategy()),
+            BitbucketWorkloadConnectionManager.DEFAULT_MAX_CONN_PER_ROUTE,
+            80 /* should be DEFAULT_MAX_CONN_PER_ROUTE * number of server instances */);
 
     /**
      * Repository owner.
@@ -144,6 +195,10 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
     private final String baseURL;
     private final CloseableHttpClient client;
 
+    public static List<String> stats() {
+        return connectionManager.stats();
+    }
+
     public BitbucketServerAPIClient(@NonNull String baseURL, @NonNull String owner, @CheckForNull String repositoryName,
                                     @CheckForNull BitbucketAuthenticator authenticator, boolean userCentric) {
         super(authenticator);
@@ -198,8 +253,7 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
     @NonNull
     @Override
     public List<BitbucketServerPullRequest> getPullRequests() throws IOException {
-        UriTemplate template = UriTemplate
-                .fromTemplate(this.baseURL + API_PULL_REQUESTS_PATH)
+        BitbucketRoute.Binding template = API_PULL_REQUESTS_ROUTE.bind(this.baseURL)
                 .set("owner", getOwner())
                 .set("repo", repositoryName);
         return getPullRequests(template);
@@ -207,8 +261,7 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
 
     @NonNull
     public List<BitbucketServerPullRequest> getOutgoingOpenPullRequests(String fromRef) throws IOException {
-        UriTemplate template = UriTemplate
-                .fromTemplate(this.baseURL + API_PULL_REQUESTS_PATH)
+        BitbucketRoute.Binding template = API_PULL_REQUESTS_ROUTE.bind(this.baseURL)
                 .set("owner", getOwner())
                 .set("repo", repositoryName)
                 .set("at", fromRef)
@@ -219,8 +272,7 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
 
     @NonNull
     public List<BitbucketServerPullRequest> getIncomingOpenPullRequests(String toRef) throws IOException {
-        UriTemplate template = UriTemplate
-                .fromTemplate(this.baseURL + API_PULL_REQUESTS_PATH)
+        BitbucketRoute.Binding template = API_PULL_REQUESTS_ROUTE.bind(this.baseURL)
                 .set("owner", getOwner())
                 .set("repo", repositoryName)
                 .set("at", toRef)
@@ -229,26 +281,87 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
         return getPullRequests(template);
     }
 
-    private List<BitbucketServerPullRequest> getPullRequests(UriTemplate template) throws IOException {
+    private List<BitbucketServerPullRequest> getPullRequests(BitbucketRoute.Binding template) throws IOException {
         List<BitbucketServerPullRequest> pullRequests = getPagedRequest(template, BitbucketServerPullRequest.class);
 
         pullRequests.removeIf(this::shouldIgnore);
 
+        // a pull request updated while paging may be returned twice, keep only the copy from the later page,
+        // its refs are read again during the setup if they are not up to date
+        Map<String, BitbucketServerPullRequest> byId = new LinkedHashMap<>();
+        for (BitbucketServerPullRequest pullRequest : pullRequests) {
+            byId.remove(pullRequest.getId());
+            byId.put(pullRequest.getId(), pullRequest);
+        }
+        pullRequests = new ArrayList<>(byId.values());
+
         BitbucketServerEndpoint endpoint = BitbucketEndpointProvider
                 .lookupEndpoint(this.baseURL, BitbucketServerEndpoint.class)
                 .orElse(null);
 
-        for (BitbucketServerPullRequest pullRequest : pullRequests) {
-            setupPullRequest(pullRequest, endpoint);
-        }
+        setupPullRequests(pullRequests, endpoint);
 
-        if (endpoint != null) {
-            // Get PRs again as revisions could be changed by other events during setupPullRequest
-            pullRequests = getPagedRequest(template, BitbucketServerPullRequest.class);
-            pullRequests.removeIf(this::shouldIgnore);
+        return pullRequests;
+    }
+
+    /**
+     * Setup the given pull requests. When an endpoint is configured, the per
+     * pull request calls are issued by at most
+     * {@link #PULL_REQUEST_SETUP_PARALLELISM} concurrent workers instead of one
+     * after the other.
+     *
+     * @param pullRequests the pull requests to setup
+     * @param endpoint the configured endpoint, if any
+     * @throws IOException if any of the calls fails
+     */
+    private void setupPullRequests(@NonNull List<BitbucketServerPullRequest> pullRequests,
+                                   @Nullable BitbucketServerEndpoint endpoint) throws IOException {
+        int workers = Math.min(PULL_REQUEST_SETUP_PARALLELISM, pullRequests.size());
+        if (endpoint == null || workers < 2) {
+            for (BitbucketServerPullRequest pullRequest : pullRequests) {
+                setupPullRequest(pullRequest, endpoint);
+            }
+            return;
         }
 
-        return pullRequests;
+        final Queue<BitbucketServerPullRequest> pending = new ConcurrentLinkedQueue<>(pullRequests);
+        final BitbucketWorkloadClass workload = BitbucketWorkloadClass.current();
+        final String workloadOwner = BitbucketWorkloadClass.currentOwner();
+        List<Future<Void>> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            tasks.add(PULL_REQUEST_SETUP_EXECUTOR.submit(() -> {
+                try (BitbucketWorkloadClass.Scope scope = workload.enter(workloadOwner)) {
+                    BitbucketServerPullRequest pullRequest;
+                    while ((pullRequest = pending.poll()) != null) {
+                        setupPullRequest(pullRequest, endpoint);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // no reason to keep the other workers busy
+                    pending.clear();
+                    throw e;
+                }
+                return null;
+            }));
+        }
+        try {
+            for (Future<Void> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            pending.clear();
+            tasks.forEach(task -> task.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while setting up pull requests");
+        } catch (ExecutionException e) {
+            pending.clear();
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioe) {
+                throw ioe;
+            } else if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IOException(cause);
+        }
     }
 
     private void setupPullRequest(@NonNull BitbucketServerPullRequest pullRequest, @Nullable BitbucketServerEndpoint endpoint) throws IOException {
@@ -256,18 +369,23 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
         setupClosureForPRBranch(pullRequest);
 
         if (endpoint != null) {
-            try {
-                pullRequest.setCanMerge(getPullRequestCanMergeById(pullRequest.getId()));
-            } catch (BitbucketRequestException e) {
-                // see JENKINS-65718 https://docs.atlassian.com/bitbucket-server/rest/7.2.1/bitbucket-rest.html#errors-and-validation
-                // in this case we just say cannot merge this one
-                if(e.getHttpCode()==409){
-                    pullRequest.setCanMerge(false);
-                } else {
-                    throw e;
-                }
+            // the merge status is costly for the server, fetch it only if someone asks for it
+            final String id = pullRequest.getId();
+            pullRequest.setCanMergeClosure(() -> getPullRequestCanMergeById(id));
+            String toHash = callPullRequestChangesById(id);
+            BitbucketBranch source = pullRequest.getSource().getBranch();
+            if (toHash != null && source != null && !toHash.equals(source.getRawNode())) {
+                // the refs of the pull request were updated by the server while computing its changes
+                String url = API_PULL_REQUEST_ROUTE.bind(this.baseURL)
+                        .set("owner", getOwner())
+                        .set("repo", repositoryName)
+                        .set("id", id)
+                        .expand();
+                BitbucketServerPullRequest updated = getRequestAs(url, BitbucketServerPullRequest.class);
+                pullRequest.setSource(updated.getSource());
+                pullRequest.setDestination(updated.getDestination());
+                setupClosureForPRBranch(pullRequest);
             }
-            callPullRequestChangesById(pullRequest.getId());
         }
     }
 
@@ -317,25 +435,42 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
         }
     }
 
-    private void callPullRequestChangesById(@NonNull String id) throws IOException {
-        String url = UriTemplate
-                .fromTemplate(this.baseURL + API_PULL_REQUEST_CHANGES_PATH)
+    /**
+     * Asks the server for the changes of the given pull request, which makes
+     * it update the refs of the pull request.
+     *
+     * @param id the pull request identifier
+     * @return the latest commit of the source as seen by the server, if
+     *         reported
+     * @throws IOException if the request fails
+     */
+    @CheckForNull
+    private String callPullRequestChangesById(@NonNull String id) throws IOException {
+        String url = API_PULL_REQUEST_CHANGES_ROUTE.bind(this.baseURL)
                 .set("owner", getOwner())
                 .set("repo", repositoryName)
                 .set("id", id)
                 .set("limit", 1)
                 .expand();
-        getRequest(url);
+        return getRequestAs(url, BitbucketServerPullRequestChanges.class).getToHash();
     }
 
     private boolean getPullRequestCanMergeById(@NonNull String id) throws IOException {
-        String url = UriTemplate
-                .fromTemplate(this.baseURL + API_PULL_REQUEST_MERGE_PATH)
+        String url = API_PULL_REQUEST_MERGE_ROUTE.bind(this.baseURL)
                 .set("owner", getOwner())
                 .set("repo", repositoryName)
                 .set("id", id)
                 .expand();
-        return getRequestAs(url, BitbucketServerPullRequestCanMerge.class).isCanMerge();
+        try {
+            return getRequestAs(url, BitbucketServerPullRequestCanMerge.class).isCanMerge();
+        } catch (BitbucketRequestException e) {
+            // see JENKINS-65718 https://docs.atlassian.com/bitbucket-server/rest/7.2.1/bitbucket-rest.html#errors-and-validation
+            // in this case we just say cannot merge this one
+            if (e.getHttpCode() == 409) {
+                return false;
+            }
+            throw e;
+        }
     }
 
     /**
@@ -344,14 +479,12 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
     @Override
     @NonNull
     public BitbucketPullRequest getPullRequestById(@NonNull Integer id) throws IOException {
-        String url = UriTemplate
-                .fromTemplate(this.baseURL + API_PULL_REQUEST_PATH)
+        String url = API_PULL_REQUEST_ROUTE.bind(this.baseURL)
                 .set("owner", getOwner())
                 .set("repo", repositoryName)
                 .set("id", id)
                 .expand();
-        String response = getRequest(url);
-        BitbucketServerPullRequest pr = JsonParser.toJava(response, BitbucketServerPullRequest.class);
+        BitbucketServerPullRequest pr = getRequestAs(url, BitbucketServerPullRequest.class);
         setupClosureForPRBranch(pr);
 
         BitbucketServerEndpoint endpoint = BitbucketEndpointProvider
@@ -371,13 +504,11 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
             throw new UnsupportedOperationException(
                     "Cannot get a repository from an API instance that is not associated with a repository");
         }
-        String url = UriTemplate
-                .fromTemplate(this.baseURL + API_REPOSITORY_PATH)
+        String url = API_REPOSITORY_ROUTE.bind(this.baseURL)
                 .set("owner", getOwner())
                 .set("repo", repositoryName)
                 .expand();
-        String response = getRequest(url);
-        return JsonParser.toJava(response, BitbucketServerRepository.class);
+        return getRequestAs(url, BitbucketServerRepository.class);
     }
 
     /**
@@ -388,8 +519,7 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
      */
     @NonNull
     public List<BitbucketMirrorServer> getMirrors() throws IOException {
-        UriTemplate uriTemplate = UriTemplate
-                .fromTemplate(this.baseURL + API_MIRRORS_PATH);
+        BitbucketRoute.Binding uriTemplate = API_MIRRORS_ROUTE.bind(this.baseURL);
         return getPagedRequest(uriTemplate, BitbucketMirrorServer.class);
     }
 
@@ -401,8 +531,7 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
      */
     @NonNull
     public List<BitbucketMirroredRepositoryDescriptor> getMirrors(@NonNull Long repositoryId) throws IOException {
-        UriTemplate uriTemplate = UriTemplate
-                .fromTemplate(this.baseURL + API_MIRRORS_FOR_REPO_PATH)
+        BitbucketRoute.Binding uriTemplate = API_MIRRORS_FOR_REPO_ROUTE.bind(this.baseURL)
                 .set("id", repositoryId);
         return getPagedRequest(uriTemplate, BitbucketMirroredRepositoryDescriptor.class);
     }
@@ -425,8 +554,7 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
     @Override
     public void postCommitComment(@NonNull String hash, @NonNull String comment) throws IOException {
         postRequest(
-            UriTemplate
-                .fromTemplate(this.baseURL + API_COMMIT_COMMENT_PATH)
+            API_COMMIT_COMMENT_ROUTE.bind(this.baseURL)
                 .set("owner", getOwner())
                 .set("repo", repositoryName)
                 .set("hash", hash)
@@ -452,8 +580,7 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
      */
     @Override
     public boolean checkPathExists(@NonNull String branchOrHash, @NonNull String path) throws IOException {
-        String url = UriTemplate
-                .fromTemplate(this.baseURL + API_BROWSE_PATH)
+        String url = API_BROWSE_ROUTE.bind(this.baseURL)
                 .set("owner", getOwner())
                 .set("repo", repositoryName)
                 .set("path", path.split(Operator.PATH.getSeparator()))
@@ -474,8 +601,7 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
     @CheckForNull
     @Override
     public String getDefaultBranch() throws IOException {
-        String url = UriTemplate
-                .fromTemplate(this.baseURL + API_DEFAULT_BRANCH_PATH)
+        String url = API_DEFAULT_BRANCH_ROUTE.bind(this.baseURL)
                 .set("owner", getOwner())
                 .set("repo", repositoryName)
                 .expand();
@@ -493,7 +619,7 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
      */
     @Override
     public BitbucketBranch getTag(@NonNull String tagName) throws IOException {
-        String url = UriTemplate.fromTemplate(this.baseURL + API_TAG_PATH)
+        String url = API_TAG_ROUTE.bind(this.baseURL)
             .set("owner", getOwner())
             .set("repo", repositoryName)
             .set("tagName", tagName)
@@ -513,7 +639,7 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
     @Override
     @NonNull
     public List<BitbucketBranch> getTags() throws IOException {
-        return getServerBranches(API_TAGS_PATH);
+        return getServerBranches(API_TAGS_ROUTE.bind(this.baseURL));
     }
 
     /**
@@ -530,12 +656,12 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
     @Override
     @NonNull
     public List<BitbucketBranch> getBranches() throws IOException {
-        return getServerBranches(API_BRANCHES_PATH);
+        // the head commit details come with the listing, there is no need to resolve the commit of each branch
+        return getServerBranches(API_BRANCHES_ROUTE.bind(this.baseURL).set("details", true));
     }
 
-    private List<BitbucketBranch> getServerBranches(String apiPath) throws IOException {
-        UriTemplate template = UriTemplate
-                .fromTemplate(this.baseURL + apiPath)
+    private List<BitbucketBranch> getServerBranches(BitbucketRoute.Binding route) throws IOException {
+        BitbucketRoute.Binding template = route
                 .set("owner", getOwner())
                 .set("repo", repositoryName);
 
@@ -552,11 +678,11 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
     }
 
     private BitbucketServerBranch getSingleBranch(String branchName) throws IOException {
-        UriTemplate template = UriTemplate
-            .fromTemplate(this.baseURL + API_BRANCHES_FILTERED_PATH)
+        BitbucketRoute.Binding template = API_BRANCHES_FILTERED_ROUTE.bind(this.baseURL)
             .set("owner", getOwner())
             .set("repo", repositoryName)
-            .set("filterText", branchName);
+            .set("filterText", branchName)
+            .set("details", true);
 
         BitbucketServerBranch br = getPagedRequest(template, BitbucketServerBranch.class,
             branch -> branchName.equals(branch.getName()));
@@ -572,8 +698,7 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
     @NonNull
     @Override
     public BitbucketCommit resolveCommit(@NonNull String hash) throws IOException {
-        String url = UriTemplate
-                .fromTemplate(this.baseURL + API_COMMIT_PATH)
+        String url = API_COMMIT_ROUTE.bind(this.baseURL)
                 .set("owner", getOwner())
                 .set("repo", repositoryName)
                 .set("hash", hash)
@@ -602,7 +727,7 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
         if (userCentric) {
             return null;
         } else {
-            String url = UriTemplate.fromTemplate(this.baseURL + API_PROJECT_PATH)
+            String url = API_PROJECT_ROUTE.bind(this.baseURL)
                     .set("owner", getOwner())
                     .expand();
             try {
@@ -622,7 +747,7 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
         if (userCentric) {
             return AvatarImage.EMPTY;
         } else {
-            String url = UriTemplate.fromTemplate(this.baseURL + AVATAR_PATH)
+            String url = AVATAR_ROUTE.bind(this.baseURL)
                     .set("owner", getOwner())
                     .expand();
             return getAvatar(url);
@@ -649,8 +774,7 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
     @Override
     public List<BitbucketServerRepository> getRepositories(@CheckForNull UserRoleInRepository role)
             throws IOException {
-        UriTemplate template = UriTemplate
-                .fromTemplate(this.baseURL + API_REPOSITORIES_PATH)
+        BitbucketRoute.Binding template = API_REPOSITORIES_ROUTE.bind(this.baseURL)
                 .set("owner", getOwner());
 
         List<BitbucketServerRepository> repositories = new ArrayList<>();
@@ -676,121 +800,52 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
         return getRepository().isPrivate();
     }
 
-    private <V> V getRequestAs(String url, Class<V> resultType) throws IOException {
-        String response = getRequest(url);
-        try {
-            return JsonParser.toJava(response, resultType);
-        } catch (JacksonException e) {
-            throw new IOException("I/O error when parsing response from URL: " + url, e);
-        }
-    }
+    private <V> List<V> getPagedRequest(BitbucketRoute.Binding template, Class<V> resultType) throws IOException {
+        JavaType type = PAGE_TYPES.get(resultType);
+        List<V> resources = new ArrayList<>();
 
-    private <V> List<V> getPagedRequest(UriTemplate template, Class<V> resultType) throws IOException {
-        ParameterizedType parameterizedType = new ParameterizedType() {
-
-            @Override
-            public java.lang.reflect.Type getRawType() {
-                return BitbucketServerPage.class;
-            }
-
-            @Override
-            public java.lang.reflect.Type getOwnerType() {
-                return null;
-            }
-
-            @Override
-            public java.lang.reflect.Type[] getActualTypeArguments() {
-                return new java.lang.reflect.Type[] { resultType };
-            }
-        };
-
-        String url = null;
-        try {
-            TypeReference<BitbucketServerPage<V>> type = new TypeReference<BitbucketServerPage<V>>(){
-                @Override
-                public java.lang.reflect.Type getType() {
-                    return parameterizedType;
-                }
-            };
-
-            List<V> resources = new ArrayList<>();
-
-            BitbucketServerPage<V> page;
-            Integer pageNumber = 0;
-            Integer limit = DEFAULT_PAGE_LIMIT;
-            do {
-                url = template //
-                        .set("start", pageNumber) //
-                        .set("limit", limit) //
-                        .expand();
-                String response = getRequest(url);
-                page = JsonParser.toJava(response, type);
-                resources.addAll(page.getValues());
-
-                limit = page.getLimit();
-                pageNumber = page.getNextPageStart();
-            } while (!page.isLastPage());
+        BitbucketServerPage<V> page;
+        Integer pageNumber = 0;
+        Integer limit = DEFAULT_PAGE_LIMIT;
+        do {
+            String url = template //
+                    .set("start", pageNumber) //
+                    .set("limit", limit) //
+                    .expand();
+            page = getRequestAs(url, type);
+            resources.addAll(page.getValues());
 
-            return resources;
-        } catch (JacksonException e) {
-            throw new IOException("I/O error when parsing response from URL: " + url, e);
-        }
+            limit = page.getLimit();
+            pageNumber = page.getNextPageStart();
+        } while (!page.isLastPage());
 
+        return resources;
     }
 
-    private <V> V getPagedRequest(UriTemplate template, Class<V> resultType, Predicate<V> filter) throws IOException {
-        String url = null;
-        ParameterizedType parameterizedType = new ParameterizedType() {
-
-            @Override
-            public java.lang.reflect.Type getRawType() {
-                return BitbucketServerPage.class;
-            }
-
-            @Override
-            public java.lang.reflect.Type getOwnerType() {
-                return null;
-            }
-
-            @Override
-            public java.lang.reflect.Type[] getActualTypeArguments() {
-                return new java.lang.reflect.Type[] { resultType };
-            }
-        };
-
-        try {
-            TypeReference<BitbucketServerPage<V>> type = new TypeReference<BitbucketServerPage<V>>(){
-                @Override
-                public java.lang.reflect.Type getType() {
-                    return parameterizedType;
-                }
-            };
+    private <V> V getPagedRequest(BitbucketRoute.Binding template, Class<V> resultType, Predicate<V> filter) throws IOException {
+        JavaType type = PAGE_TYPES.get(resultType);
 
-            BitbucketServerPage<V> page;
-            Integer pageNumber = 0;
-            Integer limit = DEFAULT_PAGE_LIMIT;
-            do {
-                url = template //
-                    .set("start", pageNumber) //
-                    .set("limit", limit) //
-                    .expand();
-                String response = getRequest(url);
-                page = JsonParser.toJava(response, type);
+        BitbucketServerPage<V> page;
+        Integer pageNumber = 0;
+        Integer limit = DEFAULT_PAGE_LIMIT;
+        do {
+            String url = template //
+                .set("start", pageNumber) //
+                .set("limit", limit) //
+                .expand();
+            page = getRequestAs(url, type);
 
-                for (V item : page.getValues()) {
-                    if (filter.test(item)) {
-                        return item;
-                    }
+            for (V item : page.getValues()) {
+                if (filter.test(item)) {
+                    return item;
                 }
+            }
 
-                limit = page.getLimit();
-                pageNumber = page.getNextPageStart();
-            } while (!page.isLastPage());
+            limit = page.getLimit();
+            pageNumber = page.getNextPageStart();
+        } while (!page.isLastPage());
 
-            return null;
-        } catch (JacksonException e) {
-            throw new IOException("I/O error when parsing response from URL: " + url, e);
-        }
+        return null;
     }
 
     private BufferedImage getImageRequest(String path) throws IOException {
@@ -830,8 +885,7 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
         List<SCMFile> files = new ArrayList<>();
         int start=0;
         String branchOrHash = directory.getHash().contains("+") ? directory.getRef() : directory.getHash();
-        UriTemplate template = UriTemplate
-                .fromTemplate(this.baseURL + API_BROWSE_PATH + "{&start,limit}")
+        BitbucketRoute.Binding template = API_BROWSE_PAGED_ROUTE.bind(this.baseURL)
                 .set("owner", getOwner())
                 .set("repo", repositoryName)
                 .set("path", directory.getPath().split(Operator.PATH.getSeparator()))
@@ -845,13 +899,16 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
         List<Map> values = (List<Map>) page.get("values");
         collectFileAndDirectories(directory, values, files);
         while (!(boolean)page.get("isLastPage")){
-            start += (int) content.get("size");
+            // the page details are in the children, not at the root of the response
+            start = (int) page.get("nextPageStart");
             url = template
                     .set("start", start)
                     .expand();
             response = getRequest(url);
             content = JsonParser.toJava(response, new TypeReference<Map<String, Object>>() {});
             page = (Map) content.get("children");
+            values = (List<Map>) page.get("values");
+            collectFileAndDirectories(directory, values, files);
         }
         return files;
     }
@@ -866,6 +923,8 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
                 fileType = SCMFile.Type.REGULAR_FILE;
             } else if(type.equals("DIRECTORY")){
                 fileType = SCMFile.Type.DIRECTORY;
+            } else if (type.equals("SUBMODULE")) {
+                fileType = SCMFile.Type.OTHER;
             }
             if (!components.isEmpty() && fileType != null) {
                 // revision is set to null as fetched values from server API do not give us revision hash
@@ -877,40 +936,59 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
 
     @Override
     public InputStream getFileContent(BitbucketSCMFile file) throws IOException {
-        List<String> lines = new ArrayList<>();
         int start=0;
         String branchOrHash = file.getHash().contains("+") ? file.getRef() : file.getHash();
-        UriTemplate template = UriTemplate
-                .fromTemplate(this.baseURL + API_BROWSE_PATH + "{&start,limit}")
+        BitbucketRoute.Binding template = API_BROWSE_PAGED_ROUTE.bind(this.baseURL)
                 .set("owner", getOwner())
                 .set("repo", repositoryName)
                 .set("path", file.getPath().split(Operator.PATH.getSeparator()))
                 .set("at", branchOrHash)
                 .set("start", start)
                 .set("limit", 500);
-        String url = template.expand();
-        String response = getRequest(url);
-        Map<String,Object> content = collectLines(response, lines);
+        // lines are streamed to memory and spilled to a temporary file for large files
+        DeferredFileOutputStream out = DeferredFileOutputStream.builder()
+                .setThreshold(FILE_CONTENT_MEMORY_THRESHOLD)
+                .setPrefix("bitbucket-file-")
+                .setSuffix(".tmp")
+                .get();
+        MutableBoolean hasLines = new MutableBoolean(false);
+        try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            String url = template.expand();
+            String response = getRequest(url);
+            Map<String,Object> content = collectLines(response, writer, hasLines);
 
-        while(!(boolean)content.get("isLastPage")){
-            start += (int) content.get("size");
-            url = template
-                    .set("start", start)
-                    .expand();
-            response = getRequest(url);
-            content = collectLines(response, lines);
+            while(!(boolean)content.get("isLastPage")){
+                start += (int) content.get("size");
+                url = template
+                        .set("start", start)
+                        .expand();
+                response = getRequest(url);
+                content = collectLines(response, writer, hasLines);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (!out.isInMemory()) {
+                Files.deleteIfExists(out.getPath());
+            }
+            throw e;
         }
-        return IOUtils.toInputStream(StringUtils.join(lines,'\n'), StandardCharsets.UTF_8);
+        if (out.isInMemory()) {
+            return new ByteArrayInputStream(out.getData());
+        }
+        return Files.newInputStream(out.getPath(), StandardOpenOption.DELETE_ON_CLOSE);
     }
 
-    private Map<String,Object> collectLines(String response, final List<String> lines) throws IOException {
+    private Map<String,Object> collectLines(String response, Writer writer, MutableBoolean hasLines) throws IOException {
         Map<String,Object> content = JsonParser.toJava(response, new TypeReference<Map<String,Object>>(){});
         @SuppressWarnings("unchecked")
         List<Map<String, String>> lineMap = (List<Map<String, String>>) content.get("lines");
         for(Map<String,String> line: lineMap){
             String text = line.get("text");
             if(text != null){
-                lines.add(text);
+                if (hasLines.isTrue()) {
+                    writer.write('\n');
+                }
+                writer.write(text);
+                hasLines.setTrue();
             }
         }
         return content;
@@ -921,7 +999,7 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
     @Override
     public SCMFile getFile(@NonNull BitbucketSCMFile file) throws IOException {
         String branchOrHash = file.getHash().contains("+") ? file.getRef() : file.getHash();
-        String url = UriTemplate.fromTemplate(this.baseURL + API_BROWSE_PATH + "{&type,blame}")
+        String url = API_BROWSE_TYPE_ROUTE.bind(this.baseURL)
                 .set("owner", getOwner())
                 .set("repo", repositoryName)
                 .set("path", file.getPath().split(Operator.PATH.getSeparator()))
@@ -953,7 +1031,7 @@ public class BitbucketServerAPIClient extends AbstractBitbucketApi implements Bi
     @NonNull
     @Override
     public List<BitbucketServerCommit> getCommits(String fromCommit, String toCommit) throws IOException {
-        UriTemplate uriTemplate = UriTemplate.fromTemplate(this.baseURL + API_COMMITS_PATH)
+        BitbucketRoute.Binding uriTemplate = API_COMMITS_ROUTE.bind(this.baseURL)
                 .set("owner", getOwner())
                 .set("repo", repositoryName)
                 .set("since", fromCommit)
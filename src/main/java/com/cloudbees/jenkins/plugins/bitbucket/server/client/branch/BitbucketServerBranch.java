@@ -26,7 +26,12 @@ package com.cloudbees.jenkins.plugins.bitbucket.server.client.branch;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketBranch;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketCommit;
 import com.cloudbees.jenkins.plugins.bitbucket.api.PullRequestBranchType;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.util.StringInterner;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.text.MessageFormat;
 import java.util.Date;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -35,6 +40,8 @@ import org.kohsuke.accmod.restrictions.NoExternalUse;
 
 public class BitbucketServerBranch implements BitbucketBranch {
     private static final Logger LOGGER = Logger.getLogger(BitbucketServerBranch.class.getName());
+    private static final String LATEST_COMMIT_METADATA = "com.atlassian.bitbucket.server.bitbucket-branch:latest-commit-metadata";
+    private static final String GIT_COMMIT_AUTHOR = "{0} <{1}>";
 
     private String displayId;
 
@@ -52,8 +59,8 @@ public class BitbucketServerBranch implements BitbucketBranch {
     }
 
     public BitbucketServerBranch(String name, String headHash) {
-        this.displayId = name;
-        this.latestCommit = headHash;
+        this.displayId = StringInterner.intern(name);
+        this.latestCommit = StringInterner.intern(headHash);
     }
 
     @Override
@@ -76,19 +83,19 @@ public class BitbucketServerBranch implements BitbucketBranch {
     }
 
     public void setDisplayId(String displayId) {
-        this.displayId = displayId;
+        this.displayId = StringInterner.intern(displayId);
     }
 
     public void setLatestCommit(String latestCommit) {
-        this.latestCommit = latestCommit;
+        this.latestCommit = StringInterner.intern(latestCommit);
     }
 
     public void setName(String displayId) {
-        this.displayId = displayId;
+        this.displayId = StringInterner.intern(displayId);
     }
 
     public void setRawNode(String latestCommit) {
-        this.latestCommit = latestCommit;
+        this.latestCommit = StringInterner.intern(latestCommit);
     }
 
     public synchronized void setTimestamp(long timestamp) {
@@ -119,6 +126,31 @@ public class BitbucketServerBranch implements BitbucketBranch {
         return message;
     }
 
+    /**
+     * Reads the head commit details returned with the branch when listing with {@code details=true}, so that they
+     * do not have to be resolved with a further request.
+     *
+     * @param metadata the branch metadata provided by the plugins of Bitbucket Data Center
+     */
+    @JsonProperty("metadata")
+    public synchronized void setMetadata(Map<String, JsonNode> metadata) {
+        JsonNode commit = metadata == null ? null : metadata.get(LATEST_COMMIT_METADATA);
+        if (commit == null || !commit.isObject()) {
+            return;
+        }
+        if (commit.path("committerTimestamp").isNumber()) {
+            this.timestamp = commit.get("committerTimestamp").asLong();
+        }
+        if (commit.path("message").isTextual()) {
+            this.message = commit.get("message").asText();
+        }
+        JsonNode commitAuthor = commit.path("author");
+        if (commitAuthor.path("name").isTextual()) {
+            this.author = StringInterner.intern(MessageFormat.format(GIT_COMMIT_AUTHOR,
+                    commitAuthor.get("name").asText(), commitAuthor.path("emailAddress").asText()));
+        }
+    }
+
     public void setMessage(String message) {
         this.message = message;
     }
@@ -132,7 +164,7 @@ public class BitbucketServerBranch implements BitbucketBranch {
     }
 
     public void setAuthor(String author) {
-        this.author = author;
+        this.author = StringInterner.intern(author);
     }
 
     private synchronized void initHeadCommitInfo() {
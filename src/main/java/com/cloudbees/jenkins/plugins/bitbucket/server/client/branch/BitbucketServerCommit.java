@@ -24,9 +24,13 @@
 package com.cloudbees.jenkins.plugins.bitbucket.server.client.branch;
 
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketCommit;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.util.DateDeserializers;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.util.DateUtils;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.util.StringInterner;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.text.MessageFormat;
@@ -43,7 +47,7 @@ public class BitbucketServerCommit implements BitbucketCommit {
 
         @JsonCreator
         public Parent(@NonNull @JsonProperty("id") String hash) {
-            this.hash = hash;
+            this.hash = StringInterner.intern(hash);
         }
 
         public String getHash() {
@@ -54,23 +58,23 @@ public class BitbucketServerCommit implements BitbucketCommit {
     private String message;
     private String hash;
     private String author;
-    private Date authorDate;
+    private long authorDate;
     private String committer;
-    private Date committerDate;
+    private long committerDate;
     private List<String> parents;
 
     @JsonCreator
     public BitbucketServerCommit(@NonNull @JsonProperty("message") String message,
                                  @NonNull @JsonProperty("id") String hash,
                                  @Nullable @JsonProperty("committer") BitbucketServerAuthor committer,
-                                 @NonNull @JsonProperty("committerTimestamp") Date committerDate,
+                                 @JsonProperty("committerTimestamp") @JsonDeserialize(using = DateDeserializers.EpochMillis.class) long committerDate,
                                  @Nullable @JsonProperty("author") BitbucketServerAuthor author,
-                                 @NonNull @JsonProperty("authorTimestamp") Date authorDate,
+                                 @JsonProperty("authorTimestamp") @JsonDeserialize(using = DateDeserializers.EpochMillis.class) long authorDate,
                                  @Nullable @JsonProperty("parents") List<Parent> parents) {
         // date it is not in the payload
         this(message, hash, committerDate, author != null ? MessageFormat.format(GIT_COMMIT_AUTHOR, author.getName(), author.getEmail()) : null);
         if (committer != null) {
-            this.committer = MessageFormat.format(GIT_COMMIT_AUTHOR, committer.getName(), committer.getEmail());
+            this.committer = StringInterner.intern(MessageFormat.format(GIT_COMMIT_AUTHOR, committer.getName(), committer.getEmail()));
         }
         this.authorDate = authorDate;
         if (parents != null) {
@@ -78,15 +82,19 @@ public class BitbucketServerCommit implements BitbucketCommit {
         }
     }
 
-    public BitbucketServerCommit(String message, String hash, Date date, String author) {
+    public BitbucketServerCommit(String message, String hash, long date, String author) {
         this.message = message;
-        this.hash = hash;
+        this.hash = StringInterner.intern(hash);
         this.committerDate = date;
-        this.author = author;
+        this.author = StringInterner.intern(author);
+    }
+
+    public BitbucketServerCommit(String message, String hash, Date date, String author) {
+        this(message, hash, toMillis(date), author);
     }
 
     public BitbucketServerCommit(String hash) {
-        this.hash = hash;
+        this.hash = StringInterner.intern(hash);
     }
 
     @Override
@@ -104,19 +112,19 @@ public class BitbucketServerCommit implements BitbucketCommit {
     }
 
     public void setHash(String hash) {
-        this.hash = hash;
+        this.hash = StringInterner.intern(hash);
     }
 
     @Deprecated(since = "936.1.0", forRemoval = true)
     @Override
     public String getDate() {
-        return DateUtils.formatToISO(committerDate);
+        return committerDate != 0 ? DateUtils.formatToISO(committerDate) : null;
     }
 
     @Deprecated(since = "936.1.0", forRemoval = true)
     @Override
     public long getDateMillis() {
-        return committerDate != null ? committerDate.getTime(): 0;
+        return committerDate;
     }
 
     @Override
@@ -125,16 +133,16 @@ public class BitbucketServerCommit implements BitbucketCommit {
     }
 
     public void setAuthor(String author) {
-        this.author = author;
+        this.author = StringInterner.intern(author);
     }
 
     @Override
     public Date getAuthorDate() {
-        return authorDate;
+        return toDate(authorDate);
     }
 
     public void setAuthorDate(Date authorDate) {
-        this.authorDate = authorDate;
+        this.authorDate = toMillis(authorDate);
     }
 
     @Override
@@ -143,20 +151,29 @@ public class BitbucketServerCommit implements BitbucketCommit {
     }
 
     public void setCommitter(String committer) {
-        this.committer = committer;
+        this.committer = StringInterner.intern(committer);
     }
 
     @Override
     public Date getCommitterDate() {
-        return committerDate;
+        return toDate(committerDate);
     }
 
     public void setCommitter(Date committerDate) {
-        this.committerDate = committerDate;
+        this.committerDate = toMillis(committerDate);
     }
 
     @Override
     public Collection<String> getParents() {
         return Collections.unmodifiableCollection(parents);
     }
+
+    private static long toMillis(@CheckForNull Date date) {
+        return date != null ? date.getTime() : 0L;
+    }
+
+    @CheckForNull
+    private static Date toDate(long millis) {
+        return millis != 0 ? new Date(millis) : null;
+    }
 }
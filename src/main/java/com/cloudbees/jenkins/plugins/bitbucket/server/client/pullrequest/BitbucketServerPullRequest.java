@@ -35,8 +35,14 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
 
 public class BitbucketServerPullRequest implements BitbucketPullRequest {
+    private static final Logger LOGGER = Logger.getLogger(BitbucketServerPullRequest.class.getName());
 
     private String id;
 
@@ -60,8 +66,12 @@ public class BitbucketServerPullRequest implements BitbucketPullRequest {
 
     private Boolean canMerge;
 
+    private transient Callable<Boolean> canMergeClosure;
+
     private boolean draft;
 
+    private String state;
+
     @JsonProperty
     @JsonDeserialize(keyAs = String.class, contentUsing = BitbucketHref.Deserializer.class)
     private Map<String, List<BitbucketHref>> links;
@@ -149,15 +159,36 @@ public class BitbucketServerPullRequest implements BitbucketPullRequest {
         }
     }
 
+    /**
+     * Returns whether the pull request can be merged. The merge status is
+     * expensive for the server to compute, so when it was not provided it is
+     * requested on first access only, and again on the next access if the
+     * request failed.
+     *
+     * @return the merge status or {@code null} if it is unknown
+     */
     @CheckForNull
-    public Boolean isCanMerge() {
+    public synchronized Boolean isCanMerge() {
+        if (canMerge == null && canMergeClosure != null) {
+            try {
+                canMerge = canMergeClosure.call();
+                canMergeClosure = null;
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Could not determine the merge status of pull request " + id, e);
+            }
+        }
         return canMerge;
     }
 
-    public void setCanMerge(Boolean canMerge) {
+    public synchronized void setCanMerge(Boolean canMerge) {
         this.canMerge = canMerge;
     }
 
+    @Restricted(NoExternalUse.class)
+    public synchronized void setCanMergeClosure(Callable<Boolean> canMergeClosure) {
+        this.canMergeClosure = canMergeClosure;
+    }
+
     @Override
     public boolean isDraft() {
         return draft;
@@ -167,6 +198,20 @@ public class BitbucketServerPullRequest implements BitbucketPullRequest {
         this.draft = draft;
     }
 
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isOpen() {
+        return state == null || "OPEN".equals(state);
+    }
+
     @JsonIgnore
     public Map<String, BitbucketHref> getLinks() {
         if (links == null) {
@@ -26,17 +26,20 @@ package com.cloudbees.jenkins.plugins.bitbucket.server.client.pullrequest;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketBranch;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketCommit;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequestDestination;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.util.StringInterner;
 import com.cloudbees.jenkins.plugins.bitbucket.server.client.branch.BitbucketServerBranch;
 import com.cloudbees.jenkins.plugins.bitbucket.server.client.branch.BitbucketServerCommit;
 import com.cloudbees.jenkins.plugins.bitbucket.server.client.repository.BitbucketServerRepository;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import java.util.Date;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 public class BitbucketServerPullRequestDestination implements BitbucketPullRequestDestination {
 
     @JsonProperty("displayId")
+    @JsonDeserialize(using = StringInterner.Deserializer.class)
     private String branchName;
     @JsonProperty
+    @JsonDeserialize(using = StringInterner.Deserializer.class)
     private String latestCommit;
 
     private BitbucketServerRepository repository;
@@ -60,7 +63,7 @@ public class BitbucketServerPullRequestDestination implements BitbucketPullReque
     @Override
     public BitbucketCommit getCommit() {
         if (branch != null && commit == null) {
-            commit = new BitbucketServerCommit(branch.getMessage(), latestCommit, branch.getDateMillis() > 0 ? new Date(branch.getDateMillis()) : null, branch.getAuthor());
+            commit = new BitbucketServerCommit(branch.getMessage(), latestCommit, branch.getDateMillis(), branch.getAuthor());
         }
         return commit;
     }
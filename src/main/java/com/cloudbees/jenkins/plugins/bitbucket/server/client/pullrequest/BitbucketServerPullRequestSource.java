@@ -27,21 +27,25 @@ import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketBranch;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketCommit;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequestSource;
 import com.cloudbees.jenkins.plugins.bitbucket.api.PullRequestBranchType;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.util.StringInterner;
 import com.cloudbees.jenkins.plugins.bitbucket.server.client.branch.BitbucketServerBranch;
 import com.cloudbees.jenkins.plugins.bitbucket.server.client.branch.BitbucketServerCommit;
 import com.cloudbees.jenkins.plugins.bitbucket.server.client.repository.BitbucketServerRepository;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import java.util.Date;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 public class BitbucketServerPullRequestSource implements BitbucketPullRequestSource {
 
     @JsonProperty("id")
+    @JsonDeserialize(using = StringInterner.Deserializer.class)
     private String refId;
     @JsonProperty("displayId")
+    @JsonDeserialize(using = StringInterner.Deserializer.class)
     private String branchName;
     @JsonProperty("type")
     private PullRequestBranchType branchType;
     @JsonProperty
+    @JsonDeserialize(using = StringInterner.Deserializer.class)
     private String latestCommit;
 
     private BitbucketServerCommit commit;
@@ -73,7 +77,7 @@ public class BitbucketServerPullRequestSource implements BitbucketPullRequestSou
     @Override
     public BitbucketCommit getCommit() {
         if (branch != null && commit == null) {
-            commit = new BitbucketServerCommit(branch.getMessage(), latestCommit, branch.getDateMillis() > 0 ? new Date(branch.getDateMillis()) : null, branch.getAuthor());
+            commit = new BitbucketServerCommit(branch.getMessage(), latestCommit, branch.getDateMillis(), branch.getAuthor());
         }
         return commit;
     }
@@ -25,6 +25,7 @@ package com.cloudbees.jenkins.plugins.bitbucket.server.client.repository;
 
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketHref;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketTeam;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.util.StringInterner;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import java.util.List;
@@ -33,6 +34,7 @@ import java.util.Map;
 public class BitbucketServerProject implements BitbucketTeam {
 
     @JsonProperty("key")
+    @JsonDeserialize(using = StringInterner.Deserializer.class)
     private String name;
 
     @JsonProperty("name")
@@ -27,6 +27,7 @@ import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketHref;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketProject;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRepository;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRepositoryOwner;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.util.StringInterner;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
@@ -41,11 +42,13 @@ public class BitbucketServerRepository implements BitbucketRepository {
 
     @Deprecated
     @JsonProperty("scmId")
+    @JsonDeserialize(using = StringInterner.Deserializer.class)
     private String scm;
 
     private BitbucketProject project;
 
     @JsonProperty("slug")
+    @JsonDeserialize(using = StringInterner.Deserializer.class)
     private String repositoryName;
 
     @JsonProperty("public")
@@ -24,6 +24,7 @@
 package com.cloudbees.jenkins.plugins.bitbucket.server.client.repository;
 
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRepositoryOwner;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.util.StringInterner;
 
 public class BitbucketServerRepositoryOwner implements BitbucketRepositoryOwner {
 
@@ -32,7 +33,7 @@ public class BitbucketServerRepositoryOwner implements BitbucketRepositoryOwner
     private String displayName;
 
     public BitbucketServerRepositoryOwner(String username, String displayName) {
-        this.username = username;
+        this.username = StringInterner.intern(username);
         this.displayName = displayName;
     }
 
@@ -47,7 +48,7 @@ public class BitbucketServerRepositoryOwner implements BitbucketRepositoryOwner
     }
 
     public void setUsername(String username) {
-        this.username = username;
+        this.username = StringInterner.intern(username);
     }
 
     public void setDisplayName(String displayName) {
@@ -27,8 +27,6 @@ import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSourceContext;
 import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSourceRequest;
 import com.cloudbees.jenkins.plugins.bitbucket.BranchSCMHead;
 import com.cloudbees.jenkins.plugins.bitbucket.Messages;
-import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequest;
-import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRepository;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
 import hudson.util.ListBoxModel;
@@ -44,7 +42,6 @@ import jenkins.scm.api.trait.SCMSourceContext;
 import jenkins.scm.api.trait.SCMSourceRequest;
 import jenkins.scm.api.trait.SCMSourceTrait;
 import jenkins.scm.impl.trait.Discovery;
-import org.apache.commons.lang3.Strings;
 import org.jenkinsci.Symbol;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
@@ -227,16 +224,11 @@ public class BranchDiscoveryTrait extends SCMSourceTrait {
         public boolean isExcluded(@NonNull SCMSourceRequest request, @NonNull SCMHead head) {
             if (head instanceof BranchSCMHead && request instanceof BitbucketSCMSourceRequest) {
                 BitbucketSCMSourceRequest req = (BitbucketSCMSourceRequest) request;
-                String fullName = req.getRepoOwner() + "/" + req.getRepository();
                 try {
-                    for (BitbucketPullRequest pullRequest : req.getPullRequests()) {
-                        BitbucketRepository source = pullRequest.getSource().getRepository();
-                        if (Strings.CI.equals(fullName, source.getFullName())
-                                && pullRequest.getSource().getBranch().getName().equals(head.getName())) {
-                            request.listener().getLogger().println("Discard branch " + head.getName()
-                                    + " because current strategy excludes branches that are also filed as a pull request");
-                            return true;
-                        }
+                    if (req.getOriginPullRequestBranchNames().contains(head.getName())) {
+                        request.listener().getLogger().println("Discard branch " + head.getName()
+                                + " because current strategy excludes branches that are also filed as a pull request");
+                        return true;
                     }
                 } catch (IOException | InterruptedException e) {
                     // should never happens because data in the requests has been already initialised
@@ -258,14 +250,9 @@ public class BranchDiscoveryTrait extends SCMSourceTrait {
         public boolean isExcluded(@NonNull SCMSourceRequest request, @NonNull SCMHead head) {
             if (head instanceof BranchSCMHead && request instanceof BitbucketSCMSourceRequest) {
                 BitbucketSCMSourceRequest req = (BitbucketSCMSourceRequest) request;
-                String fullName = req.getRepoOwner() + "/" + req.getRepository();
                 try {
-                    for (BitbucketPullRequest pullRequest : req.getPullRequests()) {
-                        BitbucketRepository source = pullRequest.getSource().getRepository();
-                        if (fullName.equalsIgnoreCase(source.getFullName())
-                                && pullRequest.getSource().getBranch().getName().equals(head.getName())) {
-                            return false;
-                        }
+                    if (req.getOriginPullRequestBranchNames().contains(head.getName())) {
+                        return false;
                     }
                     request.listener().getLogger().println("Discard branch " + head.getName()
                             + " because current strategy excludes branches that are not also filed as a pull request");
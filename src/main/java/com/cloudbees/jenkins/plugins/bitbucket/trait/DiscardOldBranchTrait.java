@@ -32,7 +32,9 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
 import hudson.util.FormValidation;
 import java.io.IOException;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
 import jenkins.scm.api.SCMHead;
 import jenkins.scm.api.trait.SCMHeadFilter;
 import jenkins.scm.api.trait.SCMSourceContext;
@@ -84,12 +86,11 @@ public class DiscardOldBranchTrait extends SCMSourceTrait {
                     branchName = prHead.getBranchName();
                 }
 
-                for (BitbucketBranch branch : bbRequest.getBranches()) {
-                    if (branchName.equals(branch.getName())) {
-                        LocalDate commitDate = asLocalDate(branch.getDateMillis());
-                        LocalDate expiryDate = LocalDate.now().minusDays(keepForDays);
-                        return commitDate.isBefore(expiryDate);
-                    }
+                BitbucketBranch branch = bbRequest.getBranchByName(branchName);
+                if (branch != null) {
+                    LocalDate commitDate = asLocalDate(branch.getDateMillis());
+                    LocalDate expiryDate = LocalDate.now().minusDays(keepForDays);
+                    return commitDate.isBefore(expiryDate);
                 }
             }
             return false;
@@ -97,7 +98,7 @@ public class DiscardOldBranchTrait extends SCMSourceTrait {
 
         @NonNull
         private LocalDate asLocalDate(@NonNull long milliseconds) {
-            return new java.sql.Date(milliseconds).toLocalDate();
+            return LocalDate.ofInstant(Instant.ofEpochMilli(milliseconds), ZoneId.systemDefault());
         }
     }
 
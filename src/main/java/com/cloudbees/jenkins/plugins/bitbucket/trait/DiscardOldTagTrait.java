@@ -28,7 +28,9 @@ import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
 import hudson.util.FormValidation;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
 import jenkins.scm.api.SCMHead;
 import jenkins.scm.api.SCMSource;
 import jenkins.scm.api.mixin.TagSCMHead;
@@ -87,7 +89,7 @@ public class DiscardOldTagTrait extends SCMSourceTrait {
 
         @NonNull
         private LocalDate asLocalDate(@NonNull long milliseconds) {
-            return new java.sql.Date(milliseconds).toLocalDate();
+            return LocalDate.ofInstant(Instant.ofEpochMilli(milliseconds), ZoneId.systemDefault());
         }
     }
 
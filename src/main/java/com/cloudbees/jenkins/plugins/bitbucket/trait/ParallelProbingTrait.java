@@ -0,0 +1,92 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.trait;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSourceContext;
+import com.cloudbees.jenkins.plugins.bitbucket.Messages;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.util.FormValidation;
+import jenkins.scm.api.trait.SCMSourceContext;
+import jenkins.scm.api.trait.SCMSourceTrait;
+import org.jenkinsci.Symbol;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+
+/**
+ * A {@link SCMSourceTrait} that probes the criteria of many heads at the
+ * same time during a scan. Heads are still observed one at a time and in the
+ * same order as without this trait.
+ */
+public class ParallelProbingTrait extends SCMSourceTrait {
+
+    /**
+     * The maximum number of concurrent probes of a single scan.
+     */
+    public static final int MAX_PARALLELISM = 32;
+
+    private final int parallelism;
+
+    @DataBoundConstructor
+    public ParallelProbingTrait(int parallelism) {
+        this.parallelism = Math.min(Math.max(1, parallelism), MAX_PARALLELISM);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void decorateContext(SCMSourceContext<?, ?> context) {
+        ((BitbucketSCMSourceContext) context).withProbeParallelism(parallelism);
+    }
+
+    /**
+     * Our descriptor.
+     */
+    @Symbol("bitbucketParallelProbing")
+    @Extension
+    public static class DescriptorImpl extends BitbucketSCMSourceTraitDescriptor {
+
+        public FormValidation doCheckParallelism(@QueryParameter final int parallelism) {
+            if (parallelism < 1 || parallelism > MAX_PARALLELISM) {
+                return FormValidation.error(Messages.ParallelProbingTrait_invalidParallelism(MAX_PARALLELISM));
+            }
+            return FormValidation.ok();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return Messages.ParallelProbingTrait_displayName();
+        }
+    }
+
+}
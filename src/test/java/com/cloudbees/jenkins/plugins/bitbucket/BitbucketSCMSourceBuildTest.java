@@ -26,6 +26,7 @@ package com.cloudbees.jenkins.plugins.bitbucket;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketApi;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketHref;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketMockApiFactory;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketProject;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRepository;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.extension.BitbucketEnvVarExtension;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.extension.GitClientAuthenticatorExtension;
@@ -65,6 +66,8 @@ import org.jvnet.hudson.test.recipes.WithTimeout;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -302,6 +305,37 @@ class BitbucketSCMSourceBuildTest {
         return sshCredentials;
     }
 
+    @Test
+    void buildDoesNotFetchTheRepositoryForEachBuild() throws Exception {
+        BitbucketSCMSource scmSource = new BitbucketSCMSource(CLOUD_REPO_OWNER, REPO_NAME);
+        scmSource.setServerUrl("http://localhost:7990/bitbucket");
+        scmSource.setTraits(List.of(new BranchDiscoveryTrait(1)));
+
+        BitbucketProject project = new BitbucketProject();
+        project.setKey("CLOUDBEERS");
+        BitbucketRepository repository = mock(BitbucketRepository.class);
+        when(repository.getCloneLinks()).thenReturn(List.of(
+            new BitbucketHref("http", "http://localhost:7990/bitbucket/scm/cloudbeers/stunning-adventure.git")
+        ));
+        when(repository.getProject()).thenReturn(project);
+        BitbucketServerAPIClient client = mock(BitbucketServerAPIClient.class);
+        BitbucketMockApiFactory.add(scmSource.getServerUrl(), client);
+        when(client.getRepository()).thenReturn(repository);
+
+        BranchSCMHead head = new BranchSCMHead(BRANCH_NAME);
+        for (int i = 0; i < 3; i++) {
+            GitSCM build = (GitSCM) scmSource.build(head, null);
+            assertThat(build.getExtensions().get(BitbucketEnvVarExtension.class))
+                .isNotNull()
+                .extracting(BitbucketEnvVarExtension::getProjectKey)
+                .isEqualTo("CLOUDBEERS");
+        }
+
+        // only the first build after a restart fetches the repository, and closes its client
+        verify(client, times(1)).getRepository();
+        verify(client, times(1)).close();
+    }
+
     private StandardUsernameCredentials registerUserCredentials() throws FormException, IOException {
         StandardUsernameCredentials userPassCredentials = new UsernamePasswordCredentialsImpl(CredentialsScope.GLOBAL,
                 "user-pass", null, "user", "pass");
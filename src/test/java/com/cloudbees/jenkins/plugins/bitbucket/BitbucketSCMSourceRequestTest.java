@@ -0,0 +1,297 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BranchScanningTest.SCMHeadObserverImpl;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketApi;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketBranch;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketMockApiFactory;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequest;
+import com.cloudbees.jenkins.plugins.bitbucket.api.PullRequestBranchType;
+import com.cloudbees.jenkins.plugins.bitbucket.client.BitbucketCloudApiClient;
+import com.cloudbees.jenkins.plugins.bitbucket.client.branch.BitbucketCloudBranch;
+import com.cloudbees.jenkins.plugins.bitbucket.filesystem.BitbucketSCMFile;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketProbeCache;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.endpoint.BitbucketCloudEndpoint;
+import com.cloudbees.jenkins.plugins.bitbucket.test.util.BitbucketClientMockUtils;
+import com.cloudbees.jenkins.plugins.bitbucket.trait.BranchDiscoveryTrait;
+import com.cloudbees.jenkins.plugins.bitbucket.trait.ParallelProbingTrait;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import jenkins.scm.api.SCMFile;
+import jenkins.scm.api.SCMFile.Type;
+import jenkins.scm.api.SCMHead;
+import jenkins.scm.api.SCMHeadObserver;
+import jenkins.scm.api.SCMHeadOrigin;
+import jenkins.scm.api.SCMProbe;
+import jenkins.scm.api.SCMProbeStat;
+import jenkins.scm.api.SCMRevision;
+import jenkins.scm.api.mixin.ChangeRequestCheckoutStrategy;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WithJenkins
+class BitbucketSCMSourceRequestTest {
+
+    private static final Set<String> ROOT_FILES = Set.of("Jenkinsfile", "README.md");
+
+    @SuppressWarnings("unused")
+    private static JenkinsRule rule;
+
+    private BitbucketCloudApiClient client;
+
+    @BeforeAll
+    static void init(JenkinsRule rule) {
+        BitbucketSCMSourceRequestTest.rule = rule;
+    }
+
+    @BeforeEach
+    void setup() throws Exception {
+        BitbucketMockApiFactory.clear();
+        BitbucketProbeCache.clear();
+        client = BitbucketClientMockUtils.getAPIClientMock(false, false);
+        List<BitbucketBranch> branches = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            branches.add(new BitbucketCloudBranch("branch" + i, String.format("%040x", 0xfeed + i), 0));
+        }
+        when(client.getBranches()).thenReturn(branches);
+        when(client.getFile(any())).then(invocation -> {
+            BitbucketSCMFile file = invocation.getArgument(0);
+            Type type = ROOT_FILES.contains(file.getPath()) || ".ci/pipeline.yml".equals(file.getPath())
+                    ? Type.REGULAR_FILE
+                    : Type.NONEXISTENT;
+            return new BitbucketSCMFile(file, file.getPath(), type, file.getHash());
+        });
+        when(client.getDirectoryContent(any())).then(invocation -> {
+            BitbucketSCMFile directory = invocation.getArgument(0);
+            List<SCMFile> children = new ArrayList<>();
+            if (directory.getPath().isEmpty()) {
+                ROOT_FILES.forEach(name -> children.add(directory.child(name, Type.REGULAR_FILE)));
+                children.add(directory.child(".ci", Type.DIRECTORY));
+            }
+            return children;
+        });
+        BitbucketMockApiFactory.add(BitbucketCloudEndpoint.SERVER_URL, client);
+    }
+
+    @Test
+    void paths_of_a_directory_are_answered_by_one_listing() throws Exception {
+        SCMHeadObserverImpl observer = new SCMHeadObserverImpl();
+        source().fetch(observer, BitbucketClientMockUtils.getTaskListenerMock());
+
+        assertThat(observer.getBranches()).containsExactly("branch0", "branch1", "branch2", "branch3");
+        // the first head looks up Jenkinsfile on its own and lists the root for pom.xml,
+        // the other heads list the root once for both
+        verify(client, times(4)).getDirectoryContent(any());
+        // .ci/pipeline.yml is the only path asked in its directory, it is looked up directly
+        verify(client, times(5)).getFile(any());
+    }
+
+    @Test
+    void paths_are_looked_up_when_the_directory_can_not_be_listed() throws Exception {
+        when(client.getDirectoryContent(any())).thenThrow(new IOException("boom"));
+        SCMHeadObserverImpl observer = new SCMHeadObserverImpl();
+        source().fetch(observer, BitbucketClientMockUtils.getTaskListenerMock());
+
+        assertThat(observer.getBranches()).containsExactly("branch0", "branch1", "branch2", "branch3");
+        verify(client, atLeastOnce()).getDirectoryContent(any());
+        verify(client, times(12)).getFile(any());
+    }
+
+    @Test
+    void fork_clients_are_shared_and_closed_with_the_request() throws Exception {
+        BitbucketSCMSource source = spy(source());
+        List<BitbucketApi> forkClients = new ArrayList<>();
+        doAnswer(invocation -> {
+            BitbucketApi forkClient = mock(BitbucketApi.class);
+            forkClients.add(forkClient);
+            return forkClient;
+        }).when(source).buildBitbucketClient(anyString(), anyString());
+
+        BitbucketSCMSourceRequest request = new BitbucketSCMSourceContext(null, SCMHeadObserver.none())
+            .withTraits(source.getTraits())
+            .newRequest(source, BitbucketClientMockUtils.getTaskListenerMock());
+        BitbucketApi forkClient = request.getForkClient("contributor", "test-repos");
+        assertThat(request.getForkClient("Contributor", "Test-Repos")).isSameAs(forkClient);
+        assertThat(request.getForkClient("other", "test-repos")).isNotSameAs(forkClient);
+        assertThat(forkClients).hasSize(2);
+
+        assertThat(request.isRepositoryPrivate()).isFalse();
+        assertThat(request.isRepositoryPrivate()).isFalse();
+        verify(client, times(1)).isPrivate();
+
+        request.close();
+        for (BitbucketApi c : forkClients) {
+            verify(c).close();
+        }
+    }
+
+    @Test
+    void fork_clients_are_closed_after_background_probes() throws Exception {
+        BitbucketSCMSource source = spy(source());
+        source.setTraits(List.of(new BranchDiscoveryTrait(true, true), new ParallelProbingTrait(2)));
+        BitbucketApi forkClient = mock(BitbucketApi.class);
+        doReturn(forkClient).when(source).buildBitbucketClient(anyString(), anyString());
+        AtomicInteger probing = new AtomicInteger();
+        AtomicBoolean closedWhileProbing = new AtomicBoolean();
+        doAnswer(invocation -> {
+            closedWhileProbing.compareAndSet(false, probing.get() > 0);
+            return null;
+        }).when(forkClient).close();
+
+        BitbucketSCMSourceRequest request = new BitbucketSCMSourceContext(source.getOwner().getSCMSourceCriteria(source), SCMHeadObserver.none())
+            .withTraits(source.getTraits())
+            .newRequest(source, BitbucketClientMockUtils.getTaskListenerMock());
+        CountDownLatch started = new CountDownLatch(1);
+        SCMProbe probe = mock(SCMProbe.class);
+        when(probe.stat(anyString())).then(invocation -> {
+            probing.incrementAndGet();
+            try {
+                request.getForkClient("contributor", "test-repos");
+                started.countDown();
+                // a request in flight does not stop when interrupted
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+                while (System.nanoTime() < deadline) {
+                    Thread.onSpinWait();
+                }
+                return SCMProbeStat.fromType(Type.REGULAR_FILE);
+            } finally {
+                probing.decrementAndGet();
+            }
+        });
+        request.<String>prefetchProbe(new BranchSCMHead("branch0"), null, (h, i) -> probe);
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        request.close();
+
+        verify(forkClient).close();
+        assertThat(closedWhileProbing).isFalse();
+    }
+
+    @Test
+    void requested_branches_are_looked_up_instead_of_listed() throws Exception {
+        when(client.getBranch("branch2")).thenReturn(new BitbucketCloudBranch("branch2", String.format("%040x", 0xfeed + 2), 0));
+
+        SCMRevision revision = source().fetch(new BranchSCMHead("branch2"), BitbucketClientMockUtils.getTaskListenerMock());
+
+        assertThat(revision).isNotNull();
+        assertThat(revision.getHead().getName()).isEqualTo("branch2");
+        verify(client).getBranch("branch2");
+        verify(client, never()).getBranches();
+    }
+
+    @Test
+    void requested_pull_requests_are_looked_up_instead_of_listed() throws Exception {
+        doReturn(BitbucketClientMockUtils.getPullRequest("1", null)).when(client).getPullRequestById(1);
+
+        try (BitbucketSCMSourceRequest request = request(pullRequestHead("1"))) {
+            assertThat(request.getPullRequests()).extracting(BitbucketPullRequest::getId).containsExactly("1");
+        }
+        verify(client).getPullRequestById(1);
+        verify(client, never()).getPullRequests();
+    }
+
+    @Test
+    void requested_pull_requests_that_are_closed_are_skipped() throws Exception {
+        doReturn(BitbucketClientMockUtils.getPullRequest("1", "OPEN")).when(client).getPullRequestById(1);
+        doReturn(BitbucketClientMockUtils.getPullRequest("2", "MERGED")).when(client).getPullRequestById(2);
+        doReturn(BitbucketClientMockUtils.getPullRequest("3", "DECLINED")).when(client).getPullRequestById(3);
+
+        try (BitbucketSCMSourceRequest request = request(pullRequestHead("1"), pullRequestHead("2"), pullRequestHead("3"))) {
+            assertThat(request.getPullRequests()).extracting(BitbucketPullRequest::getId).containsExactly("1");
+        }
+        verify(client, never()).getPullRequests();
+    }
+
+    @Test
+    void requested_tags_are_looked_up_instead_of_listed() throws Exception {
+        when(client.getTag("v1.0")).thenReturn(new BitbucketCloudBranch("v1.0", String.format("%040x", 0xfeed), 0));
+
+        try (BitbucketSCMSourceRequest request = request(new BitbucketTagSCMHead("v1.0", 0), new BitbucketTagSCMHead("v0.9", 0))) {
+            // v0.9 does not exist
+            assertThat(request.getTags()).extracting(BitbucketBranch::getName).containsExactly("v1.0");
+        }
+        verify(client).getTag("v1.0");
+        verify(client).getTag("v0.9");
+        verify(client, never()).getTags();
+    }
+
+    @Test
+    void many_requested_branches_are_listed() throws Exception {
+        // one more than the targeted fetch limit
+        SCMHead[] heads = new SCMHead[11];
+        for (int i = 0; i < heads.length; i++) {
+            heads[i] = new BranchSCMHead("branch" + i);
+        }
+
+        try (BitbucketSCMSourceRequest request = request(heads)) {
+            assertThat(request.getBranches()).extracting(BitbucketBranch::getName)
+                .containsExactly("branch0", "branch1", "branch2", "branch3");
+        }
+        verify(client).getBranches();
+        verify(client, never()).getBranch(anyString());
+    }
+
+    private BitbucketSCMSourceRequest request(SCMHead... heads) {
+        BitbucketSCMSource source = source();
+        return new BitbucketSCMSourceContext(null, SCMHeadObserver.filter(SCMHeadObserver.none(), heads))
+            .withTraits(source.getTraits())
+            .newRequest(source, BitbucketClientMockUtils.getTaskListenerMock());
+    }
+
+    private static PullRequestSCMHead pullRequestHead(String id) {
+        return new PullRequestSCMHead("PR-" + id, "otheruser", "test-repos", "my-feature-branch", PullRequestBranchType.BRANCH,
+                id, "title", new BranchSCMHead("branch1"), new SCMHeadOrigin.Fork("otheruser/test-repos"),
+                ChangeRequestCheckoutStrategy.HEAD);
+    }
+
+    private BitbucketSCMSource source() {
+        return BitbucketClientMockUtils.getSCMSource(null,
+                (probe, listener) -> probe.stat("Jenkinsfile").exists()
+                        & !probe.stat("pom.xml").exists()
+                        & probe.stat(".ci/pipeline.yml").exists(),
+                new BranchDiscoveryTrait(true, true));
+    }
+}
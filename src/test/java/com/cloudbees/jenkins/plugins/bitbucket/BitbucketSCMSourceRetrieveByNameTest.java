@@ -23,15 +23,21 @@
  */
 package com.cloudbees.jenkins.plugins.bitbucket;
 
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketCommit;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketMockApiFactory;
 import com.cloudbees.jenkins.plugins.bitbucket.client.BitbucketCloudApiClient;
 import com.cloudbees.jenkins.plugins.bitbucket.client.branch.BitbucketCloudBranch;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketWorkloadClass;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.endpoint.BitbucketCloudEndpoint;
 import com.cloudbees.jenkins.plugins.bitbucket.test.util.BitbucketClientMockUtils;
 import com.cloudbees.jenkins.plugins.bitbucket.trait.BranchDiscoveryTrait;
 import com.cloudbees.jenkins.plugins.bitbucket.trait.TagDiscoveryTrait;
 import hudson.model.TaskListener;
 import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import jenkins.plugins.git.AbstractGitSCMSource.SCMRevisionImpl;
 import jenkins.scm.api.SCMRevision;
 import jenkins.scm.api.SCMSource;
@@ -45,7 +51,11 @@ import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @WithJenkins
@@ -130,6 +140,138 @@ class BitbucketSCMSourceRetrieveByNameTest {
         assertThat(((SCMRevisionImpl) revision).getHash()).isEqualTo(commitHash);
     }
 
+    @Test
+    void retrieveLooksUpBranchAndTagConcurrently() throws Exception {
+        BitbucketCloudApiClient client = BitbucketClientMockUtils.getAPIClientMock(false, false);
+
+        // each lookup waits for the other one, they only both succeed if they run at the same time
+        CountDownLatch lookups = new CountDownLatch(2);
+        AtomicBoolean concurrent = new AtomicBoolean(true);
+        when(client.getBranch("v1.0")).then(invocation -> {
+            lookups.countDown();
+            concurrent.compareAndSet(true, lookups.await(10, TimeUnit.SECONDS));
+            return null;
+        });
+        when(client.getTag("v1.0")).then(invocation -> {
+            lookups.countDown();
+            concurrent.compareAndSet(true, lookups.await(10, TimeUnit.SECONDS));
+            return new BitbucketCloudBranch("v1.0", "aabbccdd001122334455667788990011aabbccdd", 1609459200000L);
+        });
+
+        BitbucketMockApiFactory.add(BitbucketCloudEndpoint.SERVER_URL, client);
+
+        SCMRevision revision = createSource().retrieve("v1.0",
+                BitbucketClientMockUtils.getTaskListenerMock(), null);
+
+        assertThat(revision).isInstanceOf(BitbucketTagSCMRevision.class);
+        assertThat(concurrent).isTrue();
+        verify(client, never()).resolveCommit(anyString());
+    }
+
+    @Test
+    void retrieveResolvesCommitOnlyWhenNoBranchOrTagMatches() throws Exception {
+        BitbucketCloudApiClient client = BitbucketClientMockUtils.getAPIClientMock(true, false);
+        BitbucketMockApiFactory.add(BitbucketCloudEndpoint.SERVER_URL, client);
+
+        assertThat(createSource().retrieve("branch1", BitbucketClientMockUtils.getTaskListenerMock(), null))
+                .isInstanceOf(BitbucketGitSCMRevision.class);
+        verify(client, never()).resolveCommit(anyString());
+
+        // a branch named like a hash wins over the commit looked up at the same time
+        String hashLikeBranch = "deadbeef";
+        when(client.getBranch(hashLikeBranch)).thenReturn(
+                new BitbucketCloudBranch(hashLikeBranch, "52fc8e220d77ec400f7fc96a91d2fd0bb1bc553a", 0));
+        BitbucketCommit commit = client.resolveCommit("e851558f77c098d21af6bb8cc54a423f7cf12147");
+        when(client.resolveCommit(hashLikeBranch)).thenReturn(commit);
+        SCMRevision revision = createSource().retrieve(hashLikeBranch, BitbucketClientMockUtils.getTaskListenerMock(), null);
+        assertThat(revision).isInstanceOf(BitbucketGitSCMRevision.class);
+        assertThat(((SCMRevisionImpl) revision).getHash()).isEqualTo("52fc8e220d77ec400f7fc96a91d2fd0bb1bc553a");
+    }
+
+    @Test
+    void retrieveLooksUpBranchTagAndCommitConcurrently() throws Exception {
+        BitbucketCloudApiClient client = BitbucketClientMockUtils.getAPIClientMock(true, false);
+        String commitHash = "e851558f77c098d21af6bb8cc54a423f7cf12147";
+        BitbucketCommit commit = client.resolveCommit(commitHash);
+
+        // each lookup waits for the others, they only all succeed if they run at the same time
+        CountDownLatch lookups = new CountDownLatch(3);
+        AtomicBoolean concurrent = new AtomicBoolean(true);
+        when(client.getBranch(commitHash)).then(invocation -> {
+            lookups.countDown();
+            concurrent.compareAndSet(true, lookups.await(10, TimeUnit.SECONDS));
+            return null;
+        });
+        when(client.getTag(commitHash)).then(invocation -> {
+            lookups.countDown();
+            concurrent.compareAndSet(true, lookups.await(10, TimeUnit.SECONDS));
+            return null;
+        });
+        when(client.resolveCommit(commitHash)).then(invocation -> {
+            lookups.countDown();
+            concurrent.compareAndSet(true, lookups.await(10, TimeUnit.SECONDS));
+            return commit;
+        });
+
+        BitbucketMockApiFactory.add(BitbucketCloudEndpoint.SERVER_URL, client);
+
+        SCMRevision revision = createSource().retrieve(commitHash,
+                BitbucketClientMockUtils.getTaskListenerMock(), null);
+
+        assertThat(revision).isInstanceOf(BitbucketGitSCMRevision.class);
+        assertThat(((SCMRevisionImpl) revision).getHash()).isEqualTo(commitHash);
+        assertThat(concurrent).isTrue();
+    }
+
+    @Test
+    void retrieveClosesTheClientAfterTheTagLookup() throws Exception {
+        BitbucketCloudApiClient client = BitbucketClientMockUtils.getAPIClientMock(false, false);
+
+        CountDownLatch closed = new CountDownLatch(1);
+        AtomicBoolean tagLookedUp = new AtomicBoolean();
+        AtomicBoolean closedInUse = new AtomicBoolean();
+        when(client.getTag("branch1")).then(invocation -> {
+            // the branch matches first, a client closed too early would be closed now
+            closed.await(500, TimeUnit.MILLISECONDS);
+            tagLookedUp.set(true);
+            return null;
+        });
+        doAnswer(invocation -> {
+            closedInUse.set(!tagLookedUp.get());
+            closed.countDown();
+            return null;
+        }).when(client).close();
+
+        BitbucketMockApiFactory.add(BitbucketCloudEndpoint.SERVER_URL, client);
+
+        assertThat(createSource().retrieve("branch1", BitbucketClientMockUtils.getTaskListenerMock(), null))
+                .isInstanceOf(BitbucketGitSCMRevision.class);
+        verify(client).close();
+        assertThat(closedInUse).isFalse();
+    }
+
+    @Test
+    void retrieveLooksUpTagsWithTheWorkloadOfTheCaller() throws Exception {
+        BitbucketCloudApiClient client = BitbucketClientMockUtils.getAPIClientMock(false, false);
+
+        AtomicReference<BitbucketWorkloadClass> workload = new AtomicReference<>();
+        AtomicReference<String> owner = new AtomicReference<>();
+        when(client.getTag("branch1")).then(invocation -> {
+            workload.set(BitbucketWorkloadClass.current());
+            owner.set(BitbucketWorkloadClass.currentOwner());
+            return null;
+        });
+
+        BitbucketMockApiFactory.add(BitbucketCloudEndpoint.SERVER_URL, client);
+
+        try (BitbucketWorkloadClass.Scope scope = BitbucketWorkloadClass.SCAN.enter("folder/job")) {
+            createSource().retrieve("branch1", BitbucketClientMockUtils.getTaskListenerMock(), null);
+        }
+
+        assertThat(workload).hasValue(BitbucketWorkloadClass.SCAN);
+        assertThat(owner).hasValue("folder/job");
+    }
+
     @Test
     void retrieveReturnsNullWhenNothingMatches() throws Exception {
         BitbucketCloudApiClient client = BitbucketClientMockUtils.getAPIClientMock(false, false);
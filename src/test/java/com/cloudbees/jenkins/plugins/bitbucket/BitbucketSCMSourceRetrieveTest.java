@@ -34,6 +34,7 @@ import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequestSource;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRepository;
 import com.cloudbees.jenkins.plugins.bitbucket.api.HasPullRequests;
 import com.cloudbees.jenkins.plugins.bitbucket.api.HasTags;
+import com.cloudbees.jenkins.plugins.bitbucket.api.HasTrustedPayload;
 import com.cloudbees.jenkins.plugins.bitbucket.client.BitbucketCloudApiClient;
 import com.cloudbees.jenkins.plugins.bitbucket.client.branch.BitbucketCloudBranch;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.BitbucketPlugin;
@@ -309,6 +310,21 @@ class BitbucketSCMSourceRetrieveTest {
         verify(client, never()).getTags();
     }
 
+    @Test
+    void trusted_tags_are_looked_up_unless_the_hash_is_complete() throws Exception {
+        BitbucketSCMSource instance = load("retrieve_prs_test_cloud");
+        BitbucketCloudApiClient client = BitbucketClientMockUtils.getAPIClientMock(true, false);
+        BitbucketMockApiFactory.add(BitbucketCloudEndpoint.SERVER_URL, client);
+
+        dryRun(instance, new HeadEvent(Collections.emptyList(), List.of(tag), true), client);
+        verify(client, never()).getTag(anyString());
+
+        // an abbreviated hash could be ambiguous
+        when(tag.getRawNode()).thenReturn(COMMIT_HASH.substring(0, 12));
+        dryRun(instance, new HeadEvent(Collections.emptyList(), List.of(tag), true), client);
+        verify(client).getTag(TAG_NAME);
+    }
+
     /*
      * Given a BitbucketSCMSource, call the retrieve(SCMSourceCriteria, SCMHeadObserver, SCMHeadEvent, TaskListener)
      * method with an event having a PR and verify the expected client API calls
@@ -329,14 +345,25 @@ class BitbucketSCMSourceRetrieveTest {
         instance.retrieve(criteria, headObserver, event, taskListener);
     }
 
-    private static final class HeadEvent extends SCMHeadEvent<BitbucketPullRequestEvent> implements HasPullRequests, HasTags {
+    private static final class HeadEvent extends SCMHeadEvent<BitbucketPullRequestEvent> implements HasPullRequests, HasTags, HasTrustedPayload {
         private final Collection<BitbucketPullRequest> pullRequests;
         private final Collection<BitbucketBranch> tags;
+        private final boolean payloadTrusted;
 
         private HeadEvent(Collection<BitbucketPullRequest> pullRequests, Collection<BitbucketBranch> tags) {
+            this(pullRequests, tags, false);
+        }
+
+        private HeadEvent(Collection<BitbucketPullRequest> pullRequests, Collection<BitbucketBranch> tags, boolean payloadTrusted) {
             super(Type.UPDATED, 0, mock(BitbucketPullRequestEvent.class), "origin");
             this.pullRequests = pullRequests;
             this.tags = tags;
+            this.payloadTrusted = payloadTrusted;
+        }
+
+        @Override
+        public boolean isPayloadTrusted() {
+            return payloadTrusted;
         }
 
         @Override
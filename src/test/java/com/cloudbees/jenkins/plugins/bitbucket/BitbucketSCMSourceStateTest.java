@@ -0,0 +1,234 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BranchScanningTest.SCMHeadObserverImpl;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketBranch;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketMockApiFactory;
+import com.cloudbees.jenkins.plugins.bitbucket.client.BitbucketCloudApiClient;
+import com.cloudbees.jenkins.plugins.bitbucket.client.branch.BitbucketCloudBranch;
+import com.cloudbees.jenkins.plugins.bitbucket.filesystem.BitbucketSCMFile;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketProbeCache;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.endpoint.BitbucketCloudEndpoint;
+import com.cloudbees.jenkins.plugins.bitbucket.test.util.BitbucketClientMockUtils;
+import com.cloudbees.jenkins.plugins.bitbucket.trait.BranchDiscoveryTrait;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import jenkins.scm.api.SCMFile.Type;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@WithJenkins
+class BitbucketSCMSourceStateTest {
+
+    private static final String HASH1 = "52fc8e220d77ec400f7fc96a91d2fd0bb1bc553a";
+    private static final String HASH2 = "707c59ce8292c927dddb6807fcf9c3c5e7c9b00f";
+    private static final String HASH3 = "e851558f77c098d21af6bb8cc54a423f7cf12147";
+
+    @SuppressWarnings("unused")
+    private static JenkinsRule rule;
+
+    @TempDir
+    private Path rootDir;
+
+    private final AtomicInteger probes = new AtomicInteger();
+    private final List<BitbucketBranch> branches = new ArrayList<>();
+
+    @BeforeAll
+    static void init(JenkinsRule rule) {
+        BitbucketSCMSourceStateTest.rule = rule;
+    }
+
+    @BeforeEach
+    void setup() throws Exception {
+        BitbucketMockApiFactory.clear();
+        BitbucketProbeCache.clear();
+        BitbucketCloudApiClient client = BitbucketClientMockUtils.getAPIClientMock(false, false);
+        branches.add(new BitbucketCloudBranch("branch1", HASH1, 0));
+        branches.add(new BitbucketCloudBranch("branch2", HASH2, 0));
+        when(client.getBranches()).thenAnswer(invocation -> new ArrayList<>(branches));
+        when(client.getFile(any())).then(invocation -> {
+            probes.incrementAndGet();
+            BitbucketSCMFile file = invocation.getArgument(0);
+            Type type = HASH2.equals(file.getHash()) ? Type.NONEXISTENT : Type.REGULAR_FILE;
+            return new BitbucketSCMFile(file, file.getPath(), type, file.getHash());
+        });
+        BitbucketMockApiFactory.add(BitbucketCloudEndpoint.SERVER_URL, client);
+    }
+
+    @Test
+    void unchanged_heads_are_not_probed_again() throws Exception {
+        BitbucketSCMSource source = source();
+
+        assertThat(fetch(source)).containsExactly("branch1");
+        assertThat(probes.get()).isEqualTo(2);
+
+        assertThat(fetch(source)).containsExactly("branch1");
+        assertThat(probes.get()).isEqualTo(2);
+
+        // only the head that moved is probed
+        branches.set(1, new BitbucketCloudBranch("branch2", HASH3, 0));
+        assertThat(fetch(source)).containsExactly("branch1", "branch2");
+        assertThat(probes.get()).isEqualTo(3);
+    }
+
+    @Test
+    void state_survives_a_new_source_instance() throws Exception {
+        fetch(source());
+        assertThat(probes.get()).isEqualTo(2);
+
+        assertThat(fetch(source())).containsExactly("branch1");
+        assertThat(probes.get()).isEqualTo(2);
+    }
+
+    @Test
+    void removed_heads_are_forgotten_by_complete_scans() {
+        BitbucketSCMSourceState state = BitbucketSCMSourceState.load(null);
+        BitbucketSCMSourceState.HeadState head = new BitbucketSCMSourceState.HeadState(HASH1);
+        head.putStat("Jenkinsfile", Type.REGULAR_FILE);
+
+        assertThat(state.updateHeads(Map.of("branch1", head), true)).isTrue();
+        assertThat(state.updateHeads(Map.of("branch1", head), true)).isFalse();
+        assertThat(state.getHead("branch1", HASH1)).isNotNull()
+            .extracting(h -> h.getStat("Jenkinsfile")).isEqualTo(Type.REGULAR_FILE);
+        assertThat(state.getHead("branch1", HASH2)).isNull();
+
+        assertThat(state.updateHeads(Map.of("branch2", new BitbucketSCMSourceState.HeadState(HASH2)), false)).isTrue();
+        assertThat(state.getHead("branch1", HASH1)).isNotNull();
+
+        assertThat(state.updateHeads(Map.of("branch2", new BitbucketSCMSourceState.HeadState(HASH2)), true)).isTrue();
+        assertThat(state.getHead("branch1", HASH1)).isNull();
+    }
+
+    @Test
+    void state_is_stored_on_disk() {
+        File file = rootDir.resolve("state.xml").toFile();
+        BitbucketSCMSourceState state = BitbucketSCMSourceState.load(file);
+        BitbucketSCMSourceState.HeadState head = new BitbucketSCMSourceState.HeadState(HASH1);
+        head.putStat("Jenkinsfile", Type.NONEXISTENT);
+        head.setLastModified(1000L);
+        state.updateHeads(Map.of("branch1", head), true);
+        state.save();
+
+        BitbucketSCMSourceState loaded = BitbucketSCMSourceState.load(file);
+        assertThat(loaded.getHead("branch1", HASH1)).isEqualTo(head);
+    }
+
+    @Test
+    void pull_request_metadata_is_stored_on_disk() {
+        File file = rootDir.resolve("state.xml").toFile();
+        BitbucketSCMSourceState state = BitbucketSCMSourceState.load(file);
+        state.putPullRequest("1", new BitbucketSCMSourceState.PullRequestState("Fix the build", "{42}", "amuniz", "amuniz@example.com"));
+        state.putPullRequest("2", new BitbucketSCMSourceState.PullRequestState("Draft", null, null, null));
+        state.saveIfChanged();
+
+        BitbucketSCMSourceState loaded = BitbucketSCMSourceState.load(file);
+        assertThat(loaded.getPullRequest("1")).isNotNull()
+            .satisfies(pr -> {
+                assertThat(pr.getTitle()).isEqualTo("Fix the build");
+                assertThat(pr.getContributor()).isNotNull()
+                    .satisfies(contributor -> {
+                        assertThat(contributor.getContributor()).isEqualTo("{42}");
+                        assertThat(contributor.getContributorDisplayName()).isEqualTo("amuniz");
+                        assertThat(contributor.getContributorEmail()).isEqualTo("amuniz@example.com");
+                    });
+            });
+        assertThat(loaded.getPullRequest("2")).isNotNull()
+            .extracting(BitbucketSCMSourceState.PullRequestState::getContributor).isNull();
+
+        loaded.retainPullRequests(Set.of("2"));
+        loaded.saveIfChanged();
+        assertThat(BitbucketSCMSourceState.load(file).getPullRequest("1")).isNull();
+    }
+
+    @Test
+    void least_recently_updated_pull_requests_are_forgotten_first() {
+        BitbucketSCMSourceState state = BitbucketSCMSourceState.load(null);
+        for (int i = 0; i <= 1000; i++) {
+            state.putPullRequest(String.valueOf(i), new BitbucketSCMSourceState.PullRequestState("PR " + i, null, null, null));
+            if (i == 500) {
+                state.putPullRequest("0", new BitbucketSCMSourceState.PullRequestState("PR 0", null, null, null));
+            }
+        }
+        assertThat(state.getPullRequest("0")).isNotNull();
+        assertThat(state.getPullRequest("1")).isNull();
+        assertThat(state.getPullRequest("2")).isNotNull();
+        assertThat(state.getPullRequest("1000")).isNotNull();
+    }
+
+    @Test
+    void open_pull_requests_of_large_repositories_are_not_forgotten() {
+        File file = rootDir.resolve("state.xml").toFile();
+        BitbucketSCMSourceState state = BitbucketSCMSourceState.load(file);
+        Set<String> open = new HashSet<>();
+        for (int i = 0; i < 1500; i++) {
+            open.add(String.valueOf(i));
+        }
+        scanPullRequests(state, open);
+        scanPullRequests(state, open);
+        assertThat(state.getPullRequest("0")).isNotNull();
+        assertThat(file).exists();
+
+        // nothing changed, the state is not written again
+        assertThat(file.delete()).isTrue();
+        scanPullRequests(state, open);
+        assertThat(file).doesNotExist();
+    }
+
+    private static void scanPullRequests(BitbucketSCMSourceState state, Set<String> open) {
+        for (int i = 0; i < open.size(); i++) {
+            state.putPullRequest(String.valueOf(i), new BitbucketSCMSourceState.PullRequestState("PR " + i, null, null, null));
+        }
+        state.retainPullRequests(open);
+        state.saveIfChanged();
+    }
+
+    private List<String> fetch(BitbucketSCMSource source) throws Exception {
+        SCMHeadObserverImpl observer = new SCMHeadObserverImpl();
+        source.fetch(observer, BitbucketClientMockUtils.getTaskListenerMock());
+        return observer.getBranches();
+    }
+
+    private BitbucketSCMSource source() {
+        BitbucketSCMSource source = BitbucketClientMockUtils.getSCMSource(rootDir.toFile(),
+                (probe, listener) -> probe.stat("markerfile.txt").exists(),
+                new BranchDiscoveryTrait(true, true));
+        source.setId("state-test");
+        return source;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BranchScanningTest.SCMHeadObserverImpl;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketBranch;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketMockApiFactory;
+import com.cloudbees.jenkins.plugins.bitbucket.client.BitbucketCloudApiClient;
+import com.cloudbees.jenkins.plugins.bitbucket.client.branch.BitbucketCloudBranch;
+import com.cloudbees.jenkins.plugins.bitbucket.filesystem.BitbucketSCMFile;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.client.BitbucketProbeCache;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.endpoint.BitbucketCloudEndpoint;
+import com.cloudbees.jenkins.plugins.bitbucket.test.util.BitbucketClientMockUtils;
+import com.cloudbees.jenkins.plugins.bitbucket.trait.BranchDiscoveryTrait;
+import com.cloudbees.jenkins.plugins.bitbucket.trait.ParallelProbingTrait;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import jenkins.scm.api.SCMFile.Type;
+import jenkins.scm.api.SCMHeadObserver;
+import jenkins.scm.api.SCMProbe;
+import jenkins.scm.api.SCMProbeStat;
+import jenkins.scm.api.trait.SCMSourceTrait;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WithJenkins
+class ParallelProbingTest {
+
+    private static final int BRANCHES = 16;
+    private static final long LATENCY = 20;
+
+    @SuppressWarnings("unused")
+    private static JenkinsRule rule;
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+    // when set, each probe waits for this many probes to run at the same time
+    private volatile CountDownLatch overlap;
+
+    @BeforeAll
+    static void init(JenkinsRule rule) {
+        ParallelProbingTest.rule = rule;
+    }
+
+    @BeforeEach
+    void setup() throws Exception {
+        BitbucketMockApiFactory.clear();
+        BitbucketProbeCache.clear();
+        BitbucketCloudApiClient client = BitbucketClientMockUtils.getAPIClientMock(false, false);
+        List<BitbucketBranch> branches = new ArrayList<>();
+        for (int i = 0; i < BRANCHES; i++) {
+            branches.add(new BitbucketCloudBranch("branch" + i, String.format("%040x", i + 1), 0));
+        }
+        when(client.getBranches()).thenReturn(branches);
+        // every probe costs a round trip, only even branches have the marker file
+        when(client.getFile(any())).then(invocation -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                CountDownLatch latch = overlap;
+                if (latch != null) {
+                    latch.countDown();
+                    latch.await(10, TimeUnit.SECONDS);
+                }
+                Thread.sleep(LATENCY);
+            } finally {
+                running.decrementAndGet();
+            }
+            BitbucketSCMFile file = invocation.getArgument(0);
+            boolean even = Integer.parseInt(file.getHash(), 16) % 2 == 1;
+            return new BitbucketSCMFile(file, file.getPath(), even ? Type.REGULAR_FILE : Type.NONEXISTENT, file.getHash());
+        });
+        BitbucketMockApiFactory.add(BitbucketCloudEndpoint.SERVER_URL, client);
+    }
+
+    @Test
+    void sequential_by_default() throws Exception {
+        SCMHeadObserverImpl observer = new SCMHeadObserverImpl();
+        source(new BranchDiscoveryTrait(true, true)).fetch(observer, BitbucketClientMockUtils.getTaskListenerMock());
+
+        assertThat(observer.getBranches()).containsExactlyElementsOf(expectedBranches());
+        assertThat(peak.get()).isEqualTo(1);
+    }
+
+    @Test
+    void parallel_probes_keep_observation_order() throws Exception {
+        overlap = new CountDownLatch(2);
+        SCMHeadObserverImpl observer = new SCMHeadObserverImpl();
+        source(new BranchDiscoveryTrait(true, true), new ParallelProbingTrait(8))
+            .fetch(observer, BitbucketClientMockUtils.getTaskListenerMock());
+
+        assertThat(observer.getBranches()).containsExactlyElementsOf(expectedBranches());
+        // sequential probing would never release the latch
+        assertThat(overlap.getCount()).isZero();
+        assertThat(peak.get()).isGreaterThan(1).isLessThanOrEqualTo(8);
+    }
+
+    @Test
+    void failed_background_probe_is_closed() throws Exception {
+        SCMProbe probe = mock(SCMProbe.class);
+        when(probe.stat(anyString())).thenThrow(new IOException("boom"));
+
+        try (BitbucketSCMSourceRequest request = newRequest()) {
+            BranchSCMHead head = new BranchSCMHead("branch0");
+            request.<String>prefetchProbe(head, null, (h, i) -> probe).create(head, null);
+        }
+        verify(probe, atLeastOnce()).close();
+    }
+
+    @Test
+    void close_waits_for_running_probes() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean finished = new AtomicBoolean();
+        SCMProbe probe = mock(SCMProbe.class);
+        when(probe.stat(anyString())).then(invocation -> {
+            started.countDown();
+            // a request in flight does not stop when interrupted
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(LATENCY * 5);
+            while (System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            finished.set(true);
+            return SCMProbeStat.fromType(Type.REGULAR_FILE);
+        });
+
+        BitbucketSCMSourceRequest request = newRequest();
+        request.<String>prefetchProbe(new BranchSCMHead("branch0"), null, (h, i) -> probe);
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        request.close();
+
+        assertThat(finished).isTrue();
+    }
+
+    @Test
+    void parallelism_is_clamped() {
+        assertThat(new ParallelProbingTrait(0).getParallelism()).isEqualTo(1);
+        assertThat(new ParallelProbingTrait(1000).getParallelism()).isEqualTo(ParallelProbingTrait.MAX_PARALLELISM);
+    }
+
+    private List<String> expectedBranches() {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < BRANCHES; i += 2) {
+            expected.add("branch" + i);
+        }
+        return expected;
+    }
+
+    private BitbucketSCMSourceRequest newRequest() {
+        BitbucketSCMSource source = source(new BranchDiscoveryTrait(true, true), new ParallelProbingTrait(2));
+        return new BitbucketSCMSourceContext(source.getOwner().getSCMSourceCriteria(source), SCMHeadObserver.none())
+            .withTraits(source.getTraits())
+            .newRequest(source, BitbucketClientMockUtils.getTaskListenerMock());
+    }
+
+    private BitbucketSCMSource source(SCMSourceTrait... traits) {
+        return BitbucketClientMockUtils.getSCMSource(null, (probe, listener) -> probe.stat("markerfile.txt").exists(), traits);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.api.metrics;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.metrics.BitbucketApiMetrics.OperationMetrics;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BitbucketApiMetricsTest {
+
+    @AfterEach
+    void teardown() {
+        BitbucketApiMetrics.clear();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "/rest/api/1.0/projects/AMUNIZ/repos/test-repos/branches?start=0&limit=200, GET_BRANCHES",
+        "/rest/api/1.0/projects/AMUNIZ/repos/test-repos/tags/v1.0, GET_TAGS",
+        "/rest/api/1.0/projects/AMUNIZ/repos/test-repos/pull-requests/1/changes?start=0, GET_PULL_REQUESTS",
+        "/rest/api/1.0/projects/AMUNIZ/repos/test-repos/commits/a2b3c4, RESOLVE_COMMIT",
+        "/rest/api/1.0/projects/AMUNIZ/repos/test-repos/browse/Jenkinsfile?at=main, BROWSE",
+        "/rest/build-status/1.0/commits/a2b3c4, BUILD_STATUS",
+        "/rest/api/1.0/projects/AMUNIZ/repos/test-repos/webhooks, WEBHOOK",
+        "/2.0/repositories/amuniz/test-repos/refs/branches?pagelen=100, GET_BRANCHES",
+        "/2.0/repositories/amuniz/test-repos/pullrequests/1, GET_PULL_REQUESTS",
+        "/2.0/repositories/amuniz/test-repos/commit/a2b3c4/statuses/build, BUILD_STATUS",
+        "/2.0/repositories/amuniz/test-repos/src/a2b3c4/Jenkinsfile, BROWSE",
+        "/2.0/repositories/amuniz/test-repos/hooks, WEBHOOK",
+        "/2.0/repositories/amuniz/test-repos, OTHER",
+        "/rest/api/1.0/projects/HOOKS/repos/branches/tags?start=0, GET_TAGS",
+        "/rest/api/1.0/projects/AMUNIZ/repos/test-repos/browse/src/hooks/Jenkinsfile?at=branches, BROWSE",
+        "/rest/api/1.0/projects/AMUNIZ/repos/test-repos/commits/a2b3c4/builds, BUILD_STATUS",
+        "/rest/api/1.0/users/hooks/repos/pull-requests/branches/default, GET_BRANCHES",
+        "/rest/webhook/1.0/projects/AMUNIZ/repos/test-repos/configurations, WEBHOOK",
+        "/rest/mirroring/1.0/repos/1/mirrors, OTHER",
+        "/2.0/repositories/hooks/tags/refs/branches/feature%2Fhooks, GET_BRANCHES",
+        "/2.0/repositories/amuniz/pullrequests/src/main/branches/Jenkinsfile, BROWSE",
+        "/2.0/repositories/amuniz/test-repos/commit/a2b3c4, RESOLVE_COMMIT",
+        "/2.0/workspaces/hooks, OTHER"
+    })
+    void classify_operation_by_path(String path, BitbucketApiOperation expected) {
+        assertThat(BitbucketApiOperation.of(path)).isEqualTo(expected);
+    }
+
+    @Test
+    void record_latency_status_and_bytes() {
+        OperationMetrics metrics = BitbucketApiMetrics.of("https://bitbucket.example.com", BitbucketApiOperation.GET_BRANCHES);
+        metrics.record(200, TimeUnit.MILLISECONDS.toNanos(8));
+        metrics.record(200, TimeUnit.MILLISECONDS.toNanos(40));
+        metrics.record(404, TimeUnit.MILLISECONDS.toNanos(90));
+        metrics.record(-1, TimeUnit.SECONDS.toNanos(45));
+        metrics.addBytesSent(10);
+        metrics.addBytesReceived(1024);
+
+        assertThat(BitbucketApiMetrics.all()).containsExactly(metrics);
+        assertThat(metrics.getCount()).isEqualTo(4);
+        assertThat(metrics.getErrors()).isEqualTo(2);
+        assertThat(metrics.getStatusCodes()).containsEntry(200, 2L).containsEntry(404, 1L).containsEntry(-1, 1L);
+        assertThat(metrics.getPercentileMillis(50)).isEqualTo(50);
+        assertThat(metrics.getPercentileMillis(75)).isEqualTo(100);
+        assertThat(metrics.getPercentileMillis(99)).isEqualTo(45000);
+        assertThat(metrics.getLatencyHistogram()).containsEntry(10L, 1L).containsEntry(Long.MAX_VALUE, 1L);
+        assertThat(metrics.getBytesSent()).isEqualTo(10);
+        assertThat(metrics.getBytesReceived()).isEqualTo(1024);
+    }
+}
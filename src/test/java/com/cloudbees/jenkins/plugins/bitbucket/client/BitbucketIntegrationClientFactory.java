@@ -31,6 +31,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Stack;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
@@ -80,6 +82,8 @@ public class BitbucketIntegrationClientFactory {
 
         HttpRequest lastRequest();
 
+        List<HttpRequest> requests();
+
         CompletableFuture<HttpRequest> waitRequest(Predicate<HttpRequest> predicate);
 
         CompletableFuture<HttpRequest> waitRequest();
@@ -121,6 +125,11 @@ public class BitbucketIntegrationClientFactory {
             return requests.pop();
         }
 
+        @Override
+        public List<HttpRequest> requests() {
+            return new ArrayList<>(requests);
+        }
+
     }
 
     public static BitbucketApi getClient(String serverURL, String owner, String repositoryName) {
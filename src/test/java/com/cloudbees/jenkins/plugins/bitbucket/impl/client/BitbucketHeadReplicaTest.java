@@ -0,0 +1,309 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.client;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
+import com.cloudbees.jenkins.plugins.bitbucket.BranchSCMHead;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketBranch;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketMockApiFactory;
+import com.cloudbees.jenkins.plugins.bitbucket.api.HasBranches;
+import com.cloudbees.jenkins.plugins.bitbucket.client.BitbucketCloudApiClient;
+import com.cloudbees.jenkins.plugins.bitbucket.client.branch.BitbucketCloudBranch;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.endpoint.BitbucketCloudEndpoint;
+import com.cloudbees.jenkins.plugins.bitbucket.test.util.BitbucketClientMockUtils;
+import com.cloudbees.jenkins.plugins.bitbucket.trait.BranchDiscoveryTrait;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.scm.SCM;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import jenkins.plugins.git.AbstractGitSCMSource;
+import jenkins.scm.api.SCMHead;
+import jenkins.scm.api.SCMHeadEvent;
+import jenkins.scm.api.SCMHeadObserver;
+import jenkins.scm.api.SCMNavigator;
+import jenkins.scm.api.SCMRevision;
+import jenkins.scm.api.SCMSource;
+import jenkins.scm.api.SCMSourceCriteria;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WithJenkins
+class BitbucketHeadReplicaTest {
+
+    private static final String HASH1 = "52fc8e220d77ec400f7fc96a91d2fd0bb1bc553a";
+    private static final String HASH2 = "707c59ce8292c927dddb6807fcf9c3c5e7c9b00f";
+
+    @SuppressWarnings("unused")
+    private static JenkinsRule rule;
+
+    @BeforeAll
+    static void init(JenkinsRule rule) {
+        BitbucketHeadReplicaTest.rule = rule;
+    }
+
+    @BeforeEach
+    void setup() {
+        System.setProperty(BitbucketHeadReplica.RECONCILE_PROPERTY_NAME, "60");
+        BitbucketHeadReplica.clear();
+        BitbucketMockApiFactory.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(BitbucketHeadReplica.RECONCILE_PROPERTY_NAME);
+        BitbucketHeadReplica.clear();
+    }
+
+    @Test
+    void heads_are_listed_until_seeded() {
+        BitbucketHeadReplica.Listing sut = replica(TimeUnit.HOURS.toMillis(1)).branches();
+        assertThat(sut.get()).isNull();
+
+        // events do not seed the replica, it would miss the heads that did not change
+        sut.update(List.of(branch("feature/BB-1", "52fc8e2")), false);
+        assertThat(sut.get()).isNull();
+
+        assertThat(sut.reconcile(List.of(branch("main", "707c59c")))).isFalse();
+        assertThat(sut.get()).extracting(BitbucketBranch::getName).containsExactly("main");
+    }
+
+    @Test
+    void events_keep_the_replica_current() {
+        BitbucketHeadReplica.Listing sut = replica(TimeUnit.HOURS.toMillis(1)).branches();
+        sut.reconcile(List.of(branch("main", "707c59c"), branch("feature/BB-1", "52fc8e2")));
+
+        sut.update(List.of(branch("main", "e851558")), false);
+        sut.update(List.of(branch("feature/BB-1", null)), true);
+        assertThat(sut.get()).singleElement()
+            .satisfies(branch -> assertThat(branch.getRawNode()).isEqualTo("e851558"));
+
+        // the replica matches the server, no event was missed
+        assertThat(sut.reconcile(List.of(branch("main", "e851558")))).isFalse();
+    }
+
+    @Test
+    void reconciliation_detects_missed_events() {
+        BitbucketHeadReplica.Listing sut = replica(TimeUnit.HOURS.toMillis(1)).tags();
+        sut.reconcile(List.of(branch("v1.0", "707c59c")));
+
+        assertThat(sut.reconcile(List.of(branch("v1.0", "707c59c"), branch("v1.1", "e851558")))).isTrue();
+        assertThat(sut.get()).extracting(BitbucketBranch::getName).containsExactly("v1.0", "v1.1");
+    }
+
+    @Test
+    void replica_has_to_be_reconciled_periodically() {
+        BitbucketHeadReplica.Listing sut = replica(0).branches();
+        sut.reconcile(List.of(branch("main", "707c59c")));
+
+        assertThat(sut.get()).isNull();
+    }
+
+    @Test
+    void heads_keep_the_order_of_the_listing() {
+        BitbucketHeadReplica.Listing sut = replica(TimeUnit.HOURS.toMillis(1)).branches();
+        sut.reconcile(List.of(branch("main", "707c59c"), branch("develop", "52fc8e2"), branch("feature/BB-1", "e851558")));
+        sut.update(List.of(branch("bugfix/BB-2", "e851558")), false);
+
+        assertThat(sut.get()).extracting(BitbucketBranch::getName)
+            .containsExactly("main", "develop", "feature/BB-1", "bugfix/BB-2");
+    }
+
+    @Test
+    void heads_are_copied() {
+        BitbucketHeadReplica.Listing sut = replica(TimeUnit.HOURS.toMillis(1)).branches();
+        BitbucketCloudBranch branch = new BitbucketCloudBranch("main", "707c59c", 1537371563000L);
+        sut.reconcile(List.of(branch));
+        branch.setRawNode("e851558");
+
+        assertThat(sut.get()).singleElement().satisfies(head -> {
+            assertThat(head).isNotSameAs(branch);
+            assertThat(head.getRawNode()).isEqualTo("707c59c");
+            // needed by the traits that discard old branches
+            assertThat(head.getDateMillis()).isEqualTo(1537371563000L);
+        });
+    }
+
+    @Test
+    void heads_keep_the_head_commit_details() {
+        BitbucketHeadReplica.Listing sut = replica(TimeUnit.HOURS.toMillis(1)).branches();
+        BitbucketCloudBranch branch = new BitbucketCloudBranch("main", "707c59c", 1537371563000L);
+        branch.setMessage("initial commit");
+        branch.setAuthor("amuniz <amuniz@mail.com>");
+        sut.reconcile(List.of(branch));
+
+        assertThat(sut.get()).singleElement().satisfies(head -> {
+            assertThat(head.getMessage()).isEqualTo("initial commit");
+            assertThat(head.getAuthor()).isEqualTo("amuniz <amuniz@mail.com>");
+        });
+    }
+
+    @Test
+    void heads_are_served_only_at_the_known_commit() {
+        BitbucketHeadReplica.Listing sut = replica(TimeUnit.HOURS.toMillis(1)).branches();
+        assertThat(sut.get("main", HASH1)).isNull();
+
+        sut.reconcile(List.of(branch("main", HASH1)));
+        assertThat(sut.get("main", HASH1)).isNotNull().extracting(BitbucketBranch::getRawNode).isEqualTo(HASH1);
+        assertThat(sut.get("main", HASH2)).isNull();
+        assertThat(sut.get("main", null)).isNull();
+        assertThat(sut.get("develop", HASH1)).isNull();
+    }
+
+    @Test
+    void replicas_are_not_shared_between_sources_and_credentials() {
+        BitbucketHeadReplica replica = BitbucketHeadReplica.of(BitbucketCloudEndpoint.SERVER_URL, "alice", "amuniz/test-repos", "a");
+
+        assertThat(BitbucketHeadReplica.of(BitbucketCloudEndpoint.SERVER_URL, "alice", "AMUNIZ/test-repos", "a")).isSameAs(replica);
+        assertThat(BitbucketHeadReplica.of(BitbucketCloudEndpoint.SERVER_URL, "bob", "amuniz/test-repos", "a")).isNotSameAs(replica);
+        assertThat(BitbucketHeadReplica.of(BitbucketCloudEndpoint.SERVER_URL, null, "amuniz/test-repos", "a")).isNotSameAs(replica);
+        assertThat(BitbucketHeadReplica.of(BitbucketCloudEndpoint.SERVER_URL, "alice", "amuniz/test-repos", "b")).isNotSameAs(replica);
+    }
+
+    @Test
+    void replicas_are_disabled_by_default() {
+        System.clearProperty(BitbucketHeadReplica.RECONCILE_PROPERTY_NAME);
+
+        assertThat(BitbucketHeadReplica.of(BitbucketCloudEndpoint.SERVER_URL, null, "amuniz/test-repos", "a")).isNull();
+    }
+
+    @Test
+    void scans_read_the_branches_from_the_replica() throws Exception {
+        BitbucketCloudApiClient client = BitbucketClientMockUtils.getAPIClientMock(false, false);
+        when(client.getBranches()).thenReturn(List.of(
+                new BitbucketCloudBranch("branch1", HASH1, 1537371563000L),
+                new BitbucketCloudBranch("branch2", HASH2, 1537371564000L)));
+        BitbucketMockApiFactory.add(BitbucketCloudEndpoint.SERVER_URL, client);
+        BitbucketSCMSource source = source();
+
+        SCMHeadObserver.Collector first = SCMHeadObserver.collect();
+        source.fetch(first, BitbucketClientMockUtils.getTaskListenerMock());
+        SCMHeadObserver.Collector second = SCMHeadObserver.collect();
+        source.fetch(second, BitbucketClientMockUtils.getTaskListenerMock());
+
+        verify(client, times(1)).getBranches();
+        assertThat(second.result()).isEqualTo(first.result()).hasSize(2);
+        assertThat(BitbucketHeadReplica.of(BitbucketCloudEndpoint.SERVER_URL, null, "amuniz/test-repos", source.getId())
+                .branches().get())
+            .extracting(BitbucketBranch::getDateMillis)
+            .containsExactly(1537371563000L, 1537371564000L);
+    }
+
+    @Test
+    void requested_branches_are_read_from_the_replica() throws Exception {
+        BitbucketCloudApiClient client = BitbucketClientMockUtils.getAPIClientMock(false, false);
+        BitbucketMockApiFactory.add(BitbucketCloudEndpoint.SERVER_URL, client);
+        BitbucketSCMSource source = source();
+        source.fetch(SCMHeadObserver.collect(), BitbucketClientMockUtils.getTaskListenerMock());
+
+        SCMHeadObserver.Collector observer = SCMHeadObserver.collect();
+        BranchSCMHead head = new BranchSCMHead("branch1");
+        source.fetch(SCMHeadObserver.filter(observer, head), BitbucketClientMockUtils.getTaskListenerMock());
+
+        verify(client, times(1)).getBranches();
+        verify(client, never()).getBranch(anyString());
+        assertThat(observer.result()).containsOnlyKeys(head);
+        assertThat(observer.result().get(head)).isInstanceOfSatisfying(AbstractGitSCMSource.SCMRevisionImpl.class,
+            revision -> assertThat(revision.getHash()).isEqualTo(HASH1));
+    }
+
+    @Test
+    void events_at_the_known_commit_do_not_fetch_the_branch() throws Exception {
+        BitbucketCloudApiClient client = BitbucketClientMockUtils.getAPIClientMock(false, false);
+        BitbucketMockApiFactory.add(BitbucketCloudEndpoint.SERVER_URL, client);
+        BitbucketSCMSource source = source();
+        source.fetch(SCMHeadObserver.collect(), BitbucketClientMockUtils.getTaskListenerMock());
+
+        SCMHeadObserver.Collector known = SCMHeadObserver.collect();
+        source.fetch(known, new BranchEvent(branch("branch1", HASH1)), BitbucketClientMockUtils.getTaskListenerMock());
+        verify(client, never()).getBranch(anyString());
+        assertThat(known.result()).containsOnlyKeys(new BranchSCMHead("branch1"));
+
+        source.fetch(SCMHeadObserver.collect(), new BranchEvent(branch("branch1", HASH2)), BitbucketClientMockUtils.getTaskListenerMock());
+        verify(client).getBranch("branch1");
+    }
+
+    private BitbucketSCMSource source() {
+        SCMSourceCriteria criteria = (probe, listener) -> true;
+        BitbucketSCMSource source = BitbucketClientMockUtils.getSCMSource(null, criteria, new BranchDiscoveryTrait(true, true));
+        source.setId("replica-test");
+        return source;
+    }
+
+    private BitbucketHeadReplica replica(long reconcileMillis) {
+        return new BitbucketHeadReplica("https://bitbucket.org amuniz/test-repos", () -> reconcileMillis);
+    }
+
+    private BitbucketBranch branch(String name, String hash) {
+        return new BitbucketCloudBranch(name, hash, 0);
+    }
+
+    private static final class BranchEvent extends SCMHeadEvent<String> implements HasBranches {
+        private final BitbucketBranch branch;
+
+        private BranchEvent(BitbucketBranch branch) {
+            super(Type.UPDATED, 0, "push", "origin");
+            this.branch = branch;
+        }
+
+        @Override
+        public Iterable<BitbucketBranch> getBranches(BitbucketSCMSource src) {
+            return List.of(branch);
+        }
+
+        @Override
+        public boolean isMatch(@NonNull SCMNavigator navigator) {
+            return false;
+        }
+
+        @NonNull
+        @Override
+        public String getSourceName() {
+            return "test-repos";
+        }
+
+        @NonNull
+        @Override
+        public Map<SCMHead, SCMRevision> heads(@NonNull SCMSource source) {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public boolean isMatch(@NonNull SCM scm) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.client;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import jenkins.scm.api.SCMFile.Type;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+class BitbucketProbeCacheTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void same_commit_and_path_are_probed_once() throws Exception {
+        BitbucketProbeCache sut = new BitbucketProbeCache(10);
+        String key = BitbucketProbeCache.key("https://bitbucket.org", "bitbucket-creds", "amuniz/test-repos", "52fc8e2", "Jenkinsfile");
+
+        assertThat(sut.get(key, this::probe)).isEqualTo(Type.REGULAR_FILE);
+        assertThat(sut.get(key, this::probe)).isEqualTo(Type.REGULAR_FILE);
+        assertThat(sut.get(BitbucketProbeCache.key("https://bitbucket.org", "bitbucket-creds", "AMUNIZ/Test-Repos", "52fc8e2", "Jenkinsfile"), this::probe))
+            .isEqualTo(Type.REGULAR_FILE);
+        assertThat(calls.get()).isEqualTo(1);
+
+        sut.get(BitbucketProbeCache.key("https://bitbucket.org", "bitbucket-creds", "amuniz/test-repos", "707c59c", "Jenkinsfile"), this::probe);
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(sut.stat()).isEqualTo("Probes: 2/10 entries, 2 hits out of 4 lookups (50%), 0 evictions.");
+    }
+
+    @Test
+    void answers_are_not_shared_between_credentials() throws Exception {
+        BitbucketProbeCache sut = new BitbucketProbeCache(10);
+
+        sut.get(BitbucketProbeCache.key("https://bitbucket.org", "bitbucket-creds", "amuniz/test-repos", "52fc8e2", "Jenkinsfile"), () -> {
+            calls.incrementAndGet();
+            return Type.NONEXISTENT;
+        });
+        assertThat(sut.get(BitbucketProbeCache.key("https://bitbucket.org", "other-creds", "amuniz/test-repos", "52fc8e2", "Jenkinsfile"), this::probe))
+            .isEqualTo(Type.REGULAR_FILE);
+        assertThat(sut.get(BitbucketProbeCache.key("https://bitbucket.org", null, "amuniz/test-repos", "52fc8e2", "Jenkinsfile"), this::probe))
+            .isEqualTo(Type.REGULAR_FILE);
+        assertThat(calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void least_recently_used_entries_are_evicted() throws Exception {
+        BitbucketProbeCache sut = new BitbucketProbeCache(2);
+
+        sut.get("a", this::probe);
+        sut.get("b", this::probe);
+        sut.get("a", this::probe);
+        sut.get("c", this::probe);
+        assertThat(calls.get()).isEqualTo(3);
+
+        sut.get("a", this::probe);
+        assertThat(calls.get()).isEqualTo(3);
+        sut.get("b", this::probe);
+        assertThat(calls.get()).isEqualTo(4);
+        assertThat(sut.stat()).endsWith("2 evictions.");
+    }
+
+    @Test
+    void failures_are_not_cached() throws Exception {
+        BitbucketProbeCache sut = new BitbucketProbeCache(10);
+
+        assertThatIOException().isThrownBy(() -> sut.get("a", () -> {
+            throw new IOException("boom");
+        }));
+        assertThat(sut.get("a", this::probe)).isEqualTo(Type.REGULAR_FILE);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void disabled_cache_always_probes() throws Exception {
+        BitbucketProbeCache sut = new BitbucketProbeCache(0);
+
+        sut.get("a", this::probe);
+        sut.get("a", this::probe);
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(sut.stat()).isEqualTo("Probes: cache disabled.");
+    }
+
+    private Type probe() {
+        calls.incrementAndGet();
+        return Type.REGULAR_FILE;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BitbucketRequestGovernorTest {
+
+    private static final HttpRoute ROUTE = new HttpRoute(new HttpHost("http", "localhost", 7990));
+
+    @Test
+    void interactive_requests_are_never_queued() throws Exception {
+        BitbucketRequestGovernor sut = new BitbucketRequestGovernor("http://localhost:7990", 1);
+        try (BitbucketRequestGovernor.Permit scan = sut.acquire(BitbucketWorkloadClass.SCAN, "folder");
+                BitbucketRequestGovernor.Permit interactive = sut.acquire(BitbucketWorkloadClass.INTERACTIVE, null)) {
+            assertThat(sut.stat())
+                .startsWith("Requests http://localhost:7990: 1 in flight (max 1), 0 queued for 0 owners")
+                .endsWith(", 1 interactive");
+        }
+        assertThat(sut.stat())
+            .startsWith("Requests http://localhost:7990: 0 in flight (max 1)")
+            .endsWith(", 0 interactive");
+    }
+
+    @Test
+    void interactive_requests_do_not_grant_their_slot_to_waiters() throws Exception {
+        BitbucketRequestGovernor sut = new BitbucketRequestGovernor("http://localhost:7990", 1);
+        List<String> served = new CopyOnWriteArrayList<>();
+
+        BitbucketRequestGovernor.Permit scan = sut.acquire(BitbucketWorkloadClass.SCAN, "folder");
+        BitbucketRequestGovernor.Permit interactive = sut.acquire(BitbucketWorkloadClass.INTERACTIVE, null);
+        Thread waiter = waiter(sut, "folder", "folder-1", served);
+        waiter.start();
+        awaitQueued(sut, 1);
+
+        interactive.close();
+        assertThat(sut.stat()).startsWith("Requests http://localhost:7990: 1 in flight (max 1), 1 queued for 1 owners");
+        assertThat(served).isEmpty();
+
+        scan.close();
+        waiter.join(TimeUnit.SECONDS.toMillis(5));
+        assertThat(served).containsExactly("folder-1");
+        assertThat(sut.stat()).startsWith("Requests http://localhost:7990: 0 in flight (max 1), 0 queued for 0 owners");
+    }
+
+    @Test
+    void owners_are_served_round_robin() throws Exception {
+        BitbucketRequestGovernor sut = new BitbucketRequestGovernor("http://localhost:7990", 1);
+        List<String> served = new CopyOnWriteArrayList<>();
+
+        BitbucketRequestGovernor.Permit first = sut.acquire(BitbucketWorkloadClass.SCAN, "huge");
+        List<Thread> threads = List.of(
+                waiter(sut, "huge", "huge-1", served),
+                waiter(sut, "huge", "huge-2", served),
+                waiter(sut, "huge", "huge-3", served),
+                waiter(sut, "small", "small-1", served));
+        for (Thread thread : threads) {
+            thread.start();
+            // enqueue in a deterministic order
+            int expected = threads.indexOf(thread) + 1;
+            awaitQueued(sut, expected);
+        }
+        first.close();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        assertThat(served).containsExactly("huge-1", "small-1", "huge-2", "huge-3");
+        assertThat(sut.stat()).startsWith("Requests http://localhost:7990: 0 in flight (max 1), 0 queued for 0 owners, 4 waited");
+    }
+
+    @Test
+    void scan_requests_within_the_cap_never_wait_for_a_connection() throws Exception {
+        int maxInFlight = BitbucketRequestGovernor.maxInFlight(BitbucketWorkloadClass.SCAN);
+        BitbucketRequestGovernor sut = new BitbucketRequestGovernor("http://localhost:7990", maxInFlight);
+        BitbucketWorkloadConnectionManager connectionManager = new BitbucketWorkloadConnectionManager(PoolingHttpClientConnectionManagerBuilder.create(),
+                BitbucketWorkloadConnectionManager.DEFAULT_MAX_CONN_PER_ROUTE, BitbucketWorkloadConnectionManager.DEFAULT_MAX_CONN_PER_ROUTE);
+        List<BitbucketRequestGovernor.Permit> permits = new ArrayList<>();
+        try (BitbucketWorkloadClass.Scope workload = BitbucketWorkloadClass.SCAN.enter("folder")) {
+            for (int i = 0; i < maxInFlight; i++) {
+                permits.add(sut.acquire(BitbucketWorkloadClass.SCAN, "folder"));
+                // a lease that had to wait would time out on an unused pool
+                connectionManager.lease("test", ROUTE, Timeout.ofMilliseconds(100), null).get(Timeout.ofMilliseconds(100));
+            }
+            assertThat(sut.stat()).startsWith("Requests http://localhost:7990: " + maxInFlight + " in flight (max " + maxInFlight + ")");
+            assertThat(connectionManager.stats()).contains(
+                    "Connections scan: " + maxInFlight + " leased, 0 pending, 0 available, " + maxInFlight + " max, 0 borrowed from lower priority");
+        } finally {
+            permits.forEach(BitbucketRequestGovernor.Permit::close);
+            connectionManager.close();
+        }
+    }
+
+    private static Thread waiter(BitbucketRequestGovernor sut, String owner, String name, List<String> served) {
+        return new Thread(() -> {
+            try (BitbucketRequestGovernor.Permit permit = sut.acquire(BitbucketWorkloadClass.SCAN, owner)) {
+                served.add(name);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }, name);
+    }
+
+    private static void awaitQueued(BitbucketRequestGovernor sut, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!sut.stat().contains(expected + " queued") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
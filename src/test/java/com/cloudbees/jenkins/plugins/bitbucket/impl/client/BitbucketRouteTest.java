@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.client;
+
+import com.damnhandy.uri.template.UriTemplate;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BitbucketRouteTest {
+
+    private static final String BROWSE_TEMPLATE = "/rest/api/1.0/projects/{owner}/repos/{repo}/browse{/path*}{?at}{&start,limit}";
+
+    @Test
+    void route_is_parsed_once() {
+        assertThat(BitbucketRoute.of(BROWSE_TEMPLATE)).isSameAs(BitbucketRoute.of(BROWSE_TEMPLATE));
+        assertThat(BitbucketRoute.of(BROWSE_TEMPLATE).getTemplate()).isEqualTo(BROWSE_TEMPLATE);
+    }
+
+    @Test
+    void expand_as_uri_template() {
+        String[] path = "folder/Jenkins file".split("/");
+        String expected = UriTemplate.fromTemplate("https://bitbucket.example.com" + BROWSE_TEMPLATE)
+                .set("owner", "~user")
+                .set("repo", "repo")
+                .set("path", path)
+                .set("at", "refs/heads/feature/1")
+                .set("start", 0)
+                .set("limit", null)
+                .expand();
+
+        String url = BitbucketRoute.of(BROWSE_TEMPLATE).bind("https://bitbucket.example.com")
+                .set("owner", "~user")
+                .set("repo", "repo")
+                .set("path", path)
+                .set("at", "refs/heads/feature/1")
+                .set("start", 0)
+                .set("limit", null)
+                .expand();
+
+        assertThat(url).isEqualTo(expected);
+    }
+
+    @Test
+    void bindings_do_not_share_values() {
+        BitbucketRoute route = BitbucketRoute.of("https://api.bitbucket.org/2.0/repositories{/owner,repo}{?pagelen}");
+        BitbucketRoute.Binding first = route.bind().set("owner", "amuniz").set("repo", "test-repos").set("pagelen", 50);
+        BitbucketRoute.Binding second = route.bind().set("owner", "bitbucket").set("repo", "other");
+
+        assertThat(first.expand()).isEqualTo("https://api.bitbucket.org/2.0/repositories/amuniz/test-repos?pagelen=50");
+        assertThat(second.expand()).isEqualTo("https://api.bitbucket.org/2.0/repositories/bitbucket/other");
+        // a binding can be expanded again with other values, as paged requests do
+        assertThat(first.set("pagelen", 100).expand()).endsWith("?pagelen=100");
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.client;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.net.ConnectException;
+import java.net.Socket;
+import java.net.SocketAddress;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.ssl.DefaultClientTlsStrategy;
+import org.apache.hc.client5.http.ssl.TlsSocketStrategy;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.MemoryAssert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BitbucketTlsSocketStrategyTest {
+
+    @Test
+    void default_strategy_is_kept_across_garbage_collections() throws Exception {
+        TlsSocketStrategy strategy = BitbucketTlsSocketStrategy.defaultStrategy();
+        System.gc();
+
+        assertThat(BitbucketTlsSocketStrategy.defaultStrategy()).isSameAs(strategy);
+    }
+
+    @Test
+    void strategy_set_on_the_context_is_used_for_upgrade() throws Exception {
+        TlsSocketStrategy strategy = mock(TlsSocketStrategy.class);
+        SSLSocket sslSocket = mock(SSLSocket.class);
+        Socket socket = mock(Socket.class);
+        when(strategy.upgrade(socket, "localhost", 7990, null, null)).thenReturn(sslSocket);
+        HttpClientContext context = HttpClientContext.create();
+        context.setAttribute(BitbucketTlsSocketStrategy.SOCKET_FACTORY_REGISTRY, strategy);
+
+        assertThat(new BitbucketTlsSocketStrategy().upgrade(socket, "localhost", 7990, null, context)).isSameAs(sslSocket);
+    }
+
+    @Test
+    void strategy_is_not_retained_once_released_by_its_owner() throws Exception {
+        TlsSocketStrategy strategy = mock(TlsSocketStrategy.class);
+        when(strategy.upgrade(any(Socket.class), any(), anyInt(), any(), any())).thenReturn(mock(SSLSocket.class));
+        HttpClientContext context = HttpClientContext.create();
+        context.setAttribute(BitbucketTlsSocketStrategy.SOCKET_FACTORY_REGISTRY, strategy);
+        new BitbucketTlsSocketStrategy().upgrade(mock(Socket.class), "localhost", 7990, null, context);
+
+        WeakReference<TlsSocketStrategy> reference = new WeakReference<>(strategy);
+        strategy = null;
+        context = null;
+        MemoryAssert.assertGC(reference, false);
+    }
+
+    @Test
+    void handshake_closes_the_socket_when_connect_fails() throws Exception {
+        Socket socket = mock(Socket.class);
+        doThrow(new ConnectException("Connection refused")).when(socket).connect(any(SocketAddress.class), anyInt());
+
+        assertThatThrownBy(() -> BitbucketTlsSocketStrategy.handshake(socket, new DefaultClientTlsStrategy(newSSLContext()), "localhost", 7990, 1000))
+            .isInstanceOf(IOException.class);
+        verify(socket).close();
+    }
+
+    private static SSLContext newSSLContext() throws Exception {
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, null, null);
+        return sslContext;
+    }
+}
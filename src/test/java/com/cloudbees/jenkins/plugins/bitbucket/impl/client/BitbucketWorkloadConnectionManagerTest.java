@@ -0,0 +1,118 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.client;
+
+import java.util.concurrent.TimeoutException;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class BitbucketWorkloadConnectionManagerTest {
+
+    private static final HttpRoute ROUTE = new HttpRoute(new HttpHost("http", "localhost", 7990));
+
+    private BitbucketWorkloadConnectionManager sut;
+
+    @BeforeEach
+    void setup() {
+        sut = new BitbucketWorkloadConnectionManager(PoolingHttpClientConnectionManagerBuilder.create(), 10, 10);
+    }
+
+    @AfterEach
+    void teardown() {
+        sut.close();
+    }
+
+    @Test
+    void reserve_capacity_for_each_workload_class() {
+        assertThat(sut.getMaxTotal()).isEqualTo(10);
+        assertThat(sut.getMaxPerRoute(ROUTE)).isEqualTo(10);
+        assertThat(sut.stats()).containsExactly(
+                "Connections interactive: 0 leased, 0 pending, 0 available, 2 max, 0 borrowed from lower priority",
+                "Connections event: 0 leased, 0 pending, 0 available, 3 max, 0 borrowed from lower priority",
+                "Connections scan: 0 leased, 0 pending, 0 available, 5 max, 0 borrowed from lower priority");
+    }
+
+    @Test
+    void default_scan_share_matches_a_single_pool_of_twenty_connections() {
+        assertThat(BitbucketWorkloadClass.SCAN.reservedCapacity(BitbucketWorkloadConnectionManager.DEFAULT_MAX_CONN_PER_ROUTE)).isEqualTo(20);
+    }
+
+    @Test
+    void scan_does_not_borrow_interactive_connections() throws Exception {
+        try (BitbucketWorkloadClass.Scope workload = BitbucketWorkloadClass.SCAN.enter()) {
+            for (int i = 0; i < 5; i++) {
+                lease();
+            }
+            assertThatExceptionOfType(TimeoutException.class).isThrownBy(this::lease);
+        }
+        assertThat(sut.getTotalStats().getLeased()).isEqualTo(5);
+
+        // interactive requests still have their reserved share
+        lease();
+        lease();
+        assertThat(sut.getTotalStats().getLeased()).isEqualTo(7);
+    }
+
+    @Test
+    void interactive_borrows_from_lower_priority() throws Exception {
+        ConnectionEndpoint first = lease();
+        lease();
+        // own pool exhausted, the connection comes from the event pool
+        ConnectionEndpoint borrowed = lease();
+        assertThat(sut.stats()).containsExactly(
+                "Connections interactive: 2 leased, 0 pending, 0 available, 2 max, 1 borrowed from lower priority",
+                "Connections event: 1 leased, 0 pending, 0 available, 3 max, 0 borrowed from lower priority",
+                "Connections scan: 0 leased, 0 pending, 0 available, 5 max, 0 borrowed from lower priority");
+
+        sut.release(borrowed, null, TimeValue.ZERO_MILLISECONDS);
+        sut.release(first, null, TimeValue.ZERO_MILLISECONDS);
+        assertThat(sut.getTotalStats().getLeased()).isEqualTo(1);
+    }
+
+    @Test
+    void workload_class_scope_is_restored() {
+        assertThat(BitbucketWorkloadClass.current()).isEqualTo(BitbucketWorkloadClass.INTERACTIVE);
+        try (BitbucketWorkloadClass.Scope scan = BitbucketWorkloadClass.SCAN.enter()) {
+            try (BitbucketWorkloadClass.Scope event = BitbucketWorkloadClass.EVENT.enter()) {
+                assertThat(BitbucketWorkloadClass.current()).isEqualTo(BitbucketWorkloadClass.EVENT);
+            }
+            assertThat(BitbucketWorkloadClass.current()).isEqualTo(BitbucketWorkloadClass.SCAN);
+        }
+        assertThat(BitbucketWorkloadClass.current()).isEqualTo(BitbucketWorkloadClass.INTERACTIVE);
+    }
+
+    private ConnectionEndpoint lease() throws Exception {
+        return sut.lease("test", ROUTE, Timeout.ofMilliseconds(100), null).get(Timeout.ofMilliseconds(100));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.client;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketAuthenticator;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketResponseTooLargeException;
+import com.cloudbees.jenkins.plugins.bitbucket.filesystem.BitbucketSCMFile;
+import com.cloudbees.jenkins.plugins.bitbucket.server.client.BitbucketServerAPIClient;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import jenkins.scm.api.SCMFile.Type;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.junit.jupiter.MockServerExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+@ExtendWith(MockServerExtension.class)
+class ResponseSizeLimitTest {
+
+    private static final String REPO_PATH = "/rest/api/1.0/projects/test/repos/testRepos";
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(AbstractBitbucketApi.MAX_RESPONSE_SIZE_PROPERTY_NAME);
+    }
+
+    @Test
+    void response_over_the_limit_fails(ClientAndServer mockServer) throws Exception {
+        System.setProperty(AbstractBitbucketApi.MAX_RESPONSE_SIZE_PROPERTY_NAME, "1024");
+        mockServer.when(request().withMethod("GET").withPath(REPO_PATH))
+            .respond(response()
+                .withStatusCode(200)
+                .withBody("{\"slug\": \"" + StringUtils.repeat('x', 4096) + "\"}"));
+
+        try (BitbucketServerAPIClient client = buildClient(mockServer)) {
+            assertThatThrownBy(client::getRepository)
+                .isInstanceOf(BitbucketResponseTooLargeException.class)
+                .hasMessageContaining(AbstractBitbucketApi.MAX_RESPONSE_SIZE_PROPERTY_NAME)
+                .extracting("limit").isEqualTo(1024L);
+        }
+    }
+
+    @Test
+    void file_content_is_joined_across_pages(ClientAndServer mockServer) throws Exception {
+        mockServer.when(request().withMethod("GET").withPath(REPO_PATH + "/browse/Jenkinsfile")
+                .withQueryStringParameter("start", "0"))
+            .respond(response()
+                .withStatusCode(200)
+                .withBody("{\"lines\": [{\"text\": \"pipeline {\"}, {\"text\": \"}\"}], \"start\": 0, \"size\": 2, \"isLastPage\": false}"));
+        mockServer.when(request().withMethod("GET").withPath(REPO_PATH + "/browse/Jenkinsfile")
+                .withQueryStringParameter("start", "2"))
+            .respond(response()
+                .withStatusCode(200)
+                .withBody("{\"lines\": [{\"text\": \"// end\"}], \"start\": 2, \"size\": 1, \"isLastPage\": true}"));
+
+        try (BitbucketServerAPIClient client = buildClient(mockServer)) {
+            BitbucketSCMFile root = new BitbucketSCMFile(client, "main", "8d0fa145bde5a2a3d4e8bcee1bf3e3d4e6f1b7c2");
+            BitbucketSCMFile file = new BitbucketSCMFile(root, "Jenkinsfile", Type.REGULAR_FILE, root.getHash());
+            try (InputStream content = client.getFileContent(file)) {
+                assertThat(new String(content.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("pipeline {\n}\n// end");
+            }
+        }
+    }
+
+    private BitbucketServerAPIClient buildClient(ClientAndServer mockServer) {
+        return new BitbucketServerAPIClient("http://localhost:" + mockServer.getPort(),
+                "test",
+                "testRepos",
+                (BitbucketAuthenticator) null,
+                false);
+    }
+}
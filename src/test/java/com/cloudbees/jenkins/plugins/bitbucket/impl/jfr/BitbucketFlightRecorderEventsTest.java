@@ -0,0 +1,103 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.jfr;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.metrics.BitbucketApiOperation;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BitbucketFlightRecorderEventsTest {
+
+    @TempDir
+    private Path folder;
+
+    @Test
+    void api_request_event_counts_retries() throws Exception {
+        List<RecordedEvent> events = record(BitbucketApiRequestEvent.class, () -> {
+            BitbucketApiRequestEvent event = BitbucketApiRequestEvent.start();
+            BitbucketApiRequestEvent.attempt();
+            BitbucketApiRequestEvent.attempt();
+            BitbucketApiRequestEvent.attempt();
+            event.finish("https://bitbucket.example.com", BitbucketApiOperation.GET_BRANCHES, "GET", 200, 0, 1024);
+        });
+
+        assertThat(events).hasSize(1);
+        RecordedEvent event = events.get(0);
+        assertThat(event.getString("endpoint")).isEqualTo("https://bitbucket.example.com");
+        assertThat(event.getString("operation")).isEqualTo("getBranches");
+        assertThat(event.getInt("statusCode")).isEqualTo(200);
+        assertThat(event.getLong("responseLength")).isEqualTo(1024);
+        assertThat(event.getInt("retries")).isEqualTo(2);
+    }
+
+    @Test
+    void webhook_event_counts_fan_out() throws Exception {
+        List<RecordedEvent> events = record(BitbucketWebhookEvent.class, () -> {
+            BitbucketWebhookEvent event = BitbucketWebhookEvent.start();
+            event.beginParse("repo:refs_changed");
+            BitbucketWebhookEvent.eventNotified();
+            BitbucketWebhookEvent.eventNotified();
+            event.endParse();
+            event.finish(200);
+        });
+        // outside of a webhook processing
+        BitbucketWebhookEvent.eventNotified();
+
+        assertThat(events).hasSize(1);
+        RecordedEvent event = events.get(0);
+        assertThat(event.getString("eventKey")).isEqualTo("repo:refs_changed");
+        assertThat(event.getInt("fanOut")).isEqualTo(2);
+        assertThat(event.getInt("statusCode")).isEqualTo(200);
+    }
+
+    @Test
+    void nothing_recorded_when_disabled() throws Exception {
+        BitbucketApiRequestEvent event = BitbucketApiRequestEvent.start();
+        BitbucketApiRequestEvent.attempt();
+        event.finish("https://bitbucket.example.com", BitbucketApiOperation.OTHER, "GET", 200, 0, 0);
+
+        assertThat(event.isEnabled()).isFalse();
+    }
+
+    private List<RecordedEvent> record(Class<? extends Event> eventType, Runnable action) throws Exception {
+        Path file = folder.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventType).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+}
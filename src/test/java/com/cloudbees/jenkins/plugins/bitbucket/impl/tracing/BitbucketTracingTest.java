@@ -0,0 +1,126 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.tracing;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.tracing.BitbucketSpan;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.tracing.InMemoryBitbucketTracer.InMemorySpan;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import jenkins.scm.api.SCMEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BitbucketTracingTest {
+
+    private InMemoryBitbucketTracer tracer;
+
+    @BeforeEach
+    void setup() {
+        tracer = new InMemoryBitbucketTracer();
+        BitbucketTracing.setTracer(tracer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        BitbucketTracing.setTracer(null);
+    }
+
+    @Test
+    void nested_spans_belong_to_the_same_trace() {
+        try (BitbucketTracing.Scope root = BitbucketTracing.startSpan("root", null)) {
+            try (BitbucketTracing.Scope child = BitbucketTracing.startSpan("child")) {
+                child.setAttribute("http.status_code", 200);
+                child.setError(new IllegalStateException());
+            }
+            assertThat(BitbucketTracing.current()).isSameAs(tracer.getSpan("root"));
+        }
+        assertThat(BitbucketTracing.current()).isNull();
+
+        InMemorySpan root = tracer.getSpan("root");
+        InMemorySpan child = tracer.getSpan("child");
+        assertThat(root.getParentSpanId()).isNull();
+        assertThat(child.getTraceId()).isEqualTo(root.getTraceId());
+        assertThat(child.getParentSpanId()).isEqualTo(root.getSpanId());
+        assertThat(child.getAttributes()).containsEntry("http.status_code", "200");
+        assertThat(child.getError()).isInstanceOf(IllegalStateException.class);
+        assertThat(tracer.getSpans()).allMatch(InMemorySpan::isEnded);
+    }
+
+    @Test
+    void activated_span_is_parent_on_another_thread() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (BitbucketTracing.Scope root = BitbucketTracing.startSpan("webhook", null)) {
+            BitbucketSpan parent = BitbucketTracing.current();
+            executor.submit(() -> {
+                try (BitbucketTracing.Scope scope = BitbucketTracing.activate(parent);
+                        BitbucketTracing.Scope child = BitbucketTracing.startSpan("listener")) {
+                    child.setAttribute("thread", Thread.currentThread().getName());
+                }
+                assertThat(BitbucketTracing.current()).isNull();
+            }).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        InMemorySpan webhook = tracer.getSpan("webhook");
+        InMemorySpan listener = tracer.getSpan("listener");
+        assertThat(listener.getTraceId()).isEqualTo(webhook.getTraceId());
+        assertThat(listener.getParentSpanId()).isEqualTo(webhook.getSpanId());
+        assertThat(webhook.isEnded()).isTrue();
+        assertThat(listener.isEnded()).isTrue();
+    }
+
+    @Test
+    void event_carries_the_span_that_fired_it() {
+        SCMEvent<String> event = new SCMEvent<>(SCMEvent.Type.UPDATED, "payload", "origin") {
+        };
+        assertThat(BitbucketTracing.linked(event)).isNull();
+        assertThat(BitbucketTracing.linked(null)).isNull();
+
+        try (BitbucketTracing.Scope root = BitbucketTracing.startSpan("webhook", null)) {
+            BitbucketTracing.link(event);
+        }
+        try (BitbucketTracing.Scope retrieve = BitbucketTracing.startSpan("retrieve", BitbucketTracing.linked(event))) {
+            // nothing to do
+        }
+
+        assertThat(tracer.getSpan("retrieve").getTraceId()).isEqualTo(tracer.getSpan("webhook").getTraceId());
+    }
+
+    @Test
+    void no_span_without_tracer() {
+        BitbucketTracing.setTracer(null);
+
+        try (BitbucketTracing.Scope scope = BitbucketTracing.startSpan("root")) {
+            scope.setAttribute("key", "value");
+            assertThat(BitbucketTracing.current()).isNull();
+        }
+        assertThat(BitbucketTracing.activate(null)).isNotNull();
+        assertThat(tracer.getSpans()).isEmpty();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.tracing;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.tracing.BitbucketSpan;
+import com.cloudbees.jenkins.plugins.bitbucket.api.tracing.BitbucketTracer;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracer that keeps the started spans in memory.
+ */
+public class InMemoryBitbucketTracer implements BitbucketTracer {
+
+    private final AtomicInteger ids = new AtomicInteger();
+    private final List<InMemorySpan> spans = new CopyOnWriteArrayList<>();
+
+    @NonNull
+    @Override
+    public BitbucketSpan startSpan(@NonNull String name, @CheckForNull BitbucketSpan parent) {
+        String traceId = parent == null ? UUID.randomUUID().toString() : parent.getTraceId();
+        InMemorySpan span = new InMemorySpan(name, traceId, String.valueOf(ids.incrementAndGet()),
+                parent == null ? null : parent.getSpanId());
+        spans.add(span);
+        return span;
+    }
+
+    public List<InMemorySpan> getSpans() {
+        return spans;
+    }
+
+    public InMemorySpan getSpan(String name) {
+        return spans.stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No span named " + name));
+    }
+
+    public static class InMemorySpan implements BitbucketSpan {
+        private final String name;
+        private final String traceId;
+        private final String spanId;
+        private final String parentSpanId;
+        private final Map<String, String> attributes = new ConcurrentHashMap<>();
+        private volatile Throwable error;
+        private volatile boolean ended;
+
+        InMemorySpan(String name, String traceId, String spanId, String parentSpanId) {
+            this.name = name;
+            this.traceId = traceId;
+            this.spanId = spanId;
+            this.parentSpanId = parentSpanId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @NonNull
+        @Override
+        public String getTraceId() {
+            return traceId;
+        }
+
+        @NonNull
+        @Override
+        public String getSpanId() {
+            return spanId;
+        }
+
+        @CheckForNull
+        public String getParentSpanId() {
+            return parentSpanId;
+        }
+
+        public Map<String, String> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public void setAttribute(@NonNull String key, @NonNull String value) {
+            attributes.put(key, value);
+        }
+
+        @CheckForNull
+        public Throwable getError() {
+            return error;
+        }
+
+        @Override
+        public void setError(@NonNull Throwable error) {
+            this.error = error;
+        }
+
+        public boolean isEnded() {
+            return ended;
+        }
+
+        @Override
+        public void end() {
+            ended = true;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.cloudbees.jenkins.plugins.bitbucket.impl.util;
+
+import java.util.Date;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DateUtilsTest {
+
+    private static final long EXPECTED = DateUtils.getDate(2018, 9, 13, 15, 29, 23, 0).getTime();
+
+    @Test
+    void parse_cloud_and_data_center_formats() {
+        assertThat(DateUtils.isoDateToMillis("2018-09-13T15:29:23+00:00")).isEqualTo(EXPECTED);
+        assertThat(DateUtils.isoDateToMillis("2018-09-13T15:29:23Z")).isEqualTo(EXPECTED);
+        assertThat(DateUtils.isoDateToMillis("2018-09-13T17:29:23+0200")).isEqualTo(EXPECTED);
+        assertThat(DateUtils.isoDateToMillis("2018-09-13T15:29:23")).isEqualTo(EXPECTED);
+        assertThat(DateUtils.isoDateToMillis("2018-09-13T15:29:23.123456+00:00")).isEqualTo(EXPECTED + 123);
+    }
+
+    @Test
+    void parse_invalid_dates() {
+        assertThat(DateUtils.isoDateToMillis(null)).isZero();
+        assertThat(DateUtils.isoDateToMillis("")).isZero();
+        assertThat(DateUtils.isoDateToMillis("yesterday")).isZero();
+        assertThat(DateUtils.parseISODate("yesterday")).isNull();
+    }
+
+    @Test
+    void format_same_as_parsed() {
+        String formatted = DateUtils.formatToISO(EXPECTED + 5);
+        assertThat(formatted).isEqualTo("2018-09-13T15:29:23.005+00:00");
+        assertThat(DateUtils.isoDateToMillis(formatted)).isEqualTo(EXPECTED + 5);
+        assertThat(DateUtils.formatToISO(new Date(EXPECTED))).isEqualTo("2018-09-13T15:29:23.000+00:00");
+    }
+
+}
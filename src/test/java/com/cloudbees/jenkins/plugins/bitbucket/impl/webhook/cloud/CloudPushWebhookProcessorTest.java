@@ -53,6 +53,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class CloudPushWebhookProcessorTest {
 
@@ -136,6 +137,27 @@ class CloudPushWebhookProcessorTest {
         assertThat(scmEvent.getPullRequests(scmSource)).isEmpty();
     }
 
+    @Test
+    void test_tag_updated() throws Exception {
+        sut.process(HookEventType.PUSH.getKey(), loadResource("tag_updated.json"), Collections.emptyMap(), mock(BitbucketEndpoint.class));
+
+        assertThat(scmEvent).isNotNull();
+        assertThat(scmEvent.getType()).isEqualTo(Type.UPDATED);
+
+        BitbucketSCMSource scmSource = new BitbucketSCMSource("AMUNIZ", "test-repos");
+        Iterable<BitbucketBranch> tags = scmEvent.getTags(scmSource);
+        // the tag after the push, not before
+        assertThat(tags)
+            .singleElement()
+            .satisfies(tag -> {
+                assertThat(tag.getName()).isEqualTo("simple-tag");
+                assertThat(tag.getRawNode()).isEqualTo("7ef5981d59145c3ed300b1ab77b93907d33abe59");
+                assertThat(tag.getDateMillis()).isEqualTo(1738608795000L);
+            });
+        assertThat(scmEvent.getBranches(scmSource)).isEmpty();
+        assertThat(scmEvent.getPullRequests(scmSource)).isEmpty();
+    }
+
     @Test
     void test_branch_created() throws Exception {
         sut.process(HookEventType.PUSH.getKey(), loadResource("branch_created.json"), Collections.emptyMap(), mock(BitbucketEndpoint.class));
@@ -271,9 +293,31 @@ class CloudPushWebhookProcessorTest {
         assertThat(scmEvent.getTags(scmSource)).isEmpty();
         assertThat(scmEvent.getBranches(scmSource))
             .hasSize(1)
-            .extracting(BitbucketBranch::getName)
-            .contains("feature/issue-819");
+            .element(0)
+            .satisfies(branch -> {
+                assertThat(branch.getName()).isEqualTo("feature/issue-819");
+                // the branch after the push, not before
+                assertThat(branch.getRawNode()).isEqualTo("5ecffa3874e96920f24a2b3c0d0038e47d5cd1a4");
+                assertThat(branch.getDateMillis()).isEqualTo(1738607160000L);
+            });
         assertThat(scmEvent.getPullRequests(scmSource)).isEmpty();
+        assertThat(scmEvent.isPayloadTrusted()).isFalse();
+    }
+
+    @Test
+    void test_payload_is_trusted_only_for_verified_hooks() throws Exception {
+        CloudWebhookConfiguration webhook = mock(CloudWebhookConfiguration.class);
+        when(webhook.isEnableHookSignature()).thenReturn(true);
+        when(webhook.isTrustPayload()).thenReturn(true);
+        BitbucketEndpoint endpoint = mock(BitbucketEndpoint.class);
+        when(endpoint.getWebhook()).thenReturn(webhook);
+
+        sut.process(HookEventType.PUSH.getKey(), loadResource("commit_created.json"), Collections.emptyMap(), endpoint);
+        assertThat(scmEvent.isPayloadTrusted()).isTrue();
+
+        when(webhook.isEnableHookSignature()).thenReturn(false);
+        sut.process(HookEventType.PUSH.getKey(), loadResource("commit_created.json"), Collections.emptyMap(), endpoint);
+        assertThat(scmEvent.isPayloadTrusted()).isFalse();
     }
 
     private String loadResource(String resource) throws IOException {
@@ -25,22 +25,32 @@ package com.cloudbees.jenkins.plugins.bitbucket.server.client;
 
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketApi;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketAuthenticator;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketBranch;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketBuildStatus;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketBuildStatus.Status;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketException;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequest;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRepository;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketTeam;
 import com.cloudbees.jenkins.plugins.bitbucket.client.BitbucketIntegrationClientFactory;
+import com.cloudbees.jenkins.plugins.bitbucket.endpoints.BitbucketEndpointConfiguration;
+import com.cloudbees.jenkins.plugins.bitbucket.filesystem.BitbucketSCMFile;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.credentials.BitbucketAccessTokenAuthenticator;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.credentials.BitbucketClientCertificateAuthenticator;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.credentials.BitbucketOAuthAuthenticator;
 import com.cloudbees.jenkins.plugins.bitbucket.impl.credentials.BitbucketUsernamePasswordAuthenticator;
+import com.cloudbees.jenkins.plugins.bitbucket.impl.endpoint.BitbucketServerEndpoint;
+import com.cloudbees.jenkins.plugins.bitbucket.server.client.pullrequest.BitbucketServerPullRequest;
 import com.cloudbees.jenkins.plugins.bitbucket.test.util.BitbucketTestUtil;
 import hudson.ProxyConfiguration;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import jenkins.scm.api.SCMFile;
+import jenkins.scm.api.SCMFile.Type;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.RandomStringUtils;
@@ -62,6 +72,7 @@ import org.mockito.MockedStatic;
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_SELF;
@@ -215,6 +226,31 @@ class BitbucketServerAPIClientTest {
                     .hasPath("/rest/api/1.0/projects/amuniz/repos/test-repos/branches"));
     }
 
+    @Test
+    void verify_getBranches_reads_head_commit_from_listing() throws Exception {
+        String serverURL = "https://acme.bitbucket.org";
+        BitbucketServerAPIClient client = (BitbucketServerAPIClient) BitbucketIntegrationClientFactory.getClient(serverURL, "amuniz", "test-repos");
+
+        List<BitbucketBranch> branches = client.getBranches();
+        assertThat(branches).hasSize(4);
+        BitbucketBranch branch = branches.stream()
+            .filter(b -> "feature/BB-1".equals(b.getName()))
+            .findFirst()
+            .orElseThrow();
+        assertThat(branch.getDateMillis()).isEqualTo(1530870370000L);
+        assertThat(branch.getMessage()).isEqualTo("Add feature BB-1");
+        assertThat(branch.getAuthor()).isEqualTo("Antonio Muniz <amuniz@example.com>");
+
+        // no commit has been resolved to get the details of the branch
+        HttpRequest request = BitbucketTestUtil.extractRequest(client);
+        assertThat(request).isNotNull()
+            .asInstanceOf(InstanceOfAssertFactories.type(HttpGet.class))
+            .satisfies(get ->
+                assertThat(get.getUri())
+                    .hasPath("/rest/api/1.0/projects/amuniz/repos/test-repos/branches")
+                    .hasParameter("details", "true"));
+    }
+
     @Issue("JENKINS-64418")
     @Test
     void verify_getTag_request_URL() throws Exception {
@@ -256,6 +292,95 @@ class BitbucketServerAPIClientTest {
         verify(authenticator).configureContext(any(HttpClientContext.class), eq(expectedHost));
     }
 
+    @Test
+    void verify_getDirectoryContent_collects_every_page() throws Exception {
+        BitbucketApi client = BitbucketIntegrationClientFactory.getApiMockClient("https://acme.bitbucket.org");
+        BitbucketSCMFile root = new BitbucketSCMFile(client, "main", "2c130d767a38ac4ef511797f221315f35a2aea55");
+
+        assertThat(client.getDirectoryContent(root.child("src", Type.DIRECTORY)))
+            .extracting(SCMFile::getName, SCMFile::getType)
+            .containsExactly(
+                tuple("Jenkinsfile", Type.REGULAR_FILE),
+                tuple("main", Type.DIRECTORY),
+                tuple("pom.xml", Type.REGULAR_FILE),
+                tuple("lib", Type.OTHER));
+
+        // the next page starts where the server tells, not where the limit ends
+        assertThat(BitbucketTestUtil.extractRequests(client))
+            .extracting(HttpRequest::getPath)
+            .containsExactly(
+                "/rest/api/1.0/projects/amuniz/repos/test-repos/browse/src?at=2c130d767a38ac4ef511797f221315f35a2aea55&start=0&limit=500",
+                "/rest/api/1.0/projects/amuniz/repos/test-repos/browse/src?at=2c130d767a38ac4ef511797f221315f35a2aea55&start=2&limit=500");
+    }
+
+    @Test
+    void verify_getPullRequests_lists_once_and_setups_each_pull_request() throws Exception {
+        String serverURL = "https://acme.bitbucket.org";
+        BitbucketEndpointConfiguration.get().addEndpoint(new BitbucketServerEndpoint("test", serverURL));
+        try {
+            BitbucketApi client = BitbucketIntegrationClientFactory.getApiMockClient(serverURL);
+
+            List<? extends BitbucketPullRequest> pullRequests = client.getPullRequests();
+            assertThat(pullRequests).extracting(BitbucketPullRequest::getId).containsExactly("2", "1");
+
+            // one listing, then the changes of each pull request and only the pull request whose source moved is read again
+            assertThat(BitbucketTestUtil.extractRequests(client))
+                .extracting(HttpRequest::getPath)
+                .hasSize(1 + pullRequests.size() + 1)
+                .containsOnlyOnce("/rest/api/1.0/projects/amuniz/repos/test-repos/pull-requests?start=0&limit=200",
+                        "/rest/api/1.0/projects/amuniz/repos/test-repos/pull-requests/1/changes?limit=1",
+                        "/rest/api/1.0/projects/amuniz/repos/test-repos/pull-requests/2/changes?limit=1",
+                        "/rest/api/1.0/projects/amuniz/repos/test-repos/pull-requests/2")
+                .doesNotContain("/rest/api/1.0/projects/amuniz/repos/test-repos/pull-requests/1");
+            assertThat(pullRequests)
+                .extracting(pullRequest -> pullRequest.getSource().getBranch().getRawNode())
+                .containsExactly("046d9a3c1532acf4cf08fe93235c00e4d673c1d3", "bf0e8b7962c024026ad01ae09d3a11732e26c0d4");
+        } finally {
+            BitbucketEndpointConfiguration.get().removeEndpoint(serverURL);
+        }
+    }
+
+    @Test
+    void verify_getPullRequests_fetches_merge_status_on_first_access() throws Exception {
+        String serverURL = "https://acme.bitbucket.org";
+        BitbucketEndpointConfiguration.get().addEndpoint(new BitbucketServerEndpoint("test", serverURL));
+        try {
+            BitbucketApi client = BitbucketIntegrationClientFactory.getApiMockClient(serverURL);
+
+            BitbucketServerPullRequest pullRequest = (BitbucketServerPullRequest) client.getPullRequests().get(1);
+            assertThat(pullRequest.getId()).isEqualTo("1");
+            assertThat(BitbucketTestUtil.extractRequests(client))
+                .extracting(HttpRequest::getPath)
+                .noneMatch(path -> path.endsWith("/merge"));
+
+            assertThat(pullRequest.isCanMerge()).isTrue();
+            assertThat(pullRequest.isCanMerge()).isTrue();
+            assertThat(BitbucketTestUtil.extractRequests(client))
+                .extracting(HttpRequest::getPath)
+                .containsOnlyOnce("/rest/api/1.0/projects/amuniz/repos/test-repos/pull-requests/1/merge")
+                .doesNotContain("/rest/api/1.0/projects/amuniz/repos/test-repos/pull-requests/2/merge");
+        } finally {
+            BitbucketEndpointConfiguration.get().removeEndpoint(serverURL);
+        }
+    }
+
+    @Test
+    void verify_merge_status_is_requested_again_after_a_failure() {
+        AtomicInteger calls = new AtomicInteger();
+        BitbucketServerPullRequest pullRequest = new BitbucketServerPullRequest();
+        pullRequest.setCanMergeClosure(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IOException("Connection reset");
+            }
+            return false;
+        });
+
+        assertThat(pullRequest.isCanMerge()).isNull();
+        assertThat(pullRequest.isCanMerge()).isFalse();
+        assertThat(pullRequest.isCanMerge()).isFalse();
+        assertThat(calls).hasValue(2);
+    }
+
     @Issue("JENKINS-75160")
     @Test
     void test_no_proxy_configurations() throws Exception {
@@ -23,6 +23,7 @@
  */
 package com.cloudbees.jenkins.plugins.bitbucket.test.util;
 
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketApi;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketBranch;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketCloudWorkspace;
@@ -39,7 +40,10 @@ import com.cloudbees.jenkins.plugins.bitbucket.client.repository.BitbucketCloudR
 import com.cloudbees.jenkins.plugins.bitbucket.client.repository.BitbucketCloudWebhook;
 import com.cloudbees.jenkins.plugins.bitbucket.filesystem.BitbucketSCMFile;
 import com.cloudbees.jenkins.plugins.bitbucket.hooks.BitbucketSCMSourcePushHookReceiver;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.model.TaskListener;
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -49,6 +53,10 @@ import java.util.List;
 import jenkins.model.Jenkins;
 import jenkins.scm.api.SCMFile;
 import jenkins.scm.api.SCMFile.Type;
+import jenkins.scm.api.SCMSource;
+import jenkins.scm.api.SCMSourceCriteria;
+import jenkins.scm.api.SCMSourceOwner;
+import jenkins.scm.api.trait.SCMSourceTrait;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
@@ -190,6 +198,18 @@ public class BitbucketClientMockUtils {
     }
 
     private static BitbucketCloudPullRequest getPullRequest() {
+        return getPullRequest("23", null);
+    }
+
+    /**
+     * Returns a pull request from the fork otheruser/test-repos into branch1
+     * of the mocked repository.
+     *
+     * @param id the id of the pull request.
+     * @param state the state of the pull request, {@code null} if open.
+     * @return the pull request.
+     */
+    public static BitbucketCloudPullRequest getPullRequest(@NonNull String id, @CheckForNull String state) {
         BitbucketCloudPullRequest pr = new BitbucketCloudPullRequest();
 
         BitbucketCloudBranch branch = new BitbucketCloudBranch("my-feature-branch", null, 0);
@@ -205,9 +225,10 @@ public class BitbucketClientMockUtils {
         repository.setFullName("amuniz/test-repos");
         pr.setDestination(new BitbucketCloudPullRequestDestination(repository, branch, commit));
 
-        pr.setId("23");
+        pr.setId(id);
+        pr.setState(state);
         pr.setAuthor(new BitbucketCloudPullRequest.Author());
-        pr.setLinks(new BitbucketCloudPullRequest.Links("https://bitbucket.org/amuniz/test-repos/pull-requests/23"));
+        pr.setLinks(new BitbucketCloudPullRequest.Links("https://bitbucket.org/amuniz/test-repos/pull-requests/" + id));
         return pr;
     }
 
@@ -216,6 +237,27 @@ public class BitbucketClientMockUtils {
         return new BitbucketCloudCommit(message, date, hash, author, author, Collections.emptyList());
     }
 
+    /**
+     * Returns a source of the mocked repository, owned by a mock that gives
+     * the criteria and the root directory.
+     *
+     * @param rootDir the root directory of the owner, may be {@code null}.
+     * @param criteria the criteria of the owner.
+     * @param traits the traits of the source.
+     * @return the source.
+     */
+    public static BitbucketSCMSource getSCMSource(@CheckForNull File rootDir,
+                                                  @NonNull SCMSourceCriteria criteria,
+                                                  SCMSourceTrait... traits) {
+        BitbucketSCMSource source = new BitbucketSCMSource("amuniz", "test-repos");
+        source.setTraits(List.of(traits));
+        SCMSourceOwner owner = mock(SCMSourceOwner.class);
+        when(owner.getRootDir()).thenReturn(rootDir);
+        when(owner.getSCMSourceCriteria(any(SCMSource.class))).thenReturn(criteria);
+        source.setOwner(owner);
+        return source;
+    }
+
     public static TaskListener getTaskListenerMock() {
         TaskListener mockTaskListener = mock(TaskListener.class);
         when(mockTaskListener.getLogger()).thenReturn(System.out);
@@ -30,6 +30,7 @@ import com.cloudbees.plugins.credentials.CredentialsScope;
 import com.cloudbees.plugins.credentials.domains.Domain;
 import hudson.util.Secret;
 import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import org.apache.hc.core5.http.HttpRequest;
@@ -59,6 +60,12 @@ public final class BitbucketTestUtil {
         return ((IAuditable) client).getAudit().lastRequest();
     }
 
+    public static List<HttpRequest> extractRequests(BitbucketApi client) {
+        assertThat(client).isInstanceOf(IAuditable.class);
+
+        return ((IAuditable) client).getAudit().requests();
+    }
+
     public static CompletableFuture<HttpRequest> waitForRequest(BitbucketApi client, Predicate<HttpRequest> predicate) {
         assertThat(client).isInstanceOf(IAuditable.class);
 
@@ -23,8 +23,17 @@
  */
 package com.cloudbees.jenkins.plugins.bitbucket.trait;
 
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
 import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSourceContext;
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSourceRequest;
+import com.cloudbees.jenkins.plugins.bitbucket.BranchSCMHead;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketBranch;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequest;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequestSource;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRepository;
 import hudson.util.ListBoxModel;
+import java.util.ArrayList;
+import java.util.List;
 import jenkins.scm.api.SCMHeadObserver;
 import org.junit.jupiter.api.Test;
 
@@ -32,6 +41,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assumptions.assumeThat;
 import static org.junit.jupiter.api.Assumptions.assumeFalse;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
 
 class BranchDiscoveryTraitTest {
 
@@ -89,6 +101,60 @@ class BranchDiscoveryTraitTest {
         assertThat(ctx.authorities()).hasAtLeastOneElementOfType(BranchDiscoveryTrait.BranchSCMHeadAuthority.class);
     }
 
+    @Test
+    void given__manyBranchesAndPRs__when__filtering__then__eachPRIsReadOnce() throws Exception {
+        int branchCount = 4000;
+        int prCount = 1500;
+        List<BitbucketPullRequest> pullRequests = new ArrayList<>();
+        for (int i = 0; i < prCount; i++) {
+            // two thirds of the pull requests come from branches of the repository, the others from forks
+            boolean fork = i % 3 == 2;
+            pullRequests.add(pullRequest(fork ? "someone/test-repos" : "AMUNIZ/test-repos", "branch-" + i));
+        }
+        BitbucketSCMSourceRequest request = new BitbucketSCMSourceContext(null, SCMHeadObserver.none())
+                .withTraits(List.of(new BranchDiscoveryTrait(true, false)))
+                .newRequest(new BitbucketSCMSource("amuniz", "test-repos"), null);
+        request.setPullRequests(pullRequests);
+
+        BranchDiscoveryTrait.ExcludeOriginPRBranchesSCMHeadFilter exclude = new BranchDiscoveryTrait.ExcludeOriginPRBranchesSCMHeadFilter();
+        BranchDiscoveryTrait.OnlyOriginPRBranchesSCMHeadFilter only = new BranchDiscoveryTrait.OnlyOriginPRBranchesSCMHeadFilter();
+        int excluded = 0;
+        int kept = 0;
+        for (int i = 0; i < branchCount; i++) {
+            BranchSCMHead head = new BranchSCMHead("branch-" + i);
+            if (exclude.isExcluded(request, head)) {
+                excluded++;
+            }
+            if (!only.isExcluded(request, head)) {
+                kept++;
+            }
+        }
+        assertThat(excluded).isEqualTo(1000);
+        assertThat(kept).isEqualTo(1000);
+
+        // the pull requests are indexed once, whatever the number of branches
+        int sourceReads = 0;
+        for (BitbucketPullRequest pullRequest : pullRequests) {
+            sourceReads += (int) mockingDetails(pullRequest).getInvocations().stream()
+                    .filter(invocation -> invocation.getMethod().getName().equals("getSource"))
+                    .count();
+        }
+        assertThat(sourceReads).isLessThanOrEqualTo(2 * prCount);
+    }
+
+    private BitbucketPullRequest pullRequest(String fullName, String branchName) {
+        BitbucketRepository repository = mock(BitbucketRepository.class);
+        when(repository.getFullName()).thenReturn(fullName);
+        BitbucketBranch branch = mock(BitbucketBranch.class);
+        when(branch.getName()).thenReturn(branchName);
+        BitbucketPullRequestSource source = mock(BitbucketPullRequestSource.class);
+        when(source.getRepository()).thenReturn(repository);
+        when(source.getBranch()).thenReturn(branch);
+        BitbucketPullRequest pullRequest = mock(BitbucketPullRequest.class);
+        when(pullRequest.getSource()).thenReturn(source);
+        return pullRequest;
+    }
+
     @Test
     void given__descriptor__when__displayingOptions__then__allThreePresent() {
         ListBoxModel options = new BranchDiscoveryTrait.DescriptorImpl().doFillStrategyIdItems();
@@ -251,7 +251,10 @@ class ScanningFailuresTest {
         WorkflowJob master = mp.getItem("main");
         assertThat(master).isNotNull();
 
-        // an error in checkPathExists(...)
+        // an error in checkPathExists(...), on a new commit as probes of unchanged heads are not repeated
+        sampleRepo.write("file", "modified content");
+        sampleRepo.git("commit", "--all", "--message=Modified");
+        when(branch.getRawNode()).thenReturn(sampleRepo.head());
         doThrow(new IOException(message)).when(api).getFile(any(BitbucketSCMFile.class));
 
         mp.scheduleBuild2(0).getFuture().get();